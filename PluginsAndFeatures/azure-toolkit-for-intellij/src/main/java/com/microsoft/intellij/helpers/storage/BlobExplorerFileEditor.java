@@ -31,7 +31,6 @@ import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.sdkmanage.AzureManager;
 import com.microsoft.azuretools.telemetry.TelemetryProperties;
 import com.microsoft.intellij.forms.UploadBlobFileForm;
-import com.microsoft.intellij.helpers.UIHelperImpl;
 import com.microsoft.intellij.util.PluginUtil;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
@@ -40,6 +39,7 @@ import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
 import com.microsoft.tooling.msservices.model.storage.BlobFile;
 import com.microsoft.tooling.msservices.model.storage.BlobItem;
+import com.microsoft.tooling.msservices.model.storage.BlobItemSegment;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionEvent;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionListener;
 import org.apache.commons.io.IOUtils;
@@ -49,7 +49,6 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
@@ -60,7 +59,6 @@ import java.awt.event.*;
 import java.beans.PropertyChangeListener;
 import java.io.*;
 import java.net.SocketTimeoutException;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -94,7 +92,11 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     private Project project;
 
     private LinkedList<BlobDirectory> directoryQueue = new LinkedList<BlobDirectory>();
-    private List<BlobItem> blobItems;
+    private BlobItemTableModel blobItemTableModel;
+
+    // The pages of a stale listing are dropped, when the directory or the query is changed during listing
+    private int listingGeneration = 0;
+    private boolean isLoadingPage = false;
 
     private ISubscriptionSelectionListener subscriptionListener;
     private FileEditorVirtualNode fileEditorVirtualNode;
@@ -103,23 +105,8 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
         this.project = project;
         blobListTable.getSelectionModel().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
-        DefaultTableModel model = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int i, int i1) {
-                return false;
-            }
-
-            public Class getColumnClass(int column) {
-                return (column == 0) ? Icon.class : String.class;
-            }
-        };
-
-        model.addColumn("");
-        model.addColumn("Name");
-        model.addColumn("Size");
-        model.addColumn("Last Modified (UTC)");
-        model.addColumn("Content Type");
-        model.addColumn("URL");
+        BlobItemTableModel model = new BlobItemTableModel();
+        blobItemTableModel = model;
 
         blobListTable.setModel(model);
         blobListTable.getColumnModel().getColumn(0).setMinWidth(20);
@@ -243,6 +230,18 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
             }
         });
 
+        JScrollPane blobListScrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, blobListTable);
+
+        if (blobListScrollPane != null) {
+            // Load the next page when the table is scrolled near to the end
+            blobListScrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+                @Override
+                public void adjustmentValueChanged(AdjustmentEvent adjustmentEvent) {
+                    loadNextPageIfNeeded();
+                }
+            });
+        }
+
         blobListTable.addKeyListener(new KeyListener() {
             @Override
             public void keyTyped(KeyEvent keyEvent) {
@@ -304,6 +303,11 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     public void fillGrid() {
         setUIState(true);
 
+        final int generation = ++listingGeneration;
+        final String prefix = queryTextField.getText();
+        isLoadingPage = true;
+        blobItemTableModel.clear();
+
         final AzureString title = AzureOperationBundle.title("blob.list", blobContainer.getName());
         AzureTaskManager.getInstance().runInBackground(new AzureTask(project, title, false, () -> {
             final ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
@@ -314,56 +318,83 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                     directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
                 }
 
-                blobItems = StorageClientSDKManager.getManager().getBlobItems(connectionString, directoryQueue.peekLast());
+                final BlobDirectory directory = directoryQueue.peekLast();
+                final BlobItemSegment segment = StorageClientSDKManager.getManager().listBlobsSegmented(
+                        connectionString, directory, prefix, null, StorageClientSDKManager.DEFAULT_BLOB_LIST_PAGE_SIZE);
 
-                if (!queryTextField.getText().isEmpty()) {
-                    for (int i = blobItems.size() - 1; i >= 0; i--) {
-                        BlobItem blobItem = blobItems.get(i);
-
-                        if (blobItem instanceof BlobFile && !blobItem.getName().startsWith(queryTextField.getText())) {
-                            blobItems.remove(i);
-                        }
+                AzureTaskManager.getInstance().runLater(() -> {
+                    if (generation != listingGeneration) {
+                        return;
                     }
-                }
 
-                AzureTaskManager.getInstance().runLater(() -> {
+                    pathLabel.setText(directory.getPath());
+                    blobItemTableModel.appendSegment(segment);
+                    isLoadingPage = false;
 
-                    pathLabel.setText(directoryQueue.peekLast().getPath());
-                    DefaultTableModel model = (DefaultTableModel) blobListTable.getModel();
+                    setUIState(false);
 
-                    while (model.getRowCount() > 0) {
-                        model.removeRow(0);
+                    blobListTable.clearSelection();
+
+                    // The first page may not fill the view to be scrolled
+                    loadNextPageIfNeeded();
+                });
+            } catch (AzureCmdException ex) {
+                AzureTaskManager.getInstance().runLater(() -> {
+                    if (generation == listingGeneration) {
+                        isLoadingPage = false;
+                        setUIState(false);
                     }
+                });
 
-                    for (BlobItem blobItem : blobItems) {
-                        if (blobItem instanceof BlobDirectory) {
-                            model.addRow(new Object[]{
-                                UIHelperImpl.loadIcon("storagefolder.png"),
-                                blobItem.getName(),
-                                "",
-                                "",
-                                "",
-                                blobItem.getUri()
-                            });
-                        } else {
-                            BlobFile blobFile = (BlobFile) blobItem;
-
-                            model.addRow(new String[]{
-                                "",
-                                blobFile.getName(),
-                                UIHelperImpl.readableFileSize(blobFile.getSize()),
-                                new SimpleDateFormat().format(blobFile.getLastModified().getTime()),
-                                blobFile.getContentType(),
-                                blobFile.getUri()
-                            });
-                        }
+                String msg = "An error occurred while attempting to query blob list." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
+                PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
+            }
+        }));
+    }
+
+    private void loadNextPageIfNeeded() {
+        if (isLoadingPage || !blobItemTableModel.hasMoreResults() || directoryQueue.peekLast() == null) {
+            return;
+        }
+
+        Rectangle visibleRect = blobListTable.getVisibleRect();
+        int lastVisibleRow = blobListTable.rowAtPoint(new Point(0, visibleRect.y + visibleRect.height - 1));
+
+        // Keep a screen of rows loaded ahead
+        int visibleRows = visibleRect.height / Math.max(1, blobListTable.getRowHeight());
+        if (lastVisibleRow >= 0 && lastVisibleRow < blobListTable.getRowCount() - visibleRows - 1) {
+            return;
+        }
+
+        final int generation = listingGeneration;
+        final String prefix = queryTextField.getText();
+        final String marker = blobItemTableModel.getNextMarker();
+        final BlobDirectory directory = directoryQueue.peekLast();
+        isLoadingPage = true;
+
+        final AzureString title = AzureOperationBundle.title("blob.list", blobContainer.getName());
+        AzureTaskManager.getInstance().runInBackground(new AzureTask(project, title, false, () -> {
+            try {
+                final BlobItemSegment segment = StorageClientSDKManager.getManager().listBlobsSegmented(
+                        connectionString, directory, prefix, marker, StorageClientSDKManager.DEFAULT_BLOB_LIST_PAGE_SIZE);
+
+                AzureTaskManager.getInstance().runLater(() -> {
+                    if (generation != listingGeneration) {
+                        return;
                     }
 
-                    setUIState(false);
+                    blobItemTableModel.appendSegment(segment);
+                    isLoadingPage = false;
 
-                    blobListTable.clearSelection();
+                    loadNextPageIfNeeded();
                 });
             } catch (AzureCmdException ex) {
+                AzureTaskManager.getInstance().runLater(() -> {
+                    if (generation == listingGeneration) {
+                        isLoadingPage = false;
+                    }
+                });
+
                 String msg = "An error occurred while attempting to query blob list." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
                 PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
             }
@@ -394,31 +425,24 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     }
 
     private BlobDirectory getFolderSelection() {
-        if (blobListTable.getSelectedRow() >= 0) {
-            String name = blobListTable.getValueAt(blobListTable.getSelectedRow(), 1).toString();
+        BlobItem item = getSelectedBlobItem();
 
-            for (BlobItem item : blobItems) {
-                if (item instanceof BlobDirectory && item.getName().equals(name)) {
-                    return (BlobDirectory) item;
-                }
-            }
-        }
+        return item instanceof BlobDirectory ? (BlobDirectory) item : null;
+    }
 
-        return null;
+    @Nullable
+    private BlobItem getSelectedBlobItem() {
+        int selectedRow = blobListTable.getSelectedRow();
+
+        return selectedRow >= 0
+               ? blobItemTableModel.getBlobItem(blobListTable.convertRowIndexToModel(selectedRow))
+               : null;
     }
 
     private BlobFile getFileSelection() {
-        if (blobListTable.getSelectedRow() >= 0) {
-            String name = blobListTable.getValueAt(blobListTable.getSelectedRow(), 1).toString();
+        BlobItem item = getSelectedBlobItem();
 
-            for (BlobItem item : blobItems) {
-                if (item instanceof BlobFile && item.getName().equals(name)) {
-                    return (BlobFile) item;
-                }
-            }
-        }
-
-        return null;
+        return item instanceof BlobFile ? (BlobFile) item : null;
     }
 
     private boolean isDirectorySelected() {
@@ -516,7 +540,7 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                     try {
                         StorageClientSDKManager.getManager().deleteBlobFile(connectionString, blobItem);
 
-                        if (blobItems.size() <= 1) {
+                        if (blobItemTableModel.getRowCount() <= 1 && !blobItemTableModel.hasMoreResults()) {
                             directoryQueue.clear();
                             directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
 
@@ -582,69 +606,61 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                         }
                     }
 
-                    final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(targetFile), 65536) {
-                        private long runningCount = 0;
-
+                    final CallableSingleArg<Void, Long> callable = new CallableSingleArg<Void, Long>() {
                         @Override
-                        public synchronized void write(@NotNull byte[] bytes, int i, int i1) throws IOException {
-                            super.write(bytes, i, i1);
-
-                            runningCount += i1;
-
-                            double progress = (double) runningCount / fileSelection.getSize();
+                        public Void call(Long downloadedBytes) throws Exception {
+                            double progress = (double) downloadedBytes / fileSelection.getSize();
                             progressIndicator.setFraction(progress);
                             progressIndicator.setText2(String.format("%s%% downloaded", (int) (progress * 100)));
+
+                            return null;
                         }
                     };
 
-                    try {
-                        Future<?> future = ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                try {
-                                    StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, bufferedOutputStream);
+                    Future<?> future = ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, targetFile, callable);
 
-                                    if (open && targetFile.exists()) {
-                                        Desktop.getDesktop().open(targetFile);
-                                    }
-                                } catch (AzureCmdException e) {
-                                    Throwable connectionFault = e.getCause().getCause();
-
-                                    progressIndicator.setText("Error downloading Blob");
-                                    progressIndicator.setText2((connectionFault instanceof SocketTimeoutException) ?
-                                                               "Connection timed out" : connectionFault.getMessage());
-                                } catch (IOException ex) {
-                                    try {
-                                        final Process p;
-                                        Runtime runtime = Runtime.getRuntime();
-                                        p = runtime.exec(
-                                            new String[]{"open", "-R", targetFile.getName()},
-                                            null,
-                                            targetFile.getParentFile());
-
-                                        InputStream errorStream = p.getErrorStream();
-                                        String errResponse = new String(IOUtils.readFully(errorStream, -1));
-
-                                        if (p.waitFor() != 0) {
-                                            throw new Exception(errResponse);
-                                        }
-                                    } catch (Exception e) {
-                                        progressIndicator.setText("Error openning file");
-                                        progressIndicator.setText2(ex.getMessage());
+                                if (open && targetFile.exists()) {
+                                    Desktop.getDesktop().open(targetFile);
+                                }
+                            } catch (AzureCmdException e) {
+                                Throwable connectionFault = e.getCause().getCause();
+
+                                progressIndicator.setText("Error downloading Blob");
+                                progressIndicator.setText2((connectionFault instanceof SocketTimeoutException) ?
+                                                           "Connection timed out" : connectionFault.getMessage());
+                            } catch (IOException ex) {
+                                try {
+                                    final Process p;
+                                    Runtime runtime = Runtime.getRuntime();
+                                    p = runtime.exec(
+                                        new String[]{"open", "-R", targetFile.getName()},
+                                        null,
+                                        targetFile.getParentFile());
+
+                                    InputStream errorStream = p.getErrorStream();
+                                    String errResponse = new String(IOUtils.readFully(errorStream, -1));
+
+                                    if (p.waitFor() != 0) {
+                                        throw new Exception(errResponse);
                                     }
+                                } catch (Exception e) {
+                                    progressIndicator.setText("Error openning file");
+                                    progressIndicator.setText2(ex.getMessage());
                                 }
                             }
-                        });
+                        }
+                    });
 
-                        while (!future.isDone()) {
-                            progressIndicator.checkCanceled();
+                    while (!future.isDone()) {
+                        progressIndicator.checkCanceled();
 
-                            if (progressIndicator.isCanceled()) {
-                                future.cancel(true);
-                            }
+                        if (progressIndicator.isCanceled()) {
+                            future.cancel(true);
                         }
-                    } finally {
-                        bufferedOutputStream.close();
                     }
                 } catch (IOException e) {
                     PluginUtil.displayErrorDialogAndLog(message("errTtl"), "An error occurred while attempting to download Blob.", e);
@@ -714,7 +730,7 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                                     path,
                                     bufferedInputStream,
                                     callable,
-                                    1024 * 1024,
+                                    StorageClientSDKManager.DEFAULT_TRANSFER_BLOCK_SIZE,
                                     selectedFile.length());
                             } finally {
                                 try {
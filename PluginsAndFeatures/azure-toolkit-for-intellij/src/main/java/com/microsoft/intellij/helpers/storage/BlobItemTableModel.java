@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.intellij.helpers.storage;
+
+import com.microsoft.intellij.helpers.UIHelperImpl;
+import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
+import com.microsoft.tooling.msservices.model.storage.BlobFile;
+import com.microsoft.tooling.msservices.model.storage.BlobItem;
+import com.microsoft.tooling.msservices.model.storage.BlobItemSegment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The table model of the listed blob items, which are appended page by page. The cells are rendered from the
+ * items on demand, so only the visible rows are formatted.
+ */
+class BlobItemTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {"", "Name", "Size", "Last Modified (UTC)", "Content Type", "URL"};
+
+    private final List<BlobItem> blobItems = new ArrayList<BlobItem>();
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat();
+    private Icon folderIcon;
+
+    @Nullable
+    private String nextMarker;
+
+    @Override
+    public int getRowCount() {
+        return blobItems.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return (column == 0) ? Icon.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        BlobItem blobItem = blobItems.get(row);
+
+        if (blobItem instanceof BlobDirectory) {
+            switch (column) {
+                case 0:
+                    return getFolderIcon();
+                case 1:
+                    return blobItem.getName();
+                case 5:
+                    return blobItem.getUri();
+                default:
+                    return "";
+            }
+        }
+
+        BlobFile blobFile = (BlobFile) blobItem;
+
+        switch (column) {
+            case 1:
+                return blobFile.getName();
+            case 2:
+                return UIHelperImpl.readableFileSize(blobFile.getSize());
+            case 3:
+                return dateFormat.format(blobFile.getLastModified().getTime());
+            case 4:
+                return blobFile.getContentType();
+            case 5:
+                return blobFile.getUri();
+            default:
+                return "";
+        }
+    }
+
+    @NotNull
+    public BlobItem getBlobItem(int row) {
+        return blobItems.get(row);
+    }
+
+    @NotNull
+    public List<BlobItem> getBlobItems() {
+        return blobItems;
+    }
+
+    public void clear() {
+        blobItems.clear();
+        nextMarker = null;
+        fireTableDataChanged();
+    }
+
+    public void appendSegment(@NotNull BlobItemSegment segment) {
+        int firstRow = blobItems.size();
+
+        blobItems.addAll(segment.getBlobItems());
+        nextMarker = segment.getNextMarker();
+
+        if (blobItems.size() > firstRow) {
+            fireTableRowsInserted(firstRow, blobItems.size() - 1);
+        }
+    }
+
+    /**
+     * @return the marker to list the next page, null if all pages are loaded
+     */
+    @Nullable
+    public String getNextMarker() {
+        return nextMarker;
+    }
+
+    public boolean hasMoreResults() {
+        return nextMarker != null;
+    }
+
+    private Icon getFolderIcon() {
+        if (folderIcon == null) {
+            folderIcon = UIHelperImpl.loadIcon("storagefolder.png");
+        }
+
+        return folderIcon;
+    }
+}
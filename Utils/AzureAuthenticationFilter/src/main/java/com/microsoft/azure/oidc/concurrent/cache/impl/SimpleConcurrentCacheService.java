@@ -5,8 +5,8 @@
 
 package com.microsoft.azure.oidc.concurrent.cache.impl;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheFactory;
@@ -18,13 +18,16 @@ public class SimpleConcurrentCacheService implements ConcurrentCacheService {
     private final ConcurrentCacheFactory<String, Object> concurrentCacheFactory = SimpleConcurrentCacheFactory
             .getInstance(String.class, Object.class);
 
-    private final Map<String, ConcurrentCache<String, Object>> cacheMap = new HashMap<String, ConcurrentCache<String, Object>>();
+    private final Map<String, ConcurrentCache<String, Object>> cacheMap = new ConcurrentHashMap<String, ConcurrentCache<String, Object>>();
 
     @SuppressWarnings("unchecked")
     @Override
     public <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, Long maxSize) {
         final ConcurrentCache<String, Object> concurrentCache = concurrentCacheFactory.createConcurrentCache(ttl, maxSize);
-        cacheMap.put(name, concurrentCache);
+        final ConcurrentCache<String, Object> previousCache = cacheMap.put(name, concurrentCache);
+        if (previousCache != null) {
+            previousCache.shutdownNow();
+        }
         return (ConcurrentCache<String, V>) concurrentCache;
     }
 
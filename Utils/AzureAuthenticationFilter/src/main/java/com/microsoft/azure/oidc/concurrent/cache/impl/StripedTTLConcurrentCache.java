@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+
+/**
+ * A TTL and size bounded cache, striped into segments by the key hash so that the requests only contend on the
+ * same segment.
+ *
+ * Each segment is an access ordered map, evicting its least recently used entry in O(1) when it is full. The
+ * expired entries are dropped on access, and swept once a minute by a scheduler thread shared by all caches.
+ */
+public final class StripedTTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final long SWEEP_PERIOD = 1L;
+
+    private static ScheduledExecutorService sharedScheduledExecutorService;
+    private static int sharedScheduledExecutorUsers = 0;
+
+    private final Segment<K, V>[] segments;
+    private final Long ttl;
+    private final ScheduledFuture<?> sweeper;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public StripedTTLConcurrentCache(final Long ttl, final Long maxSize) {
+        if (ttl == null || maxSize == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        if (maxSize < 1) {
+            throw new PreconditionException("Cache size is less than 1");
+        }
+        this.ttl = ttl * 60000;
+        final int segmentCount = (int) Math.min(MAX_SEGMENTS, maxSize);
+        final long segmentMaxSize = (maxSize + segmentCount - 1) / segmentCount;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<K, V>(segmentMaxSize);
+        }
+        sweeper = acquireScheduledExecutorService().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                final long expiredBefore = System.currentTimeMillis() - getTtl();
+                for (final Segment<K, V> segment : segments) {
+                    segment.removeExpired(expiredBefore);
+                }
+            }
+        }, SWEEP_PERIOD, SWEEP_PERIOD, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        return segmentFor(key).get(key, System.currentTimeMillis() - getTtl());
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        return segmentFor(key).putIfAbsent(key, value, System.currentTimeMillis());
+    }
+
+    @Override
+    public void shutdownNow() {
+        if (sweeper.cancel(false)) {
+            releaseScheduledExecutorService();
+        }
+        for (final Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment<K, V> segmentFor(final Object key) {
+        final int hash = key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private long getTtl() {
+        return ttl;
+    }
+
+    private static synchronized ScheduledExecutorService acquireScheduledExecutorService() {
+        if (sharedScheduledExecutorService == null) {
+            sharedScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "ConcurrentCacheSweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        sharedScheduledExecutorUsers++;
+        return sharedScheduledExecutorService;
+    }
+
+    private static synchronized void releaseScheduledExecutorService() {
+        if (--sharedScheduledExecutorUsers == 0) {
+            sharedScheduledExecutorService.shutdownNow();
+            sharedScheduledExecutorService = null;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+        private Segment(final long maxSize) {
+            this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry<V>> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized V get(final Object key, final long expiredBefore) {
+            final CacheEntry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.timestamp < expiredBefore) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        private synchronized V putIfAbsent(final K key, final V value, final long now) {
+            final CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                return entry.value;
+            }
+            entries.put(key, new CacheEntry<V>(value, now));
+            return null;
+        }
+
+        private synchronized void removeExpired(final long expiredBefore) {
+            final Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().timestamp < expiredBefore) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long timestamp;
+
+        private CacheEntry(final V value, final long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+}
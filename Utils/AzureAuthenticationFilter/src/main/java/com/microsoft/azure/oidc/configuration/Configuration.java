@@ -5,6 +5,8 @@
 
 package com.microsoft.azure.oidc.configuration;
 
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +24,8 @@ public interface Configuration {
 
     Key getKey(Name name);
 
+    PublicKey getPublicKey(Name name, String keyAlgorithm) throws GeneralSecurityException;
+
     Issuer getIssuer();
 
     EndPoint getAuthenticationEndPoint();
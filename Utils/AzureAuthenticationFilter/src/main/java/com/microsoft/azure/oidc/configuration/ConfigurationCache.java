@@ -5,8 +5,14 @@
 
 package com.microsoft.azure.oidc.configuration;
 
+import com.microsoft.azure.oidc.common.name.Name;
+
 public interface ConfigurationCache {
 
     Configuration load();
 
+    Configuration load(Name keyName);
+
+    void shutdownNow();
+
 }
@@ -11,4 +11,6 @@ public interface ConfigurationLoader {
 
     Future<Configuration> loadAsync();
 
+    Configuration load();
+
 }
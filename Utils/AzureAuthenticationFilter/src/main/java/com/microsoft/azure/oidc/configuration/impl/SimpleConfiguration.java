@@ -5,8 +5,19 @@
 
 package com.microsoft.azure.oidc.configuration.impl;
 
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.codec.binary.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.microsoft.azure.oidc.common.algorithm.Algorithm;
 import com.microsoft.azure.oidc.common.issuer.Issuer;
@@ -17,7 +28,11 @@ import com.microsoft.azure.oidc.configuration.key.Key;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 
 final class SimpleConfiguration implements Configuration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleConfiguration.class);
+    private static final String DEFAULT_KEY_ALGORITHM = "RSA";
+
     private final Map<Name, Key> keys;
+    private final ConcurrentMap<String, PublicKey> publicKeys = new ConcurrentHashMap<String, PublicKey>();
     private final List<Algorithm> algorithms;
     private final Issuer issuer;
     private final EndPoint authenticationEndPoint;
@@ -37,6 +52,13 @@ final class SimpleConfiguration implements Configuration {
         this.issuer = issuer;
         this.authenticationEndPoint = authenticationEndPoint;
         this.logoutEndPoint = logoutEndPoint;
+        for (final Name name : keys.keySet()) {
+            try {
+                getPublicKey(name, DEFAULT_KEY_ALGORITHM);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                LOGGER.warn("Error building public key " + name + ": " + e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -59,6 +81,29 @@ final class SimpleConfiguration implements Configuration {
         return getKeys().get(name);
     }
 
+    @Override
+    public PublicKey getPublicKey(final Name name, final String keyAlgorithm) throws GeneralSecurityException {
+        if (name == null || keyAlgorithm == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final String publicKeyName = keyAlgorithm + ":" + name.getName();
+        final PublicKey publicKey = publicKeys.get(publicKeyName);
+        if (publicKey != null) {
+            return publicKey;
+        }
+        final Key key = getKey(name);
+        if (key == null) {
+            return null;
+        }
+        final Base64 decoder = new Base64();
+        final BigInteger exponent = new BigInteger(1, decoder.decode(key.getExponent().getValue()));
+        final BigInteger modulus = new BigInteger(1, decoder.decode(key.getSecret().getValue()));
+        final PublicKey created = KeyFactory.getInstance(keyAlgorithm)
+                .generatePublic(new RSAPublicKeySpec(modulus, exponent));
+        final PublicKey existing = publicKeys.putIfAbsent(publicKeyName, created);
+        return existing == null ? created : existing;
+    }
+
     @Override
     public Issuer getIssuer() {
         return issuer;
@@ -5,39 +5,141 @@
 
 package com.microsoft.azure.oidc.configuration.impl;
 
-import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
-import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.microsoft.azure.oidc.common.name.Name;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.ConfigurationLoader;
+import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.future.FutureHelper;
 import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 
+/**
+ * The refresh-ahead configuration cache. A stale configuration keeps being served while a single background
+ * reload runs, only the first load and a token signed by an unknown key wait for the reload. The reloads run on
+ * one daemon thread owned by the cache, which is shut down with the filter.
+ */
 public class SimpleConfigurationCache implements ConfigurationCache {
     private static final ConfigurationCache INSTANCE = new SimpleConfigurationCache();
+    private static final long REFRESH_PERIOD = 60L * 60000;
+    private static final long RETRY_PERIOD = 60000L;
+    // The minimum interval of the reloads for unknown keys, so that the forged key names can't flood the key store
+    private static final long UNKNOWN_KEY_RELOAD_PERIOD = 60000L;
 
     private final ConfigurationLoader configurationLoader = SimpleConfigurationLoader.getInstance();
 
     private final FutureHelper futureHelper = SimpleFutureHelper.getInstance();
 
-    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+    private final AtomicReference<ReloadTask> reloading = new AtomicReference<ReloadTask>();
+
+    private volatile Configuration configuration;
+
+    private volatile long nextRefreshTime = 0L;
+
+    private volatile long lastUnknownKeyReloadTime = 0L;
+
+    private ExecutorService reloadExecutorService;
 
     @Override
     public Configuration load() {
-        final String key = "SINGLE";
-        final Configuration entry = concurrentCacheService.getCache(Configuration.class, "configurationCache").get(key);
-        if (entry != null) {
-            return entry;
+        final Configuration current = configuration;
+        if (current == null) {
+            return futureHelper.getResult(reload());
+        }
+        if (System.currentTimeMillis() >= nextRefreshTime) {
+            reload();
+        }
+        return current;
+    }
+
+    @Override
+    public Configuration load(final Name keyName) {
+        if (keyName == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final Configuration current = load();
+        if (current == null || current.getKey(keyName) != null) {
+            return current;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - lastUnknownKeyReloadTime < UNKNOWN_KEY_RELOAD_PERIOD) {
+            return current;
+        }
+        lastUnknownKeyReloadTime = now;
+        final Configuration reloaded = futureHelper.getResult(reload());
+        return reloaded == null ? current : reloaded;
+    }
+
+    private Future<Configuration> reload() {
+        while (true) {
+            final ReloadTask running = reloading.get();
+            if (running != null) {
+                return running;
+            }
+            final ReloadTask task = new ReloadTask();
+            if (reloading.compareAndSet(null, task)) {
+                execute(task);
+                return task;
+            }
+        }
+    }
+
+    private synchronized void execute(final ReloadTask task) {
+        if (reloadExecutorService == null) {
+            reloadExecutorService = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "ConfigurationReloader");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        reloadExecutorService.execute(task);
+    }
+
+    @Override
+    public synchronized void shutdownNow() {
+        if (reloadExecutorService == null) {
+            return;
         }
-        final Configuration result = futureHelper.getResult(configurationLoader.loadAsync());
-        if (result == null) {
-            return result;
+        // Cancel the reload not started yet, so that its waiters won't wait forever
+        for (final Runnable pending : reloadExecutorService.shutdownNow()) {
+            ((Future<?>) pending).cancel(false);
         }
-        concurrentCacheService.getCache(Configuration.class, "configurationCache").putIfAbsent(key, result);
-        return result;
+        reloadExecutorService = null;
     }
 
     public static ConfigurationCache getInstance() {
         return INSTANCE;
     }
+
+    private final class ReloadTask extends FutureTask<Configuration> {
+        private ReloadTask() {
+            super(new Callable<Configuration>() {
+                public Configuration call() throws Exception {
+                    final Configuration result = configurationLoader.load();
+                    if (result == null) {
+                        nextRefreshTime = System.currentTimeMillis() + RETRY_PERIOD;
+                        return null;
+                    }
+                    configuration = result;
+                    nextRefreshTime = System.currentTimeMillis() + REFRESH_PERIOD;
+                    return result;
+                }
+            });
+        }
+
+        @Override
+        protected void done() {
+            reloading.compareAndSet(this, null);
+        }
+    }
 }
@@ -63,6 +63,7 @@ public final class SimpleConfigurationLoader implements ConfigurationLoader {
         return future;
     }
 
+    @Override
     public Configuration load() {
         try {
             final JsonNode wellKnownNode = futureHelper.getResult(wellKnownLoader.loadAsync());
@@ -36,6 +36,10 @@ public interface AuthenticationHelper {
 
     Token getToken(String tokenString);
 
+    Token getValidatedToken(String tokenString);
+
+    void addValidatedToken(String tokenString, Token token);
+
     Boolean isValidToken(Token token);
 
     Boolean isActiveToken(Token token);
@@ -45,9 +45,11 @@ import com.microsoft.azure.oidc.filter.request.impl.SandboxRequestWrapper;
 import com.microsoft.azure.oidc.graph.GraphCache;
 import com.microsoft.azure.oidc.graph.impl.SimpleGraphCache;
 import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenCache;
 import com.microsoft.azure.oidc.token.TokenParser;
 import com.microsoft.azure.oidc.token.TokenValidator;
 import com.microsoft.azure.oidc.token.impl.SimpeTokenParser;
+import com.microsoft.azure.oidc.token.impl.SimpleTokenCache;
 import com.microsoft.azure.oidc.token.impl.SimpleTokenValidator;
 
 public final class SimpleAuthenticationHelper implements AuthenticationHelper {
@@ -60,6 +62,8 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
 
     private final TokenValidator tokenValidator = SimpleTokenValidator.getInstance();
 
+    private final TokenCache tokenCache = SimpleTokenCache.getInstance();
+
     private final GraphCache graphCache = SimpleGraphCache.getInstance();
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
@@ -156,6 +160,21 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
         return tokenParser.getToken(tokenString);
     }
 
+    @Override
+    public Token getValidatedToken(final String tokenString) {
+        return tokenCache.get(tokenString);
+    }
+
+    @Override
+    public void addValidatedToken(final String tokenString, final Token token) {
+        tokenCache.put(tokenString, token);
+        final Boolean isAuthorisationRequired = !authenticationConfigurationService.get().getAuthorisationRoleMap()
+                .isEmpty();
+        if (isAuthorisationRequired && token.getUserID().getValue() != null) {
+            graphCache.prefetch(token.getUserID().getValue());
+        }
+    }
+
     @Override
     public Boolean isValidToken(final Token token) {
         return tokenValidator.validateCommon(token);
@@ -6,6 +6,7 @@
 package com.microsoft.azure.oidc.filter.impl;
 
 import java.io.IOException;
+import java.util.Set;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -16,9 +17,13 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
-import com.microsoft.azure.oidc.configuration.Configuration;
+import com.microsoft.azure.oidc.configuration.ConfigurationCache;
+import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
@@ -27,11 +32,17 @@ import com.microsoft.azure.oidc.filter.configuration.authentication.Authenticati
 import com.microsoft.azure.oidc.filter.configuration.authentication.impl.SimpleAuthenticationConfigurationService;
 import com.microsoft.azure.oidc.filter.helper.AuthenticationHelper;
 import com.microsoft.azure.oidc.filter.helper.impl.SimpleAuthenticationHelper;
+import com.microsoft.azure.oidc.graph.GraphCache;
+import com.microsoft.azure.oidc.graph.impl.SimpleGraphCache;
 import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenCache;
+import com.microsoft.azure.oidc.token.impl.SimpleTokenCache;
 
 public final class SimpleAuthenticationFilter implements Filter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleAuthenticationFilter.class);
     private static final String ALGORITHM_CONFIGURATION = "algorithmConfiguration";
     private static final String AUTHENTICATION_CONFIGURATION = "authenticationConfiguration";
+    private static final String TOKEN_CACHE = "tokenCache";
     private static final String TOKEN_NAME = "id_token";
     private static final String ERROR_NAME = "error";
     private static final String NO_ERROR_STRING = null;
@@ -48,9 +59,18 @@ public final class SimpleAuthenticationFilter implements Filter {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final TokenCache tokenCache = SimpleTokenCache.getInstance();
+
+    private final ConfigurationCache configurationCache = SimpleConfigurationCache.getInstance();
+
+    private final GraphCache graphCache = SimpleGraphCache.getInstance();
+
     @Override
     public void destroy() {
+        LOGGER.info(tokenCache.toString());
         concurrentCacheService.shutdownNow();
+        configurationCache.shutdownNow();
+        graphCache.shutdownNow();
     }
 
     @Override
@@ -67,11 +87,16 @@ public final class SimpleAuthenticationFilter implements Filter {
                 getHelper().doUnauthenticatedAction(chain, httpRequest, httpResponse, NO_TOKEN, isAuthenticationError);
                 return;
             }
-            final Token token = getHelper().getToken(tokenString);
-            final Boolean isInvalidToken = !getHelper().isValidToken(token);
-            if (isInvalidToken) {
-                getHelper().doInvalidTokenAction(httpResponse);
-                return;
+            Token token = getHelper().getValidatedToken(tokenString);
+            final Boolean isUnvalidatedToken = token == NO_TOKEN;
+            if (isUnvalidatedToken) {
+                token = getHelper().getToken(tokenString);
+                final Boolean isInvalidToken = !getHelper().isValidToken(token);
+                if (isInvalidToken) {
+                    getHelper().doInvalidTokenAction(httpResponse);
+                    return;
+                }
+                getHelper().addValidatedToken(tokenString, token);
             }
             final Boolean isActiveToken = getHelper().isActiveToken(token);
             if (isActiveToken) {
@@ -88,12 +113,17 @@ public final class SimpleAuthenticationFilter implements Filter {
     public void init(final FilterConfig filterConfig) throws ServletException {
         final String securityCacheSizeString = filterConfig.getInitParameter("securityCacheSize");
         if (securityCacheSizeString == null) {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L, 1000L);
+            concurrentCacheService.createCache(Set.class, "memberGroupCache", 30L, 1000L);
         } else {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L,
+            concurrentCacheService.createCache(Set.class, "memberGroupCache", 30L,
                     Long.parseLong(securityCacheSizeString));
         }
-        concurrentCacheService.createCache(Configuration.class, "configurationCache", 60L, 1L);
+        concurrentCacheService.createCache(String.class, "groupCache", 30L, 1000L);
+        final String tokenCacheSizeString = filterConfig.getInitParameter("tokenCacheSize");
+        if (tokenCacheSizeString != null) {
+            tokenCache.initialise(Integer.parseInt(tokenCacheSizeString));
+        }
+        filterConfig.getServletContext().setAttribute(TOKEN_CACHE, tokenCache);
         authenticationConfigurationService.initialise(filterConfig, AUTHENTICATION_CONFIGURATION);
         algorithmConfigurationService.initialise(filterConfig, ALGORITHM_CONFIGURATION);
     }
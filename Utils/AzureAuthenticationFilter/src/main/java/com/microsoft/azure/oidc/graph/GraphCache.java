@@ -9,4 +9,8 @@ public interface GraphCache {
 
     Boolean isUserInRole(String userID, String role);
 
+    void prefetch(String userID);
+
+    void shutdownNow();
+
 }
@@ -5,10 +5,17 @@
 
 package com.microsoft.azure.oidc.graph;
 
+import java.util.Set;
 import java.util.concurrent.Future;
 
 public interface GraphService {
 
     Future<Boolean> isUserInRoleAsync(String userID, String role);
 
+    Future<Set<String>> getMemberGroupIDsAsync(String userID);
+
+    Set<String> getMemberGroupIDs(String userID);
+
+    Future<String> getGroupIDAsync(String group);
+
 }
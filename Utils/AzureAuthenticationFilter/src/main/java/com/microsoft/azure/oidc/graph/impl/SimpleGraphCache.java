@@ -5,6 +5,19 @@
 
 package com.microsoft.azure.oidc.graph.impl;
 
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.future.FutureHelper;
@@ -12,8 +25,16 @@ import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 import com.microsoft.azure.oidc.graph.GraphCache;
 import com.microsoft.azure.oidc.graph.GraphService;
 
+/**
+ * The role checks are answered from the user's group set, which is fetched from Graph once per user and cached,
+ * rather than asking Graph per user and role. The concurrent first requests of a user share one fetch.
+ * The prefetches run on a few daemon threads owned by the cache, and are dropped when too many are queued.
+ */
 public class SimpleGraphCache implements GraphCache {
     private static final GraphCache INSTANCE = new SimpleGraphCache();
+    private static final String NO_GROUP_ID = "";
+    private static final int PREFETCH_THREADS = 4;
+    private static final int PREFETCH_QUEUE_SIZE = 1000;
 
     private final GraphService springGraphService = SimpleGraphService.getInstance();
 
@@ -21,19 +42,139 @@ public class SimpleGraphCache implements GraphCache {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final ConcurrentMap<String, Future<Set<String>>> memberGroupIDsLoadings = new ConcurrentHashMap<String, Future<Set<String>>>();
+
+    private final ConcurrentMap<String, Future<String>> groupIDLoadings = new ConcurrentHashMap<String, Future<String>>();
+
+    private ThreadPoolExecutor prefetchExecutorService;
+
+    @Override
+    public Boolean isUserInRole(final String userID, final String role) {
+        final String groupID = getGroupID(role);
+        if (groupID == null) {
+            return null;
+        }
+        if (NO_GROUP_ID.equals(groupID)) {
+            return Boolean.FALSE;
+        }
+        final Set<String> memberGroupIDs = getMemberGroupIDs(userID);
+        if (memberGroupIDs == null) {
+            return null;
+        }
+        return memberGroupIDs.contains(groupID);
+    }
+
     @Override
-    public Boolean isUserInRole(String userID, String role) {
-        final String key = String.format("%s:%s", userID, role);
-        final Boolean entry = concurrentCacheService.getCache(Boolean.class, "roleCache").get(key);
+    public void prefetch(final String userID) {
+        if (getMemberGroupIDsCache().get(userID) == null) {
+            load(memberGroupIDsLoadings, getMemberGroupIDsCache(), userID, new Callable<Set<String>>() {
+                public Set<String> call() {
+                    return springGraphService.getMemberGroupIDs(userID);
+                }
+            }, Boolean.TRUE);
+        }
+    }
+
+    private Set<String> getMemberGroupIDs(final String userID) {
+        final Set<String> entry = getMemberGroupIDsCache().get(userID);
         if (entry != null) {
             return entry;
         }
-        final Boolean result = futureHelper.getResult(springGraphService.isUserInRoleAsync(userID, role));
-        if (result == null) {
-            return result;
+        return futureHelper.getResult(load(memberGroupIDsLoadings, getMemberGroupIDsCache(), userID,
+                new Callable<Set<String>>() {
+                    public Set<String> call() {
+                        return springGraphService.getMemberGroupIDs(userID);
+                    }
+                }, Boolean.FALSE));
+    }
+
+    private String getGroupID(final String group) {
+        final String entry = getGroupIDCache().get(group);
+        if (entry != null) {
+            return entry;
         }
-        concurrentCacheService.getCache(Boolean.class, "roleCache").putIfAbsent(key, result);
-        return result;
+        return futureHelper.getResult(load(groupIDLoadings, getGroupIDCache(), group, new Callable<String>() {
+            public String call() {
+                return futureHelper.getResult(springGraphService.getGroupIDAsync(group));
+            }
+        }, Boolean.FALSE));
+    }
+
+    /**
+     * Load the entry into the cache, the concurrent loads of the same key share the first one.
+     */
+    private <V> Future<V> load(final ConcurrentMap<String, Future<V>> loadings, final ConcurrentCache<String, V> cache,
+            final String key, final Callable<V> loader, final Boolean isBackground) {
+        final Future<V> running = loadings.get(key);
+        if (running != null) {
+            return running;
+        }
+        final FutureTask<V> loading = new FutureTask<V>(new Callable<V>() {
+            public V call() throws Exception {
+                try {
+                    final V result = loader.call();
+                    if (result != null) {
+                        cache.putIfAbsent(key, result);
+                    }
+                    return result;
+                } finally {
+                    loadings.remove(key);
+                }
+            }
+        });
+        final Future<V> existing = loadings.putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing;
+        }
+        if (isBackground) {
+            try {
+                execute(loading);
+            } catch (RejectedExecutionException e) {
+                // Too many prefetches queued or shut down, the entry is loaded when it's requested
+                loadings.remove(key, loading);
+                loading.cancel(false);
+            }
+        } else {
+            loading.run();
+        }
+        return loading;
+    }
+
+    private synchronized void execute(final Runnable task) {
+        if (prefetchExecutorService == null) {
+            prefetchExecutorService = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(PREFETCH_QUEUE_SIZE), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable runnable) {
+                            final Thread thread = new Thread(runnable, "GraphCachePrefetcher");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            prefetchExecutorService.allowCoreThreadTimeOut(true);
+        }
+        prefetchExecutorService.execute(task);
+    }
+
+    @Override
+    public synchronized void shutdownNow() {
+        if (prefetchExecutorService == null) {
+            return;
+        }
+        // Cancel the prefetches not started yet, so that the requests sharing them won't wait forever
+        for (final Runnable pending : prefetchExecutorService.shutdownNow()) {
+            ((Future<?>) pending).cancel(false);
+        }
+        prefetchExecutorService = null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ConcurrentCache<String, Set<String>> getMemberGroupIDsCache() {
+        return (ConcurrentCache) concurrentCacheService.getCache(Set.class, "memberGroupCache");
+    }
+
+    private ConcurrentCache<String, String> getGroupIDCache() {
+        return concurrentCacheService.getCache(String.class, "groupCache");
     }
 
     public static GraphCache getInstance() {
@@ -7,9 +7,12 @@ package com.microsoft.azure.oidc.graph.impl;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -34,9 +37,16 @@ import com.microsoft.azure.oidc.graph.GraphService;
 public final class SimpleGraphService implements GraphService {
     private static final GraphService INSTANCE = new SimpleGraphService();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleGraphService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The group ID of the groups not found, to tell from the errors
+    private static final String NO_GROUP_ID = "";
+    // In seconds, the bearer token is renewed before it expires
+    private static final long BEARER_TOKEN_EXPIRATION_MARGIN = 300L;
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
+    private volatile BearerToken bearerToken;
+
     @Override
     public Future<Boolean> isUserInRoleAsync(final String userID, final String role) {
         final ExecutorService executorService = Executors.newSingleThreadExecutor();
@@ -49,13 +59,81 @@ public final class SimpleGraphService implements GraphService {
         return future;
     }
 
+    @Override
+    public Future<Set<String>> getMemberGroupIDsAsync(final String userID) {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Future<Set<String>> future = executorService.submit(new Callable<Set<String>>() {
+            public Set<String> call() throws Exception {
+                return getMemberGroupIDs(userID);
+            }
+        });
+        executorService.shutdown();
+        return future;
+    }
+
+    @Override
+    public Future<String> getGroupIDAsync(final String group) {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Future<String> future = executorService.submit(new Callable<String>() {
+            public String call() throws Exception {
+                final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
+                final String bearerToken = getBearerToken(applicationSettings.getTenant(),
+                        applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
+                return getGroupID(applicationSettings.getTenant(), group, bearerToken);
+            }
+        });
+        executorService.shutdown();
+        return future;
+    }
+
+    @Override
+    public Set<String> getMemberGroupIDs(final String userID) {
+        try {
+            final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
+            final String bearerToken = getBearerToken(applicationSettings.getTenant(),
+                    applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
+            final String urlString = String.format(
+                    "https://graph.windows.net/%s/users/%s/getMemberGroups?api-version=1.6",
+                    applicationSettings.getTenant().getName(), URLEncoder.encode(userID, "UTF-8"));
+            final String payload = "{\"securityEnabledOnly\":false}";
+            final URL url = new URL(urlString);
+            final HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+            connection.setRequestProperty("Host", "graph.windows.net");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.getOutputStream().write(payload.getBytes());
+            connection.getOutputStream().flush();
+            final JsonNode node;
+            try (final InputStream in = connection.getInputStream()) {
+                node = MAPPER.readTree(in);
+            }
+            final Set<String> groupIDs = new HashSet<String>();
+            for (final JsonNode groupNode : node.get("value")) {
+                groupIDs.add(groupNode.asText());
+            }
+            return groupIDs;
+        } catch (IOException e) {
+            LOGGER.error("IO Exception", e);
+            return null;
+        } catch (GeneralException e) {
+            LOGGER.error("General Exception", e);
+            return null;
+        } catch (RuntimeException e) {
+            LOGGER.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
     private Boolean isUserInRole(final String userID, final String role) {
         try {
             final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
             final String bearerToken = getBearerToken(applicationSettings.getTenant(),
                     applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
             final String roleID = getGroupID(applicationSettings.getTenant(), role, bearerToken);
-            if (roleID == null) {
+            if (roleID == null || NO_GROUP_ID.equals(roleID)) {
                 return Boolean.FALSE;
             }
             return isUserInGroup(applicationSettings.getTenant(), userID, roleID, bearerToken);
@@ -123,7 +201,7 @@ public final class SimpleGraphService implements GraphService {
             for (final JsonNode groupNode : node.get("value")) {
                 return groupNode.get("objectId").asText();
             }
-            return null;
+            return NO_GROUP_ID;
         } catch (IOException e) {
             LOGGER.error("IO Exception", e);
             return null;
@@ -134,6 +212,10 @@ public final class SimpleGraphService implements GraphService {
     }
 
     private String getBearerToken(final Tenant tenant, final ID principal, final Secret secret) {
+        final BearerToken cached = bearerToken;
+        if (cached != null && cached.expiration > System.currentTimeMillis()) {
+            return cached.value;
+        }
         try {
             final String payload = String.format(
                     "grant_type=client_credentials&client_id=%s&client_secret=%s&resource=%s", principal.getValue(),
@@ -157,7 +239,11 @@ public final class SimpleGraphService implements GraphService {
             }
             final ObjectMapper mapper = new ObjectMapper();
             final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
-            return node.get("access_token").asText();
+            final String value = node.get("access_token").asText();
+            final long expiresIn = node.has("expires_in") ? node.get("expires_in").asLong() : 0L;
+            bearerToken = new BearerToken(value,
+                    System.currentTimeMillis() + Math.max(0L, expiresIn - BEARER_TOKEN_EXPIRATION_MARGIN) * 1000);
+            return value;
         } catch (IOException e) {
             LOGGER.error("IO Exception", e);
             return null;
@@ -170,4 +256,14 @@ public final class SimpleGraphService implements GraphService {
     public static GraphService getInstance() {
         return INSTANCE;
     }
+
+    private static final class BearerToken {
+        private final String value;
+        private final long expiration;
+
+        private BearerToken(final String value, final long expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+    }
 }
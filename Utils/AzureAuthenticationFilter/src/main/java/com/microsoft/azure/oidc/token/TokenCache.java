@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token;
+
+public interface TokenCache {
+
+    void initialise(Integer maxSize);
+
+    Token get(String tokenString);
+
+    void put(String tokenString, Token token);
+
+    Integer getMaxSize();
+
+    Integer getSize();
+
+    Long getHitCount();
+
+    Long getMissCount();
+
+    Long getEvictionCount();
+
+    Double getHitRate();
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenCache;
+
+/**
+ * A bounded lock-free cache of the validated tokens, so that the repeated requests with the same token skip the
+ * parsing and the signature verification until the token expires.
+ *
+ * The cache is a direct mapped table indexed by the hash of the raw token string, a token replaces the one in its
+ * slot. The raw token string is kept and compared on lookup, so a hash collision is only a miss.
+ */
+public final class SimpleTokenCache implements TokenCache {
+    private static final TokenCache INSTANCE = new SimpleTokenCache();
+    private static final Integer DEFAULT_MAX_SIZE = 1024;
+    private static final Integer MAXIMUM_MAX_SIZE = 1 << 20;
+    // The keys may be rotated in the meantime, so a token without expiration isn't trusted longer than the keys
+    private static final Long MAX_TTL = 60L * 60000;
+
+    private volatile AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<Entry>(DEFAULT_MAX_SIZE);
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Override
+    public void initialise(final Integer maxSize) {
+        if (maxSize == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        if (maxSize < 0) {
+            throw new PreconditionException("Token cache size is negative");
+        }
+        int size = 1;
+        while (size < maxSize && size < MAXIMUM_MAX_SIZE) {
+            size <<= 1;
+        }
+        entries = new AtomicReferenceArray<Entry>(maxSize == 0 ? 0 : size);
+    }
+
+    @Override
+    public Token get(final String tokenString) {
+        if (tokenString == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final AtomicReferenceArray<Entry> localEntries = entries;
+        if (localEntries.length() == 0) {
+            return null;
+        }
+        final int index = indexOf(tokenString, localEntries.length());
+        final Entry entry = localEntries.get(index);
+        if (entry == null || !entry.tokenString.equals(tokenString)) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.expiration <= System.currentTimeMillis()) {
+            localEntries.compareAndSet(index, entry, null);
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.token;
+    }
+
+    @Override
+    public void put(final String tokenString, final Token token) {
+        if (tokenString == null || token == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final AtomicReferenceArray<Entry> localEntries = entries;
+        if (localEntries.length() == 0) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long tokenExpiration = token.getExpiration().getTime();
+        final long expiration = tokenExpiration < (Long.MAX_VALUE - now) / 1000
+                ? Math.min(tokenExpiration * 1000, now + MAX_TTL)
+                : now + MAX_TTL;
+        if (expiration <= now) {
+            return;
+        }
+        final Entry previous = localEntries.getAndSet(indexOf(tokenString, localEntries.length()),
+                new Entry(tokenString, token, expiration));
+        if (previous != null && !previous.tokenString.equals(tokenString) && previous.expiration > now) {
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Integer getMaxSize() {
+        return entries.length();
+    }
+
+    @Override
+    public Integer getSize() {
+        final AtomicReferenceArray<Entry> localEntries = entries;
+        final long now = System.currentTimeMillis();
+        int size = 0;
+        for (int i = 0; i < localEntries.length(); i++) {
+            final Entry entry = localEntries.get(i);
+            if (entry != null && entry.expiration > now) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public Long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public Long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public Double getHitRate() {
+        final long hits = hitCount.get();
+        final long requests = hits + missCount.get();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TokenCache[size=%d, maxSize=%d, hitCount=%d, missCount=%d, hitRate=%.3f, evictionCount=%d]",
+                getSize(), getMaxSize(), getHitCount(), getMissCount(), getHitRate(), getEvictionCount());
+    }
+
+    private static int indexOf(final String tokenString, final int length) {
+        final int hash = tokenString.hashCode();
+        return (hash ^ (hash >>> 16)) & (length - 1);
+    }
+
+    public static TokenCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static final class Entry {
+        private final String tokenString;
+        private final Token token;
+        private final long expiration;
+
+        private Entry(final String tokenString, final Token token, final long expiration) {
+            this.tokenString = tokenString;
+            this.token = token;
+            this.expiration = expiration;
+        }
+    }
+}
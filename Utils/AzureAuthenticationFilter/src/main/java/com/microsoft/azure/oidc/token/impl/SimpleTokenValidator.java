@@ -5,15 +5,12 @@
 
 package com.microsoft.azure.oidc.token.impl;
 
-import java.math.BigInteger;
-import java.security.InvalidKeyException;
-import java.security.KeyFactory;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.Signature;
-import java.security.SignatureException;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.RSAPublicKeySpec;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -28,8 +25,10 @@ import com.microsoft.azure.oidc.common.timestamp.impl.SimpleTimeStampFactory;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
+import com.microsoft.azure.oidc.configuration.key.Key;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfiguration;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.impl.SimpleAlgorithmConfigurationService;
 import com.microsoft.azure.oidc.token.Token;
@@ -38,6 +37,7 @@ import com.microsoft.azure.oidc.token.TokenValidator;
 public class SimpleTokenValidator implements TokenValidator {
     private static final TokenValidator INSTANCE = new SimpleTokenValidator();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleTokenValidator.class);
+    private static final Base64 DECODER = new Base64();
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
@@ -47,43 +47,60 @@ public class SimpleTokenValidator implements TokenValidator {
 
     private final AlgorithmConfigurationService algorithmConfigurationService = SimpleAlgorithmConfigurationService.getInstance();
 
+    // The verifiers initialised per thread, since Signature isn't thread safe and costly to look up
+    private final ThreadLocal<Map<String, Signature>> verifiers = new ThreadLocal<Map<String, Signature>>() {
+        @Override
+        protected Map<String, Signature> initialValue() {
+            return new HashMap<String, Signature>();
+        }
+    };
+
     @Override
     public Boolean validateSignature(final Token token) {
         if (token == null) {
             throw new PreconditionException("Required parameter is null");
         }
-        if (algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()).equals("HMAC")) {
+        final AlgorithmConfiguration algorithmConfiguration = algorithmConfigurationService.get();
+        final String algorithmName = token.getAlgorithm().getName();
+        final String keyAlgorithm = algorithmConfiguration.getAlgorithmClassMap().get(algorithmName);
+        if (keyAlgorithm.equals("HMAC")) {
             return Boolean.FALSE;
         }
-        final Configuration configuration = configurationCache.load();
+        final Configuration configuration = configurationCache.load(token.getKeyName());
         if (configuration == null) {
             throw new GeneralException("Error loading configuration");
         }
+        final Key key = configuration.getKey(token.getKeyName());
+        if (key == null) {
+            LOGGER.error("Unknown key " + token.getKeyName());
+            return Boolean.FALSE;
+        }
         try {
             final TimeStamp now = timeStampFactory.createTimeStamp(System.currentTimeMillis() / 1000);
-            if (configuration.getKey(token.getKeyName()).getNotBefore().compareTo(now) > 0) {
+            if (key.getNotBefore().compareTo(now) > 0) {
                 return Boolean.FALSE;
             }
-            final Base64 decoder = new Base64();
-            final BigInteger exponent = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getExponent().getValue()));
-            final BigInteger modulus = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getSecret().getValue()));
-            final RSAPublicKeySpec pubKeySpec = new RSAPublicKeySpec(modulus, exponent);
-            final KeyFactory keyFactory = KeyFactory
-                    .getInstance(algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()));
-            final PublicKey pubKey = keyFactory.generatePublic(pubKeySpec);
-            final Signature sig = Signature
-                    .getInstance(algorithmConfigurationService.get().getAlgorithmMap().get(token.getAlgorithm().getName()));
+            final PublicKey pubKey = configuration.getPublicKey(token.getKeyName(), keyAlgorithm);
+            final Signature sig = getVerifier(algorithmConfiguration.getAlgorithmMap().get(algorithmName));
             sig.initVerify(pubKey);
             sig.update(token.getPayload().getValue().getBytes());
-            return sig.verify(decoder.decode(token.getSignature().getValue()));
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException | SignatureException | InvalidKeyException e) {
+            return sig.verify(DECODER.decode(token.getSignature().getValue()));
+        } catch (GeneralSecurityException e) {
             LOGGER.error(e.getMessage(), e);
             return Boolean.FALSE;
         }
     }
 
+    private Signature getVerifier(final String signatureAlgorithm) throws NoSuchAlgorithmException {
+        final Map<String, Signature> threadVerifiers = verifiers.get();
+        Signature sig = threadVerifiers.get(signatureAlgorithm);
+        if (sig == null) {
+            sig = Signature.getInstance(signatureAlgorithm);
+            threadVerifiers.put(signatureAlgorithm, sig);
+        }
+        return sig;
+    }
+
     @Override
     public Boolean validateAudience(final Token token) {
         if (token == null) {
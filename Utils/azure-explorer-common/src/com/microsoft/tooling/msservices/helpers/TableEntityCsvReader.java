@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers;
+
+import com.microsoft.tooling.msservices.model.storage.TableEntity;
+import com.microsoft.tooling.msservices.model.storage.TableEntity.Property;
+import com.microsoft.tooling.msservices.model.storage.TableEntity.PropertyType;
+import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read the table entities to import from CSV, the format exported by Storage Explorer.
+ *
+ * The header row names the PartitionKey, RowKey and the property columns, and the type of a property column could be
+ * given by a column named "Name@type", such as "Age@type" with the values like "Edm.Int32". The properties without
+ * type are strings, the empty values are skipped and the Timestamp column is ignored since it's set by the service.
+ */
+public class TableEntityCsvReader {
+    private static final String PARTITION_KEY = "PartitionKey";
+    private static final String ROW_KEY = "RowKey";
+    private static final String TIMESTAMP = "Timestamp";
+    private static final String TYPE_SUFFIX = "@type";
+    // Replace the existing entities unconditionally
+    private static final String ANY_ETAG = "*";
+
+    @NotNull
+    public static List<TableEntity> read(@NotNull Reader reader, @NotNull String tableName)
+            throws AzureCmdException {
+        List<List<String>> rows;
+
+        try {
+            rows = parseRows(reader);
+        } catch (IOException e) {
+            throw new AzureCmdException("Error reading the CSV file", e);
+        }
+
+        if (rows.isEmpty()) {
+            throw new AzureCmdException("The CSV file has no header row");
+        }
+
+        List<String> header = rows.get(0);
+        int partitionKeyColumn = header.indexOf(PARTITION_KEY);
+        int rowKeyColumn = header.indexOf(ROW_KEY);
+
+        if (partitionKeyColumn < 0 || rowKeyColumn < 0) {
+            throw new AzureCmdException("The CSV file must have the PartitionKey and RowKey columns");
+        }
+
+        List<TableEntity> tableEntities = new ArrayList<TableEntity>(rows.size() - 1);
+
+        for (int line = 1; line < rows.size(); line++) {
+            List<String> row = rows.get(line);
+
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                // Blank line
+                continue;
+            }
+
+            Map<String, Property> properties = new LinkedHashMap<String, Property>();
+
+            for (int column = 0; column < header.size() && column < row.size(); column++) {
+                String name = header.get(column);
+                String value = row.get(column);
+
+                if (column == partitionKeyColumn || column == rowKeyColumn || name.equals(TIMESTAMP)
+                        || name.endsWith(TYPE_SUFFIX) || value.isEmpty()) {
+                    continue;
+                }
+
+                int typeColumn = header.indexOf(name + TYPE_SUFFIX);
+                String type = (typeColumn >= 0 && typeColumn < row.size()) ? row.get(typeColumn) : "";
+
+                try {
+                    properties.put(name, getProperty(type, value));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    throw new AzureCmdException(String.format("Invalid value of the column %s at row %d", name, line), e);
+                }
+            }
+
+            tableEntities.add(new TableEntity(getValue(row, partitionKeyColumn), getValue(row, rowKeyColumn),
+                    tableName, ANY_ETAG, new GregorianCalendar(), properties));
+        }
+
+        return tableEntities;
+    }
+
+    @NotNull
+    private static Property getProperty(@NotNull String type, @NotNull String value) {
+        switch (getPropertyType(type)) {
+            case Boolean:
+                return new Property(Boolean.valueOf(value));
+            case DateTime:
+                return new Property(parseDateTime(value));
+            case Double:
+                return new Property(Double.valueOf(value));
+            case Uuid:
+                return new Property(UUID.fromString(value));
+            case Integer:
+                return new Property(Integer.valueOf(value));
+            case Long:
+                return new Property(Long.valueOf(value));
+            default:
+                return new Property(value);
+        }
+    }
+
+    /**
+     * Parse the ISO 8601 date time, such as 2020-01-01T00:00:00.000Z exported by Storage Explorer, the one without
+     * offset is in UTC as the Table service stores
+     */
+    @NotNull
+    private static GregorianCalendar parseDateTime(@NotNull String value) {
+        TemporalAccessor dateTime = DateTimeFormatter.ISO_DATE_TIME.parseBest(
+                value, ZonedDateTime::from, LocalDateTime::from);
+
+        return GregorianCalendar.from(dateTime instanceof ZonedDateTime
+                ? (ZonedDateTime) dateTime
+                : ((LocalDateTime) dateTime).atZone(ZoneOffset.UTC));
+    }
+
+    @NotNull
+    private static PropertyType getPropertyType(@NotNull String type) {
+        String edmType = type.startsWith("Edm.") ? type.substring("Edm.".length()) : type;
+
+        if (edmType.equalsIgnoreCase("Boolean")) {
+            return PropertyType.Boolean;
+        } else if (edmType.equalsIgnoreCase("DateTime")) {
+            return PropertyType.DateTime;
+        } else if (edmType.equalsIgnoreCase("Double")) {
+            return PropertyType.Double;
+        } else if (edmType.equalsIgnoreCase("Guid")) {
+            return PropertyType.Uuid;
+        } else if (edmType.equalsIgnoreCase("Int32")) {
+            return PropertyType.Integer;
+        } else if (edmType.equalsIgnoreCase("Int64")) {
+            return PropertyType.Long;
+        }
+
+        return PropertyType.String;
+    }
+
+    @NotNull
+    private static String getValue(@NotNull List<String> row, int column) {
+        return column < row.size() ? row.get(column) : "";
+    }
+
+    /**
+     * Parse the rows of RFC 4180 CSV, the quoted values could have commas, line breaks and doubled quotes
+     */
+    @NotNull
+    private static List<List<String>> parseRows(@NotNull Reader source) throws IOException {
+        // Look ahead one char to tell the doubled quotes
+        BufferedReader reader = new BufferedReader(source);
+        List<List<String>> rows = new ArrayList<List<String>>();
+        List<String> row = new ArrayList<String>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean hasInput = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            if (c == '\uFEFF' && rows.isEmpty() && !hasInput) {
+                // The byte order mark written by Excel
+                continue;
+            }
+
+            hasInput = true;
+
+            if (quoted) {
+                if (c != '"') {
+                    value.append((char) c);
+                    continue;
+                }
+
+                reader.mark(1);
+                int next = reader.read();
+
+                if (next == '"') {
+                    value.append('"');
+                } else {
+                    quoted = false;
+
+                    if (next != -1) {
+                        reader.reset();
+                    }
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                row.add(value.toString());
+                value.setLength(0);
+                rows.add(row);
+                row = new ArrayList<String>();
+                hasInput = false;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+        }
+
+        if (hasInput) {
+            row.add(value.toString());
+            rows.add(row);
+        }
+
+        return rows;
+    }
+}
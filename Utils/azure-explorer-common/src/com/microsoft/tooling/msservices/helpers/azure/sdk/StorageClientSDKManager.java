@@ -6,7 +6,12 @@
 package com.microsoft.tooling.msservices.helpers.azure.sdk;
 
 import com.google.common.base.Strings;
+import com.microsoft.azure.storage.AccessCondition;
 import com.microsoft.azure.storage.CloudStorageAccount;
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultContinuationType;
+import com.microsoft.azure.storage.ResultSegment;
+import com.microsoft.azure.storage.RetryExponentialRetry;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.*;
 import com.microsoft.azure.storage.core.Base64;
@@ -21,12 +26,15 @@ import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
 import com.microsoft.tooling.msservices.model.storage.BlobFile;
 import com.microsoft.tooling.msservices.model.storage.BlobItem;
+import com.microsoft.tooling.msservices.model.storage.BlobItemSegment;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.microsoft.tooling.msservices.model.storage.Queue;
 import com.microsoft.tooling.msservices.model.storage.QueueMessage;
 import com.microsoft.tooling.msservices.model.storage.Table;
 import com.microsoft.tooling.msservices.model.storage.TableEntity;
 import com.microsoft.tooling.msservices.model.storage.TableEntity.Property;
+import com.microsoft.tooling.msservices.model.storage.TableEntityOperationResult;
+import com.microsoft.tooling.msservices.model.storage.TableEntitySegment;
 import com.microsoft.azure.management.storage.StorageAccount;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -34,14 +42,51 @@ import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import com.microsoft.azuretools.utils.StorageAccoutUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.security.InvalidKeyException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class StorageClientSDKManager {
+    // The transactional MD5 of a ranged download is only supported for the ranges up to 4 MB
+    public static final int DEFAULT_TRANSFER_BLOCK_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_TRANSFER_CONCURRENCY = 4;
+    public static final int DEFAULT_BLOB_LIST_PAGE_SIZE = 500;
+    // The service returns at most 1000 entities in a page
+    public static final int DEFAULT_TABLE_QUERY_PAGE_SIZE = 1000;
+    // An entity group transaction has at most 100 entities of the same partition key
+    public static final int MAX_TABLE_BATCH_SIZE = 100;
+    public static final int DEFAULT_TABLE_BATCH_CONCURRENCY = 4;
+    private static final int TABLE_BATCH_RETRY_DELTA_BACKOFF_MS = 2000;
+    private static final int TABLE_BATCH_RETRY_MAX_ATTEMPTS = 5;
+    // The service returns at most 32 messages in a request
+    public static final int MAX_QUEUE_MESSAGES_PER_REQUEST = 32;
+    public static final int DEFAULT_QUEUE_CONCURRENCY = 8;
+    // The browsed messages are hidden for the base timeout plus the time per page, so that they don't reappear
+    // before all pages are read
+    private static final int QUEUE_BROWSE_VISIBILITY_TIMEOUT_SECONDS = 60;
+    private static final int QUEUE_BROWSE_VISIBILITY_TIMEOUT_SECONDS_PER_PAGE = 2;
+    private static final int MAX_QUEUE_VISIBILITY_TIMEOUT_SECONDS = 7 * 24 * 60 * 60;
+    private static final int QUEUE_DEQUEUE_VISIBILITY_TIMEOUT_SECONDS = 30;
+
     private static StorageClientSDKManager apiManager;
 
     private StorageClientSDKManager() {
@@ -223,57 +268,67 @@ public class StorageClientSDKManager {
             CloudBlobDirectory directory = container.getDirectoryReference(blobDirectory.getPath());
 
             for (ListBlobItem item : directory.listBlobs()) {
-                String uri = item.getUri() != null ? item.getUri().toString() : "";
-
-                if (item instanceof CloudBlobDirectory) {
-                    CloudBlobDirectory subDirectory = (CloudBlobDirectory) item;
-
-                    String name = extractBlobItemName(subDirectory.getPrefix(), delimiter);
-                    String path = Strings.nullToEmpty(subDirectory.getPrefix());
-
-                    biList.add(new BlobDirectory(name, uri, containerName, path));
-                } else if (item instanceof CloudBlob) {
-                    CloudBlob blob = (CloudBlob) item;
-
-                    String name = extractBlobItemName(blob.getName(), delimiter);
-                    String path = Strings.nullToEmpty(blob.getName());
-                    String type = "";
-                    String cacheControlHeader = "";
-                    String contentEncoding = "";
-                    String contentLanguage = "";
-                    String contentType = "";
-                    String contentMD5Header = "";
-                    String eTag = "";
-                    Calendar lastModified = new GregorianCalendar();
-                    long size = 0;
-
-                    BlobProperties properties = blob.getProperties();
-
-                    if (properties != null) {
-                        if (properties.getBlobType() != null) {
-                            type = properties.getBlobType().toString();
-                        }
+                BlobItem blobItem = toBlobItem(item, containerName, delimiter);
 
-                        cacheControlHeader = Strings.nullToEmpty(properties.getCacheControl());
-                        contentEncoding = Strings.nullToEmpty(properties.getContentEncoding());
-                        contentLanguage = Strings.nullToEmpty(properties.getContentLanguage());
-                        contentType = Strings.nullToEmpty(properties.getContentType());
-                        contentMD5Header = Strings.nullToEmpty(properties.getContentMD5());
-                        eTag = Strings.nullToEmpty(properties.getEtag());
+                if (blobItem != null) {
+                    biList.add(blobItem);
+                }
+            }
 
-                        if (properties.getLastModified() != null) {
-                            lastModified.setTime(properties.getLastModified());
-                        }
+            return biList;
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error retrieving the Blob Item list", t);
+        }
+    }
 
-                        size = properties.getLength();
-                    }
+    /**
+     * List a page of the blob items in the directory, rather than all of them
+     *
+     * @param prefix the name prefix of the items to list, which is filtered by the service
+     * @param marker the marker returned with the previous page, null to list the first page
+     * @param pageSize the max count of the items in the page, up to 5000
+     */
+    @NotNull
+    public BlobItemSegment listBlobsSegmented(@NotNull String connectionString,
+                                              @NotNull BlobDirectory blobDirectory,
+                                              @Nullable String prefix,
+                                              @Nullable String marker,
+                                              int pageSize)
+            throws AzureCmdException {
+        try {
+            CloudBlobClient client = getCloudBlobClient(connectionString);
+            String containerName = blobDirectory.getContainerName();
+            String delimiter = client.getDirectoryDelimiter();
 
-                    biList.add(new BlobFile(name, uri, containerName, path, type, cacheControlHeader, contentEncoding,
-                            contentLanguage, contentType, contentMD5Header, eTag, lastModified, size));
+            CloudBlobContainer container = client.getContainerReference(containerName);
+            CloudBlobDirectory directory = container.getDirectoryReference(blobDirectory.getPath());
+
+            ResultContinuation continuationToken = null;
+
+            if (!Strings.isNullOrEmpty(marker)) {
+                continuationToken = new ResultContinuation();
+                continuationToken.setContinuationType(ResultContinuationType.BLOB);
+                continuationToken.setNextMarker(marker);
+            }
+
+            ResultSegment<ListBlobItem> segment = directory.listBlobsSegmented(Strings.nullToEmpty(prefix), false,
+                    EnumSet.noneOf(BlobListingDetails.class), pageSize, continuationToken, null, null);
+
+            List<BlobItem> biList = new ArrayList<BlobItem>(segment.getLength());
+
+            for (ListBlobItem item : segment.getResults()) {
+                BlobItem blobItem = toBlobItem(item, containerName, delimiter);
+
+                if (blobItem != null) {
+                    biList.add(blobItem);
                 }
             }
 
-            return biList;
+            String nextMarker = segment.getHasMoreResults() && segment.getContinuationToken() != null
+                    ? Strings.emptyToNull(segment.getContinuationToken().getNextMarker())
+                    : null;
+
+            return new BlobItemSegment(biList, nextMarker);
         } catch (Throwable t) {
             throw new AzureCmdException("Error retrieving the Blob Item list", t);
         }
@@ -351,40 +406,85 @@ public class StorageClientSDKManager {
                                       long maxBlockSize,
                                       long length)
             throws AzureCmdException {
+        uploadBlobFileContent(connectionString, blobContainer, filePath, content, processBlock, maxBlockSize, length,
+                DEFAULT_TRANSFER_CONCURRENCY);
+    }
+
+    /**
+     * Upload the content as blocks in parallel, and commit them in order. The content is read sequentially, and at
+     * most {@code concurrency} blocks are held in memory. Each block is sent with its MD5 for the service to verify.
+     *
+     * @param processBlock the callback of the uploaded bytes, called after each block is uploaded
+     */
+    public void uploadBlobFileContent(@NotNull String connectionString,
+                                      @NotNull BlobContainer blobContainer,
+                                      @NotNull String filePath,
+                                      @NotNull InputStream content,
+                                      @Nullable CallableSingleArg<Void, Long> processBlock,
+                                      long maxBlockSize,
+                                      long length,
+                                      int concurrency)
+            throws AzureCmdException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+
         try {
             CloudBlobClient client = getCloudBlobClient(connectionString);
             String containerName = blobContainer.getName();
 
-            CloudBlobContainer container = client.getContainerReference(containerName);
+            final CloudBlobContainer container = client.getContainerReference(containerName);
             final CloudBlockBlob blob = container.getBlockBlobReference(filePath);
-            long uploadedBytes = 0;
+            final BlobRequestOptions options = getTransferRequestOptions();
+            // The permits bound the blocks read but not uploaded yet
+            final Semaphore inFlightBlocks = new Semaphore(Math.max(1, concurrency));
+            final AtomicLong uploadedBytes = new AtomicLong(0);
+            final DataInputStream input = new DataInputStream(content);
+            long readBytes = 0;
 
             ArrayList<BlockEntry> blockEntries = new ArrayList<BlockEntry>();
+            List<Future<Void>> uploads = new ArrayList<Future<Void>>();
 
-            while (uploadedBytes < length) {
+            if (processBlock != null) {
+                processBlock.call(0L);
+            }
+
+            while (readBytes < length) {
                 String blockId = Base64.encode(UUID.randomUUID().toString().getBytes());
-                BlockEntry entry = new BlockEntry(blockId, BlockSearchMode.UNCOMMITTED);
+                final BlockEntry entry = new BlockEntry(blockId, BlockSearchMode.UNCOMMITTED);
 
-                long blockSize = maxBlockSize;
-                if (length - uploadedBytes <= maxBlockSize) {
-                    blockSize = length - uploadedBytes;
-                }
+                inFlightBlocks.acquire();
+                checkTransfers(uploads);
 
-                if (processBlock != null) {
-                    processBlock.call(uploadedBytes);
-                }
+                final byte[] block = new byte[(int) Math.min(maxBlockSize, length - readBytes)];
+                input.readFully(block);
 
-                entry.setSize(blockSize);
+                entry.setSize(block.length);
 
                 blockEntries.add(entry);
-                blob.uploadBlock(entry.getId(), content, blockSize);
-                uploadedBytes += blockSize;
+                uploads.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        try {
+                            container.getBlockBlobReference(filePath)
+                                     .uploadBlock(entry.getId(), new ByteArrayInputStream(block), block.length,
+                                                  null, options, null);
+                        } finally {
+                            inFlightBlocks.release();
+                        }
+
+                        reportTransferred(processBlock, uploadedBytes.addAndGet(block.length));
+
+                        return null;
+                    }
+                }));
+                readBytes += block.length;
             }
 
+            awaitTransfers(uploads);
             blob.commitBlockList(blockEntries);
-
         } catch (Throwable t) {
-            throw new AzureCmdException("Error uploading the Blob File content", t);
+            throw new AzureCmdException("Error uploading the Blob File content", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -406,6 +506,70 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Download the blob into the file with parallel ranged GETs, each range is written to its position of the file
+     * pre-sized to the blob length. All ranges are read from the same blob version, and verified by their MD5.
+     *
+     * @param processBlock the callback of the downloaded bytes, called after each range is written
+     */
+    public void downloadBlobFileContent(@NotNull String connectionString,
+                                        @NotNull BlobFile blobFile,
+                                        @NotNull File target,
+                                        @Nullable CallableSingleArg<Void, Long> processBlock)
+            throws AzureCmdException {
+        final ExecutorService executor = Executors.newFixedThreadPool(DEFAULT_TRANSFER_CONCURRENCY);
+
+        try (RandomAccessFile file = new RandomAccessFile(target, "rw")) {
+            CloudBlobClient client = getCloudBlobClient(connectionString);
+            String containerName = blobFile.getContainerName();
+
+            final CloudBlobContainer container = client.getContainerReference(containerName);
+
+            CloudBlob blob = getCloudBlob(container, blobFile);
+            blob.downloadAttributes();
+
+            final long length = blob.getProperties().getLength();
+            final AccessCondition sameVersion = AccessCondition.generateIfMatchCondition(blob.getProperties().getEtag());
+            final BlobRequestOptions options = getTransferRequestOptions();
+            final FileChannel channel = file.getChannel();
+            final AtomicLong downloadedBytes = new AtomicLong(0);
+
+            file.setLength(length);
+
+            List<Future<Void>> downloads = new ArrayList<Future<Void>>();
+
+            for (long offset = 0; offset < length; offset += DEFAULT_TRANSFER_BLOCK_SIZE) {
+                final long rangeOffset = offset;
+                final int rangeLength = (int) Math.min(DEFAULT_TRANSFER_BLOCK_SIZE, length - offset);
+
+                downloads.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        // The blob reference isn't thread safe, since the download updates its properties
+                        final byte[] buffer = new byte[rangeLength];
+                        final int read = getCloudBlob(container, blobFile).downloadRangeToByteArray(
+                                rangeOffset, (long) rangeLength, buffer, 0, sameVersion, options, null);
+                        final ByteBuffer range = ByteBuffer.wrap(buffer, 0, read);
+
+                        while (range.hasRemaining()) {
+                            channel.write(range, rangeOffset + range.position());
+                        }
+
+                        reportTransferred(processBlock, downloadedBytes.addAndGet(read));
+
+                        return null;
+                    }
+                }));
+            }
+
+            awaitTransfers(downloads);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error downloading the Blob File content", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @NotNull
     public List<Queue> getQueues(@NotNull StorageAccount storageAccount)
             throws AzureCmdException {
@@ -474,25 +638,8 @@ public class StorageClientSDKManager {
 
             CloudQueue cloudQueue = client.getQueueReference(queueName);
 
-            for (CloudQueueMessage cqm : cloudQueue.peekMessages(32)) {
-                String id = Strings.nullToEmpty(cqm.getId());
-                String content = Strings.nullToEmpty(cqm.getMessageContentAsString());
-
-                Calendar insertionTime = new GregorianCalendar();
-
-                if (cqm.getInsertionTime() != null) {
-                    insertionTime.setTime(cqm.getInsertionTime());
-                }
-
-                Calendar expirationTime = new GregorianCalendar();
-
-                if (cqm.getExpirationTime() != null) {
-                    expirationTime.setTime(cqm.getExpirationTime());
-                }
-
-                int dequeueCount = cqm.getDequeueCount();
-
-                qmList.add(new QueueMessage(id, queueName, content, insertionTime, expirationTime, dequeueCount));
+            for (CloudQueueMessage cqm : cloudQueue.peekMessages(MAX_QUEUE_MESSAGES_PER_REQUEST)) {
+                qmList.add(getQueueMessage(queueName, cqm));
             }
 
             return qmList;
@@ -570,6 +717,305 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Browse the messages beyond the 32 ones which could be peeked, by retrieving the messages page by page. The
+     * retrieved messages are hidden until all pages are read so the next page gets the following messages, then they
+     * are made visible again.
+     *
+     * WARNING: browsing is not read-only, the dequeue count of every browsed message is increased by one, and the
+     * messages are invisible to other consumers while browsing. A message could be moved to the poison queue by its
+     * consumer after that, so the caller must opt in with {@code allowDequeueCountIncrease}, or use
+     * {@link #getQueueMessages(StorageAccount, Queue)} to peek without side effects.
+     *
+     * @param maxMessages the max count of the messages to browse
+     * @param allowDequeueCountIncrease the opt-in of increasing the dequeue count of the browsed messages
+     */
+    @NotNull
+    public List<QueueMessage> browseQueueMessages(@NotNull StorageAccount storageAccount,
+                                                  @NotNull Queue queue,
+                                                  int maxMessages,
+                                                  boolean allowDequeueCountIncrease)
+            throws AzureCmdException {
+        if (!allowDequeueCountIncrease) {
+            throw new AzureCmdException("Browsing the Queue Messages increases their dequeue count, "
+                    + "which must be allowed explicitly");
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(DEFAULT_QUEUE_CONCURRENCY);
+
+        try {
+            CloudQueueClient client = getCloudQueueClient(storageAccount);
+            String queueName = queue.getName();
+            int visibilityTimeout = getBrowseVisibilityTimeoutSeconds(maxMessages);
+
+            final CloudQueue cloudQueue = client.getQueueReference(queueName);
+            // Message ID -> the last retrieved message, whose pop receipt is the valid one to release it
+            Map<String, CloudQueueMessage> retrieved = new LinkedHashMap<String, CloudQueueMessage>();
+            List<QueueMessage> qmList = new ArrayList<QueueMessage>();
+            boolean isInterrupted = false;
+
+            try {
+                while (qmList.size() < maxMessages && !Thread.currentThread().isInterrupted()) {
+                    int pageSize = Math.min(MAX_QUEUE_MESSAGES_PER_REQUEST, maxMessages - qmList.size());
+                    int retrievedCount = 0;
+                    int newCount = 0;
+
+                    for (CloudQueueMessage cqm : cloudQueue.retrieveMessages(pageSize, visibilityTimeout, null, null)) {
+                        retrievedCount++;
+
+                        // A message reappears if its visibility timeout expires before all pages are read
+                        if (retrieved.put(cqm.getId(), cqm) == null) {
+                            qmList.add(getQueueMessage(queueName, cqm));
+                            newCount++;
+                        }
+                    }
+
+                    if (retrievedCount < pageSize || newCount == 0) {
+                        break;
+                    }
+                }
+            } finally {
+                // Release the browsed messages even if interrupted, or they are hidden for the whole timeout
+                isInterrupted = Thread.interrupted();
+                List<Future<Void>> releases = new ArrayList<Future<Void>>();
+
+                for (final CloudQueueMessage cqm : retrieved.values()) {
+                    releases.add(executor.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            try {
+                                cloudQueue.updateMessage(cqm, 0);
+                            } catch (StorageException e) {
+                                // Deleted by a consumer meanwhile, or retrieved again by it with a new pop receipt
+                                if (e.getHttpStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                                    throw e;
+                                }
+                            }
+
+                            return null;
+                        }
+                    }));
+                }
+
+                try {
+                    awaitTransfers(releases);
+                } finally {
+                    if (isInterrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            if (isInterrupted) {
+                throw new InterruptedException("Browsing the Queue Messages is interrupted");
+            }
+
+            return qmList;
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error browsing the Queue Messages", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Dequeue and delete the messages in parallel, until the max count is reached or the queue is empty
+     *
+     * @param processBlock called with the count of the dequeued messages
+     * @return the count of the dequeued messages
+     */
+    public int dequeueQueueMessages(@NotNull StorageAccount storageAccount,
+                                    @NotNull Queue queue,
+                                    int maxMessages,
+                                    @Nullable final CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        final ExecutorService executor = Executors.newFixedThreadPool(DEFAULT_QUEUE_CONCURRENCY);
+
+        try {
+            CloudQueueClient client = getCloudQueueClient(storageAccount);
+
+            final CloudQueue cloudQueue = client.getQueueReference(queue.getName());
+            final AtomicInteger remainingCount = new AtomicInteger(maxMessages);
+            final AtomicInteger dequeuedCount = new AtomicInteger(0);
+
+            List<Future<Void>> dequeues = new ArrayList<Future<Void>>();
+
+            for (int i = 0; i < DEFAULT_QUEUE_CONCURRENCY; i++) {
+                dequeues.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        int claimedCount;
+
+                        while ((claimedCount = claimQueueMessages(remainingCount)) > 0
+                                && !Thread.currentThread().isInterrupted()) {
+                            int retrievedCount = 0;
+
+                            for (CloudQueueMessage cqm : cloudQueue.retrieveMessages(
+                                    claimedCount, QUEUE_DEQUEUE_VISIBILITY_TIMEOUT_SECONDS, null, null)) {
+                                cloudQueue.deleteMessage(cqm);
+                                retrievedCount++;
+                            }
+
+                            if (retrievedCount > 0) {
+                                reportProcessed(processBlock, dequeuedCount, retrievedCount);
+                            }
+
+                            if (retrievedCount < claimedCount) {
+                                // The queue is drained, or the rest are hidden by other consumers
+                                remainingCount.addAndGet(claimedCount - retrievedCount);
+                                break;
+                            }
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            awaitTransfers(dequeues);
+
+            return dequeuedCount.get();
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error dequeuing the Queue Messages", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Enqueue the messages with concurrent senders, the order of the messages is not kept
+     *
+     * @param processBlock called with the count of the sent messages
+     */
+    public void createQueueMessages(@NotNull StorageAccount storageAccount,
+                                    @NotNull Queue queue,
+                                    @NotNull final List<String> contents,
+                                    final int timeToLiveInSeconds,
+                                    @Nullable final CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(DEFAULT_QUEUE_CONCURRENCY, contents.size())));
+
+        try {
+            CloudQueueClient client = getCloudQueueClient(storageAccount);
+
+            final CloudQueue cloudQueue = client.getQueueReference(queue.getName());
+            final AtomicInteger nextIndex = new AtomicInteger(0);
+            final AtomicInteger sentCount = new AtomicInteger(0);
+
+            List<Future<Void>> sends = new ArrayList<Future<Void>>();
+
+            for (int i = 0; i < DEFAULT_QUEUE_CONCURRENCY && i < contents.size(); i++) {
+                sends.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        int index;
+
+                        while ((index = nextIndex.getAndIncrement()) < contents.size()
+                                && !Thread.currentThread().isInterrupted()) {
+                            cloudQueue.addMessage(new CloudQueueMessage(contents.get(index)),
+                                    timeToLiveInSeconds, 0, null, null);
+                            reportProcessed(processBlock, sentCount, 1);
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            awaitTransfers(sends);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error creating the Queue Messages", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Enqueue each non-empty line of the UTF-8 file as a message
+     *
+     * @param processBlock called with the count of the sent messages
+     */
+    public void createQueueMessages(@NotNull StorageAccount storageAccount,
+                                    @NotNull Queue queue,
+                                    @NotNull File file,
+                                    int timeToLiveInSeconds,
+                                    @Nullable CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        List<String> contents = new ArrayList<String>();
+
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    contents.add(line);
+                }
+            }
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error reading the Queue Messages file", t);
+        }
+
+        createQueueMessages(storageAccount, queue, contents, timeToLiveInSeconds, processBlock);
+    }
+
+    /**
+     * Sample the approximate message count of the queue, which is cheap enough to poll for the live count
+     */
+    public long getApproximateMessageCount(@NotNull StorageAccount storageAccount, @NotNull Queue queue)
+            throws AzureCmdException {
+        try {
+            CloudQueueClient client = getCloudQueueClient(storageAccount);
+
+            CloudQueue cloudQueue = client.getQueueReference(queue.getName());
+            cloudQueue.downloadAttributes();
+
+            return cloudQueue.getApproximateMessageCount();
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error retrieving the Queue approximate message count", t);
+        }
+    }
+
+    static int getBrowseVisibilityTimeoutSeconds(int maxMessages) {
+        long pages = (Math.max(0, (long) maxMessages) + MAX_QUEUE_MESSAGES_PER_REQUEST - 1)
+                / MAX_QUEUE_MESSAGES_PER_REQUEST;
+
+        return (int) Math.min(MAX_QUEUE_VISIBILITY_TIMEOUT_SECONDS,
+                QUEUE_BROWSE_VISIBILITY_TIMEOUT_SECONDS + pages * QUEUE_BROWSE_VISIBILITY_TIMEOUT_SECONDS_PER_PAGE);
+    }
+
+    static int claimQueueMessages(@NotNull AtomicInteger remainingCount) {
+        while (true) {
+            int remaining = remainingCount.get();
+            int claimed = Math.min(MAX_QUEUE_MESSAGES_PER_REQUEST, remaining);
+
+            if (claimed <= 0 || remainingCount.compareAndSet(remaining, remaining - claimed)) {
+                return Math.max(0, claimed);
+            }
+        }
+    }
+
+    @NotNull
+    private static QueueMessage getQueueMessage(@NotNull String queueName, @NotNull CloudQueueMessage cqm)
+            throws StorageException {
+        String id = Strings.nullToEmpty(cqm.getId());
+        String content = Strings.nullToEmpty(cqm.getMessageContentAsString());
+
+        Calendar insertionTime = new GregorianCalendar();
+
+        if (cqm.getInsertionTime() != null) {
+            insertionTime.setTime(cqm.getInsertionTime());
+        }
+
+        Calendar expirationTime = new GregorianCalendar();
+
+        if (cqm.getExpirationTime() != null) {
+            expirationTime.setTime(cqm.getExpirationTime());
+        }
+
+        int dequeueCount = cqm.getDequeueCount();
+
+        return new QueueMessage(id, queueName, content, insertionTime, expirationTime, dequeueCount);
+    }
+
     @NotNull
     public List<Table> getTables(@NotNull StorageAccount storageAccount)
             throws AzureCmdException {
@@ -628,27 +1074,75 @@ public class StorageClientSDKManager {
     public List<TableEntity> getTableEntities(@NotNull StorageAccount storageAccount, @NotNull Table table,
                                               @NotNull String filter)
             throws AzureCmdException {
-        List<TableEntity> teList = new ArrayList<TableEntity>();
+        final List<TableEntity> teList = new ArrayList<TableEntity>();
+
+        queryTableEntities(storageAccount, table, filter, null, DEFAULT_TABLE_QUERY_PAGE_SIZE,
+                new CallableSingleArg<Boolean, TableEntitySegment>() {
+                    @Override
+                    public Boolean call(TableEntitySegment segment) {
+                        teList.addAll(segment.getTableEntities());
+
+                        return true;
+                    }
+                });
 
+        return teList;
+    }
+
+    /**
+     * Query the table entities page by page, each page is handled before the next one is queried
+     *
+     * @param columns the property names to select, null to select all, the keys and timestamp are always selected
+     * @param pageHandler returns false to stop querying the remaining pages, so does interrupting the thread
+     */
+    public void queryTableEntities(@NotNull StorageAccount storageAccount,
+                                   @NotNull Table table,
+                                   @NotNull String filter,
+                                   @Nullable String[] columns,
+                                   int pageSize,
+                                   @NotNull CallableSingleArg<Boolean, TableEntitySegment> pageHandler)
+            throws AzureCmdException {
         try {
             CloudTableClient client = getCloudTableClient(storageAccount);
-            String tableName = table.getName();
-            CloudTable cloudTable = client.getTableReference(tableName);
+            CloudTable cloudTable = client.getTableReference(table.getName());
+            TableQuery<DynamicTableEntity> tableQuery = getTableQuery(filter, columns, pageSize);
 
-            TableQuery<DynamicTableEntity> tableQuery = TableQuery.from(DynamicTableEntity.class);
+            TableEntitySegment segment = null;
 
-            if (!filter.isEmpty()) {
-                tableQuery.where(filter);
-            }
+            do {
+                segment = executeTableQuerySegmented(cloudTable, tableQuery, segment);
+            } while (Boolean.TRUE.equals(pageHandler.call(segment))
+                    && segment.hasMoreResults()
+                    && !Thread.currentThread().isInterrupted());
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error retrieving the Table Entity list", t);
+        }
+    }
 
-            TableRequestOptions tro = new TableRequestOptions();
-            tro.setTablePayloadFormat(TablePayloadFormat.JsonFullMetadata);
+    /**
+     * Query a page of the table entities, rather than all of them
+     *
+     * @param columns the property names to select, null to select all, the keys and timestamp are always selected
+     * @param previousSegment the page queried before, null to query the first page
+     * @param pageSize the max count of the entities in the page, up to 1000
+     */
+    @NotNull
+    public TableEntitySegment queryTableEntitiesSegmented(@NotNull StorageAccount storageAccount,
+                                                          @NotNull Table table,
+                                                          @NotNull String filter,
+                                                          @Nullable String[] columns,
+                                                          @Nullable TableEntitySegment previousSegment,
+                                                          int pageSize)
+            throws AzureCmdException {
+        if (previousSegment != null && !previousSegment.hasMoreResults()) {
+            return new TableEntitySegment(new ArrayList<TableEntity>(), null, null);
+        }
 
-            for (DynamicTableEntity dte : cloudTable.execute(tableQuery, tro, null)) {
-                teList.add(getTableEntity(tableName, dte));
-            }
+        try {
+            CloudTableClient client = getCloudTableClient(storageAccount);
+            CloudTable cloudTable = client.getTableReference(table.getName());
 
-            return teList;
+            return executeTableQuerySegmented(cloudTable, getTableQuery(filter, columns, pageSize), previousSegment);
         } catch (Throwable t) {
             throw new AzureCmdException("Error retrieving the Table Entity list", t);
         }
@@ -715,6 +1209,222 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Insert the entities or replace the existing ones with the same keys, such as importing entities
+     *
+     * @param processBlock called with the count of the processed entities
+     * @return the results in the order of the entities
+     */
+    @NotNull
+    public List<TableEntityOperationResult> insertOrReplaceTableEntities(
+            @NotNull StorageAccount storageAccount,
+            @NotNull String tableName,
+            @NotNull List<TableEntity> tableEntities,
+            @Nullable CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        return executeTableEntityBatches(storageAccount, tableName, tableEntities,
+                TableEntityOperationType.INSERT_OR_REPLACE, processBlock);
+    }
+
+    /**
+     * Replace the entities, which fails the ones changed by others after being queried
+     *
+     * @param processBlock called with the count of the processed entities
+     * @return the results in the order of the entities
+     */
+    @NotNull
+    public List<TableEntityOperationResult> updateTableEntities(
+            @NotNull StorageAccount storageAccount,
+            @NotNull String tableName,
+            @NotNull List<TableEntity> tableEntities,
+            @Nullable CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        return executeTableEntityBatches(storageAccount, tableName, tableEntities,
+                TableEntityOperationType.REPLACE, processBlock);
+    }
+
+    /**
+     * Delete the entities, which fails the ones changed by others after being queried
+     *
+     * @param processBlock called with the count of the processed entities
+     * @return the results in the order of the entities
+     */
+    @NotNull
+    public List<TableEntityOperationResult> deleteTableEntities(
+            @NotNull StorageAccount storageAccount,
+            @NotNull String tableName,
+            @NotNull List<TableEntity> tableEntities,
+            @Nullable CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        return executeTableEntityBatches(storageAccount, tableName, tableEntities,
+                TableEntityOperationType.DELETE, processBlock);
+    }
+
+    /**
+     * Group the entities by partition key into entity group transactions, and run the transactions in parallel
+     */
+    @NotNull
+    private static List<TableEntityOperationResult> executeTableEntityBatches(
+            @NotNull StorageAccount storageAccount,
+            @NotNull String tableName,
+            @NotNull final List<TableEntity> tableEntities,
+            @NotNull final TableEntityOperationType operationType,
+            @Nullable final CallableSingleArg<Void, Integer> processBlock)
+            throws AzureCmdException {
+        final TableEntityOperationResult[] results = new TableEntityOperationResult[tableEntities.size()];
+        Map<String, List<Integer>> partitions = new LinkedHashMap<String, List<Integer>>();
+
+        for (int i = 0; i < tableEntities.size(); i++) {
+            String partitionKey = tableEntities.get(i).getPartitionKey();
+
+            if (!partitions.containsKey(partitionKey)) {
+                partitions.put(partitionKey, new ArrayList<Integer>());
+            }
+
+            partitions.get(partitionKey).add(i);
+        }
+
+        List<List<Integer>> batches = new ArrayList<List<Integer>>();
+
+        for (List<Integer> partition : partitions.values()) {
+            for (int start = 0; start < partition.size(); start += MAX_TABLE_BATCH_SIZE) {
+                batches.add(partition.subList(start, Math.min(partition.size(), start + MAX_TABLE_BATCH_SIZE)));
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(DEFAULT_TABLE_BATCH_CONCURRENCY, batches.size())));
+
+        try {
+            CloudTableClient client = getCloudTableClient(storageAccount);
+            final CloudTable cloudTable = client.getTableReference(tableName);
+            final TableRequestOptions tro = getTableBatchRequestOptions();
+            final AtomicInteger processedCount = new AtomicInteger(0);
+
+            List<Future<Void>> executions = new ArrayList<Future<Void>>();
+
+            for (final List<Integer> batch : batches) {
+                executions.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        executeTableEntityBatch(cloudTable, tro, tableEntities, batch, operationType, results);
+                        reportProcessed(processBlock, processedCount, batch.size());
+
+                        return null;
+                    }
+                }));
+            }
+
+            awaitTransfers(executions);
+
+            return Arrays.asList(results);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error executing the Table Entity batches", unwrapTransferError(t));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void executeTableEntityBatch(@NotNull CloudTable cloudTable,
+                                                @NotNull TableRequestOptions tro,
+                                                @NotNull List<TableEntity> tableEntities,
+                                                @NotNull List<Integer> batch,
+                                                @NotNull TableEntityOperationType operationType,
+                                                @NotNull TableEntityOperationResult[] results) {
+        TableBatchOperation batchOperation = new TableBatchOperation();
+        List<Integer> batchedIndexes = new ArrayList<Integer>(batch.size());
+
+        for (int index : batch) {
+            try {
+                batchOperation.add(operationType.create(getDynamicTableEntity(tableEntities.get(index))));
+                batchedIndexes.add(index);
+            } catch (Throwable t) {
+                results[index] = new TableEntityOperationResult(tableEntities.get(index), null, t);
+            }
+        }
+
+        if (batchedIndexes.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<TableResult> tableResults = cloudTable.execute(batchOperation, tro, null);
+
+            for (int i = 0; i < batchedIndexes.size(); i++) {
+                int index = batchedIndexes.get(i);
+                results[index] = getTableEntityOperationResult(
+                        cloudTable.getName(), tableEntities.get(index), operationType, tableResults.get(i));
+            }
+        } catch (Throwable t) {
+            boolean isEntityError = t instanceof StorageException
+                    && ((StorageException) t).getHttpStatusCode() >= 400
+                    && ((StorageException) t).getHttpStatusCode() < 500;
+
+            if (!isEntityError || batchedIndexes.size() == 1) {
+                for (int index : batchedIndexes) {
+                    results[index] = new TableEntityOperationResult(tableEntities.get(index), null, t);
+                }
+
+                return;
+            }
+
+            // The whole transaction is rolled back by any failed entity, so find out the failed ones one by one
+            for (int index : batchedIndexes) {
+                TableEntity tableEntity = tableEntities.get(index);
+
+                try {
+                    TableResult tableResult = cloudTable.execute(
+                            operationType.create(getDynamicTableEntity(tableEntity)), tro, null);
+                    results[index] = getTableEntityOperationResult(
+                            cloudTable.getName(), tableEntity, operationType, tableResult);
+                } catch (Throwable entityError) {
+                    results[index] = new TableEntityOperationResult(tableEntity, null, entityError);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static TableEntityOperationResult getTableEntityOperationResult(@NotNull String tableName,
+                                                                            @NotNull TableEntity tableEntity,
+                                                                            @NotNull TableEntityOperationType operationType,
+                                                                            @NotNull TableResult tableResult) {
+        Object resultEntity = tableResult.getResult();
+
+        return operationType != TableEntityOperationType.DELETE && resultEntity instanceof DynamicTableEntity
+               ? new TableEntityOperationResult(tableEntity, getTableEntity(tableName, (DynamicTableEntity) resultEntity), null)
+               : new TableEntityOperationResult(tableEntity, null, null);
+    }
+
+    @NotNull
+    private static TableRequestOptions getTableBatchRequestOptions() {
+        TableRequestOptions tro = new TableRequestOptions();
+        tro.setTablePayloadFormat(TablePayloadFormat.JsonMinimalMetadata);
+        // Back off the throttled transactions, which fail with server busy
+        tro.setRetryPolicyFactory(new RetryExponentialRetry(TABLE_BATCH_RETRY_DELTA_BACKOFF_MS,
+                                                            TABLE_BATCH_RETRY_MAX_ATTEMPTS));
+
+        return tro;
+    }
+
+    private enum TableEntityOperationType {
+        INSERT_OR_REPLACE,
+        REPLACE,
+        DELETE;
+
+        @NotNull
+        TableOperation create(@NotNull DynamicTableEntity entity) {
+            switch (this) {
+                case INSERT_OR_REPLACE:
+                    return TableOperation.insertOrReplace(entity);
+                case REPLACE:
+                    return TableOperation.replace(entity);
+                default:
+                    return TableOperation.delete(entity);
+            }
+        }
+    }
+
     @NotNull
     public static String getConnectionString(StorageAccount storageAccount) {
         String accountName = storageAccount.name();
@@ -751,6 +1461,69 @@ public class StorageClientSDKManager {
         return csa.createCloudBlobClient();
     }
 
+    @NotNull
+    private static BlobRequestOptions getTransferRequestOptions() {
+        BlobRequestOptions options = new BlobRequestOptions();
+        options.setUseTransactionalContentMD5(true);
+
+        return options;
+    }
+
+    private static void reportTransferred(@Nullable CallableSingleArg<Void, Long> processBlock, long transferredBytes)
+            throws Exception {
+        if (processBlock != null) {
+            synchronized (processBlock) {
+                processBlock.call(transferredBytes);
+            }
+        }
+    }
+
+    /**
+     * Count the processed items and report the total, the totals are reported in order from the parallel workers
+     */
+    static void reportProcessed(@Nullable CallableSingleArg<Void, Integer> processBlock,
+                                        @NotNull AtomicInteger processedCount,
+                                        int count)
+            throws Exception {
+        if (processBlock == null) {
+            processedCount.addAndGet(count);
+            return;
+        }
+
+        synchronized (processBlock) {
+            processBlock.call(processedCount.addAndGet(count));
+        }
+    }
+
+    /**
+     * Fail fast by the first failed transfer rather than reading the rest content, and drop the finished ones
+     */
+    private static void checkTransfers(@NotNull List<Future<Void>> transfers)
+            throws ExecutionException, InterruptedException {
+        Iterator<Future<Void>> iterator = transfers.iterator();
+
+        while (iterator.hasNext()) {
+            Future<Void> transfer = iterator.next();
+
+            if (transfer.isDone()) {
+                transfer.get();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void awaitTransfers(@NotNull List<Future<Void>> transfers)
+            throws ExecutionException, InterruptedException {
+        for (Future<Void> transfer : transfers) {
+            transfer.get();
+        }
+    }
+
+    @NotNull
+    private static Throwable unwrapTransferError(@NotNull Throwable t) {
+        return t instanceof ExecutionException && t.getCause() != null ? t.getCause() : t;
+    }
+
     @NotNull
     private static CloudQueueClient getCloudQueueClient(@NotNull StorageAccount storageAccount)
             throws Exception {
@@ -850,6 +1623,62 @@ public class StorageClientSDKManager {
         return blobFile;
     }
 
+    @Nullable
+    private static BlobItem toBlobItem(@NotNull ListBlobItem item,
+                                       @NotNull String containerName,
+                                       @Nullable String delimiter) {
+        String uri = item.getUri() != null ? item.getUri().toString() : "";
+
+        if (item instanceof CloudBlobDirectory) {
+            CloudBlobDirectory subDirectory = (CloudBlobDirectory) item;
+
+            String name = extractBlobItemName(subDirectory.getPrefix(), delimiter);
+            String path = Strings.nullToEmpty(subDirectory.getPrefix());
+
+            return new BlobDirectory(name, uri, containerName, path);
+        } else if (item instanceof CloudBlob) {
+            CloudBlob blob = (CloudBlob) item;
+
+            String name = extractBlobItemName(blob.getName(), delimiter);
+            String path = Strings.nullToEmpty(blob.getName());
+            String type = "";
+            String cacheControlHeader = "";
+            String contentEncoding = "";
+            String contentLanguage = "";
+            String contentType = "";
+            String contentMD5Header = "";
+            String eTag = "";
+            Calendar lastModified = new GregorianCalendar();
+            long size = 0;
+
+            BlobProperties properties = blob.getProperties();
+
+            if (properties != null) {
+                if (properties.getBlobType() != null) {
+                    type = properties.getBlobType().toString();
+                }
+
+                cacheControlHeader = Strings.nullToEmpty(properties.getCacheControl());
+                contentEncoding = Strings.nullToEmpty(properties.getContentEncoding());
+                contentLanguage = Strings.nullToEmpty(properties.getContentLanguage());
+                contentType = Strings.nullToEmpty(properties.getContentType());
+                contentMD5Header = Strings.nullToEmpty(properties.getContentMD5());
+                eTag = Strings.nullToEmpty(properties.getEtag());
+
+                if (properties.getLastModified() != null) {
+                    lastModified.setTime(properties.getLastModified());
+                }
+
+                size = properties.getLength();
+            }
+
+            return new BlobFile(name, uri, containerName, path, type, cacheControlHeader, contentEncoding,
+                    contentLanguage, contentType, contentMD5Header, eTag, lastModified, size);
+        }
+
+        return null;
+    }
+
     @NotNull
     private static String extractBlobItemName(@Nullable String path, @Nullable String delimiter) {
         if (path == null) {
@@ -867,6 +1696,58 @@ public class StorageClientSDKManager {
         }
     }
 
+    @NotNull
+    private static TableQuery<DynamicTableEntity> getTableQuery(@NotNull String filter,
+                                                                @Nullable String[] columns,
+                                                                int pageSize) {
+        TableQuery<DynamicTableEntity> tableQuery = TableQuery.from(DynamicTableEntity.class).take(pageSize);
+
+        if (!filter.isEmpty()) {
+            tableQuery.where(filter);
+        }
+
+        if (columns != null && columns.length > 0) {
+            tableQuery.select(columns);
+        }
+
+        return tableQuery;
+    }
+
+    @NotNull
+    private static TableEntitySegment executeTableQuerySegmented(@NotNull CloudTable cloudTable,
+                                                                 @NotNull TableQuery<DynamicTableEntity> tableQuery,
+                                                                 @Nullable TableEntitySegment previousSegment)
+            throws StorageException {
+        ResultContinuation continuationToken = null;
+
+        if (previousSegment != null) {
+            continuationToken = new ResultContinuation();
+            continuationToken.setContinuationType(ResultContinuationType.TABLE);
+            continuationToken.setNextPartitionKey(previousSegment.getNextPartitionKey());
+            continuationToken.setNextRowKey(previousSegment.getNextRowKey());
+        }
+
+        // Rather than the full metadata, the minimal one only annotates the types which can't be inferred from
+        // JSON, such as Int64 and DateTime, so the entities keep their types to be updated with
+        TableRequestOptions tro = new TableRequestOptions();
+        tro.setTablePayloadFormat(TablePayloadFormat.JsonMinimalMetadata);
+
+        ResultSegment<DynamicTableEntity> segment =
+                cloudTable.executeSegmented(tableQuery, continuationToken, tro, null);
+
+        List<TableEntity> teList = new ArrayList<TableEntity>(segment.getLength());
+
+        for (DynamicTableEntity dte : segment.getResults()) {
+            teList.add(getTableEntity(cloudTable.getName(), dte));
+        }
+
+        ResultContinuation nextToken = segment.getHasMoreResults() ? segment.getContinuationToken() : null;
+
+        return nextToken != null
+               ? new TableEntitySegment(teList, nextToken.getNextPartitionKey(), nextToken.getNextRowKey())
+               : new TableEntitySegment(teList, null, null);
+    }
+
     @NotNull
     private static TableEntity getTableEntity(@NotNull String tableName,
                                               @NotNull DynamicTableEntity dte) {
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.model.storage;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of the blob items listed in a directory, with the marker to list the next page
+ */
+public class BlobItemSegment {
+    private List<BlobItem> blobItems;
+    private String nextMarker;
+
+    public BlobItemSegment(@NotNull List<BlobItem> blobItems, @Nullable String nextMarker) {
+        this.blobItems = blobItems;
+        this.nextMarker = nextMarker;
+    }
+
+    @NotNull
+    public List<BlobItem> getBlobItems() {
+        return blobItems;
+    }
+
+    /**
+     * @return the marker to list the next page, null if it's the last page
+     */
+    @Nullable
+    public String getNextMarker() {
+        return nextMarker;
+    }
+
+    public boolean hasMoreResults() {
+        return nextMarker != null;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.model.storage;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+/**
+ * The result of an operation on a table entity in a bulk
+ */
+public class TableEntityOperationResult {
+    private TableEntity tableEntity;
+    private TableEntity resultEntity;
+    private Throwable error;
+
+    public TableEntityOperationResult(@NotNull TableEntity tableEntity,
+                                      @Nullable TableEntity resultEntity,
+                                      @Nullable Throwable error) {
+        this.tableEntity = tableEntity;
+        this.resultEntity = resultEntity;
+        this.error = error;
+    }
+
+    /**
+     * @return the entity to operate on
+     */
+    @NotNull
+    public TableEntity getTableEntity() {
+        return tableEntity;
+    }
+
+    /**
+     * @return the entity returned by the service with the new ETag, null if it's deleted or failed
+     */
+    @Nullable
+    public TableEntity getResultEntity() {
+        return resultEntity;
+    }
+
+    @Nullable
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSucceeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.model.storage;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of the queried table entities, with the keys of the entity to query the next page from
+ */
+public class TableEntitySegment {
+    private List<TableEntity> tableEntities;
+    private String nextPartitionKey;
+    private String nextRowKey;
+
+    public TableEntitySegment(@NotNull List<TableEntity> tableEntities,
+                              @Nullable String nextPartitionKey,
+                              @Nullable String nextRowKey) {
+        this.tableEntities = tableEntities;
+        this.nextPartitionKey = nextPartitionKey;
+        this.nextRowKey = nextRowKey;
+    }
+
+    @NotNull
+    public List<TableEntity> getTableEntities() {
+        return tableEntities;
+    }
+
+    @Nullable
+    public String getNextPartitionKey() {
+        return nextPartitionKey;
+    }
+
+    @Nullable
+    public String getNextRowKey() {
+        return nextRowKey;
+    }
+
+    /**
+     * @return true if there are more entities to query, an empty page with the next keys is possible
+     */
+    public boolean hasMoreResults() {
+        return nextPartitionKey != null || nextRowKey != null;
+    }
+}
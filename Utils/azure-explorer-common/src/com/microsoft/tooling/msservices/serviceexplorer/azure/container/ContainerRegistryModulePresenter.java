@@ -5,28 +5,36 @@
 
 package com.microsoft.tooling.msservices.serviceexplorer.azure.container;
 
-import com.microsoft.azure.management.containerregistry.Registry;
-import com.microsoft.azuretools.core.mvp.model.ResourceEx;
 import com.microsoft.azuretools.core.mvp.model.container.ContainerRegistryMvpModel;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
-
-import java.util.List;
+import com.microsoft.azuretools.utils.SubscriptionFanOut;
+import com.microsoft.tooling.msservices.components.DefaultLoader;
 
 public class ContainerRegistryModulePresenter<V extends ContainerRegistryModule> extends MvpPresenter<V> {
+    private static final String LOAD_REGISTRIES_ERROR = "An error occurred when trying to load Container Registries";
 
     /**
      * Called from view when the view needs refresh.
      */
     public void onModuleRefresh() {
-        List<ResourceEx<Registry>> registryList = ContainerRegistryMvpModel.getInstance().listContainerRegistries(true);
-        if (getMvpView() == null) {
-            return;
+        // Add the nodes of each subscription as soon as it's listed
+        ContainerRegistryMvpModel model = ContainerRegistryMvpModel.getInstance();
+        SubscriptionFanOut.Report report = model.listContainerRegistries(true, (sid, registryList) -> {
+            if (getMvpView() == null) {
+                return;
+            }
+            registryList.forEach(app -> getMvpView().addChildNode(new ContainerRegistryNode(
+                    getMvpView(),
+                    app.getSubscriptionId(),
+                    app.getResource().id(),
+                    app.getResource().name()
+            )));
+        });
+        if (report.hasFailures()) {
+            StringBuilder errorMessage = new StringBuilder(LOAD_REGISTRIES_ERROR + " for the subscriptions:\n\n");
+            report.getFailures().forEach((sid, error) ->
+                    errorMessage.append(sid).append(": ").append(error.getMessage()).append("\n"));
+            DefaultLoader.getUIHelper().logError(LOAD_REGISTRIES_ERROR + "\n\n" + errorMessage.toString(), null);
         }
-        registryList.forEach(app -> getMvpView().addChildNode(new ContainerRegistryNode(
-                getMvpView(),
-                app.getSubscriptionId(),
-                app.getResource().id(),
-                app.getResource().name()
-        )));
     }
 }
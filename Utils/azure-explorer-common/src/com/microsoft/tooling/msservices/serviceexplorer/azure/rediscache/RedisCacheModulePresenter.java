@@ -10,16 +10,20 @@ import com.microsoft.azure.management.redis.RedisCaches;
 import com.microsoft.azuretools.core.mvp.model.rediscache.AzureRedisMvpModel;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 import com.microsoft.azuretools.core.mvp.ui.base.NodeContent;
+import com.microsoft.azuretools.utils.SubscriptionFanOut;
+import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.serviceexplorer.Node;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Set;
 
 public class RedisCacheModulePresenter<V extends RedisCacheModule> extends MvpPresenter<V> {
 
     private static final String CANNOT_GET_SUBCROPTION_ID = "Cannot get Subscription ID.";
     private static final String CANNOT_GET_REDIS_ID = "Cannot get Redis Cache's ID.";
     private static final String CANNOT_DELETE_REDIS = "Cannot delete Redis Cache.";
+    private static final String LOAD_REDIS_CACHES_ERROR = "An error occurred when trying to load Redis Caches";
 
     private final AzureRedisMvpModel azureRedisMvpModel = AzureRedisMvpModel.getInstance();
 
@@ -27,17 +31,25 @@ public class RedisCacheModulePresenter<V extends RedisCacheModule> extends MvpPr
      * Called from view when the view needs refresh.
      */
     public void onModuleRefresh() {
-        final HashMap<String, ArrayList<NodeContent>> nodeMap = new HashMap<>();
         final HashMap<String, RedisCaches> redisCachesMap = azureRedisMvpModel.getRedisCaches();
-        for (final String sid : redisCachesMap.keySet()) {
+        // Show the nodes of each subscription as soon as it's listed
+        final Set<String> sids = redisCachesMap.keySet();
+        final SubscriptionFanOut.Report report = SubscriptionFanOut.fanOut(sids, sid -> redisCachesMap.get(sid).list(), (sid, redisCaches) -> {
             final ArrayList<NodeContent> nodeContentList = new ArrayList<>();
-            for (final RedisCache redisCache : redisCachesMap.get(sid).list()) {
+            for (final RedisCache redisCache : redisCaches) {
                 nodeContentList
                     .add(new NodeContent(redisCache.id(), redisCache.name(), redisCache.provisioningState()));
             }
+            final HashMap<String, ArrayList<NodeContent>> nodeMap = new HashMap<>();
             nodeMap.put(sid, nodeContentList);
+            getMvpView().showNode(nodeMap);
+        });
+        if (report.hasFailures()) {
+            final StringBuilder errorMessage = new StringBuilder(LOAD_REDIS_CACHES_ERROR + " for the subscriptions:\n\n");
+            report.getFailures().forEach((sid, error) ->
+                errorMessage.append(sid).append(": ").append(error.getMessage()).append("\n"));
+            DefaultLoader.getUIHelper().logError(LOAD_REDIS_CACHES_ERROR + "\n\n" + errorMessage.toString(), null);
         }
-        getMvpView().showNode(nodeMap);
     }
 
     /**
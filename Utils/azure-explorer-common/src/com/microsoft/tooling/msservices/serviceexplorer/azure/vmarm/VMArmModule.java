@@ -5,12 +5,12 @@
 
 package com.microsoft.tooling.msservices.serviceexplorer.azure.vmarm;
 
-import com.microsoft.azure.management.Azure;
 import com.microsoft.azure.management.compute.VirtualMachine;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.authmanage.SubscriptionManager;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import com.microsoft.azuretools.sdkmanage.AzureManager;
+import com.microsoft.azuretools.utils.SubscriptionFanOut;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.tooling.msservices.serviceexplorer.AzureIconSymbol;
@@ -56,29 +56,25 @@ public class VMArmModule extends AzureRefreshableNode {
                     .filter(subscriptionDetail -> Objects.nonNull(subscriptionDetail) && subscriptionDetail.isSelected())
                     .map(subscriptionDetail -> subscriptionDetail.getSubscriptionId())
                     .collect(Collectors.toSet());
-            for (String sid : sidList) {
-                try {
-                    Azure azure = azureManager.getAzure(sid);
-                    List<VirtualMachine> virtualMachines = azure.virtualMachines().list();
-
-                    for (VirtualMachine vm : virtualMachines) {
-                        addChildNode(new VMNode(this, sid, vm));
-                    }
-
-                } catch (Exception ex) {
-                    failedSubscriptions.add(new ImmutablePair<>(sid, ex.getMessage()));
-                    continue;
-                }
-            }
+            // Add the nodes of each subscription as soon as it's listed
+            SubscriptionFanOut.Report report = SubscriptionFanOut.fanOut(
+                    sidList,
+                    sid -> azureManager.getAzure(sid).virtualMachines().list(),
+                    (sid, virtualMachines) -> {
+                        for (VirtualMachine vm : virtualMachines) {
+                            addChildNode(new VMNode(this, sid, vm));
+                        }
+                    });
+            report.getFailures().forEach((sid, error) -> failedSubscriptions.add(new ImmutablePair<>(sid, error.getMessage())));
         } catch (Exception ex) {
             DefaultLoader.getUIHelper().logError("An error occurred when trying to load Virtual Machines\n\n" + ex.getMessage(), ex);
         }
         if (!failedSubscriptions.isEmpty()) {
-            StringBuilder errorMessage = new StringBuilder("An error occurred when trying to load Storage Accounts for the subscriptions:\n\n");
+            StringBuilder errorMessage = new StringBuilder("An error occurred when trying to load Virtual Machines for the subscriptions:\n\n");
             for (Pair error : failedSubscriptions) {
                 errorMessage.append(error.getKey()).append(": ").append(error.getValue()).append("\n");
             }
-            DefaultLoader.getUIHelper().logError("An error occurred when trying to load Storage Accounts\n\n" + errorMessage.toString(), null);
+            DefaultLoader.getUIHelper().logError("An error occurred when trying to load Virtual Machines\n\n" + errorMessage.toString(), null);
         }
     }
 }
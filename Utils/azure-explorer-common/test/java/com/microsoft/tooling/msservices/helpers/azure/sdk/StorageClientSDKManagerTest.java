@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.azure.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
+
+public class StorageClientSDKManagerTest {
+
+    @Test
+    public void testClaimQueueMessagesByPage() {
+        AtomicInteger remainingCount = new AtomicInteger(70);
+
+        assertEquals(32, StorageClientSDKManager.claimQueueMessages(remainingCount));
+        assertEquals(32, StorageClientSDKManager.claimQueueMessages(remainingCount));
+        assertEquals(6, StorageClientSDKManager.claimQueueMessages(remainingCount));
+        assertEquals(0, StorageClientSDKManager.claimQueueMessages(remainingCount));
+        assertEquals(0, remainingCount.get());
+    }
+
+    @Test
+    public void testClaimQueueMessagesConcurrently() throws Exception {
+        final AtomicInteger remainingCount = new AtomicInteger(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Integer>> claims = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                claims.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int claimedTotal = 0;
+                        int claimed;
+
+                        while ((claimed = StorageClientSDKManager.claimQueueMessages(remainingCount)) > 0) {
+                            assertTrue(claimed <= StorageClientSDKManager.MAX_QUEUE_MESSAGES_PER_REQUEST);
+                            claimedTotal += claimed;
+                        }
+
+                        return claimedTotal;
+                    }
+                }));
+            }
+
+            int claimedTotal = 0;
+
+            for (Future<Integer> claim : claims) {
+                claimedTotal += claim.get();
+            }
+
+            assertEquals(1000, claimedTotal);
+            assertEquals(0, remainingCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReportProcessedTotalsInOrder() throws Exception {
+        final List<Integer> totals = Collections.synchronizedList(new ArrayList<Integer>());
+        final CallableSingleArg<Void, Integer> processBlock = new CallableSingleArg<Void, Integer>() {
+            @Override
+            public Void call(Integer total) {
+                totals.add(total);
+                return null;
+            }
+        };
+        final AtomicInteger processedCount = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Void>> reports = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                reports.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int j = 0; j < 100; j++) {
+                            StorageClientSDKManager.reportProcessed(processBlock, processedCount, 2);
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<Void> report : reports) {
+                report.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(800, totals.size());
+
+        for (int i = 0; i < totals.size(); i++) {
+            assertEquals(Integer.valueOf((i + 1) * 2), totals.get(i));
+        }
+    }
+
+    @Test
+    public void testReportProcessedWithoutProcessBlock() throws Exception {
+        AtomicInteger processedCount = new AtomicInteger(0);
+
+        StorageClientSDKManager.reportProcessed(null, processedCount, 3);
+        StorageClientSDKManager.reportProcessed(null, processedCount, 4);
+
+        assertEquals(7, processedCount.get());
+    }
+
+    @Test
+    public void testBrowseVisibilityTimeoutScalesWithPages() {
+        assertEquals(Arrays.asList(60, 62, 62, 64, 124),
+                Arrays.asList(StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(0),
+                        StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(1),
+                        StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(32),
+                        StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(33),
+                        StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(1000)));
+        assertEquals(7 * 24 * 60 * 60, StorageClientSDKManager.getBrowseVisibilityTimeoutSeconds(Integer.MAX_VALUE));
+    }
+}
@@ -16,10 +16,9 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.resource.AzureGroup;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.sdkmanage.AzureManager;
+import com.microsoft.azuretools.utils.SubscriptionFanOut;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import rx.Observable;
-import rx.schedulers.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -179,15 +178,14 @@ public class AzureMvpModel {
     )
     public List<Deployment> listAllDeployments() {
         List<Deployment> deployments = new ArrayList<>();
-        List<Subscription> subs = getSelectedSubscriptions();
-        Observable.from(subs).flatMap((sub) ->
-            Observable.create((subscriber) -> {
-                List<Deployment> sidDeployments = listDeploymentsBySid(sub.getId());
-                synchronized (deployments) {
-                    deployments.addAll(sidDeployments);
-                }
-                subscriber.onCompleted();
-            }).subscribeOn(Schedulers.io()), subs.size()).subscribeOn(Schedulers.io()).toBlocking().subscribe();
+        List<String> sids = getSelectedSubscriptions().stream().map(Subscription::getId).collect(Collectors.toList());
+        SubscriptionFanOut.Report report = SubscriptionFanOut.fanOut(
+                sids, this::listDeploymentsBySid, (sid, sidDeployments) -> deployments.addAll(sidDeployments));
+        if (report.hasFailures()) {
+            // Fail the whole listing as the sequential one did, rather than returning a partial list
+            Throwable error = report.getFailures().values().iterator().next();
+            throw error instanceof RuntimeException ? (RuntimeException) error : new RuntimeException(error);
+        }
         Collections.sort(deployments, getComparator(Deployment::name));
         return deployments;
     }
@@ -18,11 +18,14 @@ import com.microsoft.azuretools.azurecommons.util.Utils;
 import com.microsoft.azuretools.core.mvp.model.AzureMvpModel;
 import com.microsoft.azuretools.core.mvp.model.ResourceEx;
 import com.microsoft.azuretools.core.mvp.model.webapp.PrivateRegistryImageSetting;
+import com.microsoft.azuretools.utils.SubscriptionFanOut;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.Azure.az;
 
@@ -52,13 +55,28 @@ public class ContainerRegistryMvpModel {
      */
     public List<ResourceEx<Registry>> listContainerRegistries(boolean force) {
         List<ResourceEx<Registry>> registryList = new ArrayList<>();
-        List<Subscription> subscriptions = az(AzureAccount.class).account().getSelectedSubscriptions();
-        for (Subscription sub : subscriptions) {
-            registryList.addAll(listRegistryBySubscriptionId(sub.getId(), force));
+        SubscriptionFanOut.Report report =
+                listContainerRegistries(force, (sid, registries) -> registryList.addAll(registries));
+        if (report.hasFailures()) {
+            // Fail the whole listing as the sequential one did, rather than returning a partial list
+            Throwable error = report.getFailures().values().iterator().next();
+            throw error instanceof RuntimeException ? (RuntimeException) error : new RuntimeException(error);
         }
         return registryList;
     }
 
+    /**
+     * List the Registry instances of the subscriptions concurrently, and hand over the ones of each subscription as
+     * soon as it returns.
+     */
+    public SubscriptionFanOut.Report listContainerRegistries(
+            boolean force, @NotNull BiConsumer<String, List<ResourceEx<Registry>>> onSubscriptionListed) {
+        List<String> sids = az(AzureAccount.class).account().getSelectedSubscriptions().stream()
+                .map(Subscription::getId)
+                .collect(Collectors.toList());
+        return SubscriptionFanOut.fanOut(sids, sid -> listRegistryBySubscriptionId(sid, force), onSubscriptionListed);
+    }
+
     /**
      * Get Registry by subscription id.
      */
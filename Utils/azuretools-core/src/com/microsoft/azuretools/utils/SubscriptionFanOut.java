@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Run a list call for each subscription concurrently, with the bounded concurrency since tenants could have dozens of
+ * subscriptions. The failure of a subscription doesn't stop the others, and the results are handed over on the
+ * calling thread one subscription after another as soon as they return, so the caller could add the child nodes
+ * without synchronization.
+ */
+public class SubscriptionFanOut {
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private static final Logger LOGGER = Logger.getLogger(SubscriptionFanOut.class.getName());
+
+    @FunctionalInterface
+    public interface SubscriptionCall<T> {
+        T call(@NotNull String sid) throws Exception;
+    }
+
+    /**
+     * The failures and the latencies of the subscriptions
+     */
+    public static class Report {
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+        private final Map<String, Long> latencyMillis = new LinkedHashMap<>();
+
+        @NotNull
+        public Map<String, Throwable> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return the latency of each subscription in the returning order, including the failed ones
+         */
+        @NotNull
+        public Map<String, Long> getLatencyMillis() {
+            return Collections.unmodifiableMap(latencyMillis);
+        }
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    private static class Outcome<T> {
+        private final String sid;
+        private final T result;
+        private final Throwable error;
+        private final long latencyMillis;
+
+        private Outcome(@NotNull String sid, @Nullable T result, @Nullable Throwable error, long latencyMillis) {
+            this.sid = sid;
+            this.result = result;
+            this.error = error;
+            this.latencyMillis = latencyMillis;
+        }
+    }
+
+    private SubscriptionFanOut() {
+    }
+
+    @NotNull
+    public static <T> Report fanOut(@NotNull Collection<String> sids,
+                                    @NotNull SubscriptionCall<T> call,
+                                    @NotNull BiConsumer<String, T> onResult) {
+        return fanOut(sids, DEFAULT_MAX_CONCURRENCY, call, onResult);
+    }
+
+    /**
+     * @param onResult called on the calling thread with the result of each succeeded subscription
+     */
+    @NotNull
+    public static <T> Report fanOut(@NotNull Collection<String> sids,
+                                    int maxConcurrency,
+                                    @NotNull SubscriptionCall<T> call,
+                                    @NotNull BiConsumer<String, T> onResult) {
+        final Report report = new Report();
+
+        if (sids.isEmpty()) {
+            return report;
+        }
+
+        final Iterable<Outcome<T>> outcomes = Observable.from(sids)
+                .flatMap(sid -> Observable.fromCallable(() -> callSubscription(sid, call))
+                                          .subscribeOn(Schedulers.io()),
+                         Math.max(1, maxConcurrency))
+                .toBlocking()
+                .toIterable();
+
+        for (final Outcome<T> outcome : outcomes) {
+            report.latencyMillis.put(outcome.sid, outcome.latencyMillis);
+
+            if (outcome.error != null) {
+                LOGGER.log(Level.WARNING, String.format("Failed to list the resources of the subscription %s in %d ms",
+                                                        outcome.sid, outcome.latencyMillis), outcome.error);
+                report.failures.put(outcome.sid, outcome.error);
+                continue;
+            }
+
+            LOGGER.fine(String.format("Listed the resources of the subscription %s in %d ms",
+                                      outcome.sid, outcome.latencyMillis));
+            onResult.accept(outcome.sid, outcome.result);
+        }
+
+        return report;
+    }
+
+    @NotNull
+    private static <T> Outcome<T> callSubscription(@NotNull String sid, @NotNull SubscriptionCall<T> call) {
+        final long start = System.nanoTime();
+
+        try {
+            final T result = call.call(sid);
+            return new Outcome<>(sid, result, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception ex) {
+            return new Outcome<>(sid, null, ex, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SubscriptionFanOutTest {
+
+    @Test
+    public void testFanOutToleratesFailedSubscription() {
+        final List<String> results = new ArrayList<>();
+        final SubscriptionFanOut.Report report = SubscriptionFanOut.fanOut(Arrays.asList("1", "2", "3"), sid -> {
+            if ("2".equals(sid)) {
+                throw new Exception("Failed to list");
+            }
+            return "result" + sid;
+        }, (sid, result) -> results.add(result));
+
+        Collections.sort(results);
+        assertEquals(Arrays.asList("result1", "result3"), results);
+        assertTrue(report.hasFailures());
+        assertEquals(Collections.singleton("2"), report.getFailures().keySet());
+        assertEquals(3, report.getLatencyMillis().size());
+    }
+
+    @Test
+    public void testFanOutHandsOverResultsOnCallingThread() {
+        final Thread callingThread = Thread.currentThread();
+        final List<Thread> handOverThreads = new ArrayList<>();
+        final SubscriptionFanOut.Report report = SubscriptionFanOut.fanOut(Arrays.asList("1", "2", "3", "4"),
+            sid -> sid, (sid, result) -> handOverThreads.add(Thread.currentThread()));
+
+        assertFalse(report.hasFailures());
+        assertEquals(Collections.nCopies(4, callingThread), handOverThreads);
+    }
+
+    @Test
+    public void testFanOutBoundsConcurrency() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        SubscriptionFanOut.fanOut(Arrays.asList("1", "2", "3", "4", "5", "6"), 2, sid -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return sid;
+        }, (sid, result) -> { });
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+}
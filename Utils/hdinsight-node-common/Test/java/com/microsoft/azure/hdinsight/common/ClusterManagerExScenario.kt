@@ -39,11 +39,13 @@ import com.microsoft.tooling.msservices.helpers.IDEHelper
 import cucumber.api.DataTable
 import cucumber.api.java.Before
 import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
 import org.assertj.core.api.Assertions.assertThat
 import org.mockito.ArgumentMatchers
 import org.mockito.ArgumentMatchers.anyString
 import org.mockito.Mockito
 import org.mockito.Mockito.*
+import rx.Observable
 import java.util.*
 
 class ClusterManagerExScenario {
@@ -142,12 +144,23 @@ class ClusterManagerExScenario {
                     doReturn(selectedSubscriptions[it.subscription]).`when`(clusterMock).subscription
                     doReturn(false).`when`(clusterMock).isRoleTypeReader
                     doReturn("Running").`when`(clusterMock).state
+                    doNothing().`when`(clusterMock).getConfigurationInfo()
+                    doReturn(null).`when`(clusterMock).cachedCoreSite
 
                     clusterMock
                 }
 
         doReturn(subscriptionClusters).`when`(clusterMagr!!)
                 .getSubscriptionHDInsightClusters(ArgumentMatchers.any())
+        doReturn(Observable.from(subscriptionClusters)).`when`(clusterMagr!!)
+                .listSubscriptionHDInsightClusters(ArgumentMatchers.any())
+    }
+
+    @Given("^the core-site of subscription HDInsight clusters are cached:$")
+    fun cacheSubscriptionClustersCoreSite(clusterNames: List<String>) {
+        subscriptionClusters.filter { clusterNames.contains(it.name) }
+                .forEach { doReturn(mapOf("fs.defaultFS" to "wasbs://${it.name}@sa.blob.core.windows.net"))
+                        .`when`(it).cachedCoreSite }
     }
 
     @Given("^subscriptions mocked are:$")
@@ -170,4 +183,27 @@ class ClusterManagerExScenario {
         assertThat(clusterMagr!!.clusterDetails).extracting("title")
                 .containsAll(clusterDetailsExpect)
     }
+
+    @Then("^check list Cluster details incrementally should be:$")
+    fun checkListClusterDetails(clusterDetailsExpect: List<String>) {
+        val titles = clusterMagr!!.listClusterDetails()
+                .map { it.title }
+                .toList()
+                .toBlocking()
+                .single()
+
+        // Linked and emulated clusters are published first in order, then the subscription clusters in any order
+        val localClustersCount = additionalClusters.size + emulatedClusters.size
+        assertThat(titles.take(localClustersCount)).containsExactlyElementsOf(clusterDetailsExpect.take(localClustersCount))
+        assertThat(titles).containsExactlyInAnyOrderElementsOf(clusterDetailsExpect)
+        assertThat(clusterMagr!!.cachedClusters).extracting("title")
+                .containsExactlyInAnyOrderElementsOf(clusterDetailsExpect)
+    }
+
+    @Then("^check the configuration loaded subscription clusters should be:$")
+    fun checkConfigurationLoadedClusters(clusterNamesExpect: List<String>) {
+        subscriptionClusters.forEach {
+            verify(it, if (clusterNamesExpect.contains(it.name)) times(1) else never()).getConfigurationInfo()
+        }
+    }
 }
\ No newline at end of file
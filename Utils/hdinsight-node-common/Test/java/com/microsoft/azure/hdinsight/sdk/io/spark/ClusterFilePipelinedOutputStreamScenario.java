@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.io.spark;
+
+import cucumber.api.java.en.Then;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.StringUtils;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClusterFilePipelinedOutputStreamScenario {
+    @Then("^the Z85 encoding of hex '(.*)' should be '(.*)'$")
+    public void checkZ85Encoding(String hex, String expectedEncoded) throws Throwable {
+        assertEquals(expectedEncoded, Z85.encode(Hex.decodeHex(hex.toCharArray())));
+    }
+
+    @Then("^the codes to write block (\\d+) of (\\d+) bytes should have (\\d+) string literals$")
+    public void checkWriteBlockCodes(int block, int length, int expectedLiterals) throws Throwable {
+        String codes = ClusterFilePipelinedOutputStream.getWriteBlockCodes(block, new byte[length], length);
+
+        assertEquals("writeBlock(" + block + ", " + length + ", Array(\"",
+                     codes.substring(0, codes.indexOf('"') + 1));
+        assertEquals(expectedLiterals * 2, StringUtils.countMatches(codes, '"'));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ArtifactDigestIndexScenario {
+    private File tempDir;
+    private File artifact;
+    private ArtifactDigestIndex index;
+
+    @Before
+    public void setUp() throws Throwable {
+        tempDir = Files.createTempDirectory("artifactDigestIndex").toFile();
+        artifact = new File(tempDir, "artifact.jar");
+        index = new ArtifactDigestIndex(new File(tempDir, "index.properties"));
+    }
+
+    @After
+    public void cleanUp() throws Throwable {
+        FileUtils.deleteQuietly(tempDir);
+    }
+
+    @Given("^write the artifact with content '(.*)' modified at (\\d+)$")
+    public void writeArtifact(String content, long lastModified) throws Throwable {
+        FileUtils.writeStringToFile(artifact, content, StandardCharsets.UTF_8);
+        artifact.setLastModified(lastModified);
+    }
+
+    @Then("^the artifact digest should be '(.+)'$")
+    public void checkDigest(String expectedDigest) throws Throwable {
+        assertEquals(expectedDigest, index.getSha256Hex(artifact));
+    }
+
+    @Then("^the reloaded index should get the artifact digest '(.+)'$")
+    public void checkReloadedDigest(String expectedDigest) throws Throwable {
+        assertEquals(expectedDigest,
+                     new ArtifactDigestIndex(new File(tempDir, "index.properties")).getSha256Hex(artifact));
+    }
+
+    @Given("^mark the destination '(.+)' uploaded with digest '(.+)'$")
+    public void markUploaded(String destination, String digest) throws Throwable {
+        index.markUploaded(destination, digest);
+    }
+
+    @Then("^the destination '(.+)' should be uploaded with digest '(.+)'$")
+    public void checkUploaded(String destination, String digest) throws Throwable {
+        assertTrue(index.isUploaded(destination, digest));
+    }
+
+    @Then("^the destination '(.+)' should not be uploaded with digest '(.+)'$")
+    public void checkNotUploaded(String destination, String digest) throws Throwable {
+        assertFalse(index.isUploaded(destination, digest));
+    }
+
+    @Then("^the reloaded index should have the destination '(.+)' uploaded with digest '(.+)'$")
+    public void checkReloadedUploaded(String destination, String digest) throws Throwable {
+        assertTrue(new ArtifactDigestIndex(new File(tempDir, "index.properties")).isUploaded(destination, digest));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class JobStateWatcherScenario {
+    private SparkBatchSubmission submissionMock;
+    private MockHttpService httpServerMock;
+    private JobStateWatcher watcher;
+
+    @Before
+    public void setUp() throws Throwable {
+        submissionMock = mock(SparkBatchSubmission.class);
+        when(submissionMock.getHttpResponseViaGet(anyString())).thenCallRealMethod();
+        when(submissionMock.getHttpResponseViaGet(anyString(), any(), any())).thenCallRealMethod();
+        when(submissionMock.getHttpClient()).thenCallRealMethod();
+
+        httpServerMock = new MockHttpService();
+    }
+
+    @Given("^setup a mock Yarn service for GET request '(.+)' to return '(.+)' with status code (\\d+)$")
+    public void mockYarnService(String serviceUrl, String response, int statusCode) throws Throwable {
+        httpServerMock.stub("GET", serviceUrl, statusCode, response);
+    }
+
+    @Given("^create the job state watcher for Livy batches '(.+)' and Yarn applications '(.+)'$")
+    public void createJobStateWatcher(String livyBatchesUrl, String yarnAppsUrl) throws Throwable {
+        watcher = JobStateWatcher.getInstance(URI.create(httpServerMock.completeUrl(livyBatchesUrl)),
+                                              URI.create(httpServerMock.completeUrl(yarnAppsUrl)),
+                                              submissionMock);
+    }
+
+    @Then("^watching Yarn application '(.+)' should get state '(.+)' and log aggregation status '(.+)'$")
+    public void checkWatchedYarnApp(String applicationId, String expectedState, String expectedLogAggregationStatus)
+            throws Throwable {
+        App app = watcher.watchYarnApp(applicationId)
+                         .first()
+                         .timeout(10, TimeUnit.SECONDS)
+                         .toBlocking()
+                         .single();
+
+        assertEquals(applicationId, app.getId());
+        assertEquals(expectedState, app.getState());
+        assertEquals(expectedLogAggregationStatus, app.getLogAggregationStatus());
+    }
+}
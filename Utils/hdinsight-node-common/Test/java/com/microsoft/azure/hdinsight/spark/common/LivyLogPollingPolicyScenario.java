@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class LivyLogPollingPolicyScenario {
+    private LivyLogPollingPolicy pollingPolicy;
+
+    @Given("^create LivyLogPollingPolicy with the max interval (\\d+) ms$")
+    public void createLivyLogPollingPolicy(long maxIntervalMs) throws Throwable {
+        pollingPolicy = new LivyLogPollingPolicy(maxIntervalMs);
+    }
+
+    @Then("^the Livy log polls should get the following delays and page sizes$")
+    public void checkLivyLogPolls(List<Map<String, String>> polls) throws Throwable {
+        for (Map<String, String> poll : polls) {
+            long delay = pollingPolicy.next(Integer.parseInt(poll.get("linesGot")));
+
+            assertEquals("Delay after " + poll, Long.parseLong(poll.get("delayMs")), delay);
+            assertEquals("Page size after " + poll, Integer.parseInt(poll.get("pageSize")), pollingPolicy.getPageSize());
+            assertEquals("Idle after " + poll, Boolean.parseBoolean(poll.get("idle")), pollingPolicy.isIdle());
+        }
+    }
+}
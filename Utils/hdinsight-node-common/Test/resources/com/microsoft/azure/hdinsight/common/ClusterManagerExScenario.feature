@@ -60,3 +60,49 @@ Feature: ClusterManagerEx tests
       | sub1 [Linked]      |
       | link0Mock [Linked] |
       | subA (Spark: 2.2)  |
+
+  Scenario: listClusterDetails publishes linked clusters first and loads the subscription cluster configurations
+    Given subscriptions mocked are:
+      | name      | isSelected |
+      | subscrip0 | true       |
+    Given Linked HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+      | link0Mock | link0sa0       | link0saKey | my@foo   | myPass   |              |
+      | sub1      |                |            | admin    | myPass   |              |
+    Given in subscription HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+      | sub0      |                |            | admin    | myPass   | subscrip0    |
+      | sub1      |                |            | admin    | myPass   | subscrip0    |
+      | sub2      |                |            | admin    | myPass   | subscrip0    |
+    Given emulated HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+      | emu0Mock  | emu0sa0        |            |          |          |              |
+    Then check list Cluster details incrementally should be:
+      | link0Mock [Linked]               |
+      | sub1 [Linked]                    |
+      | emu0Mock (Spark: 1.6.0 Emulator) |
+      | sub0 (Spark: 2.2)                |
+      | sub2 (Spark: 2.2)                |
+    Then check the configuration loaded subscription clusters should be:
+      | sub0 |
+      | sub2 |
+
+  Scenario: listClusterDetails only loads the configurations of the subscription clusters without core-site cached
+    Given subscriptions mocked are:
+      | name      | isSelected |
+      | subscrip0 | true       |
+    Given Linked HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+    Given in subscription HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+      | sub0      |                |            | admin    | myPass   | subscrip0    |
+      | sub1      |                |            | admin    | myPass   | subscrip0    |
+    Given the core-site of subscription HDInsight clusters are cached:
+      | sub1 |
+    Given emulated HDInsight clusters are:
+      | name      | storageAccount | storageKey | username | password | subscription |
+    Then check list Cluster details incrementally should be:
+      | sub0 (Spark: 2.2) |
+      | sub1 (Spark: 2.2) |
+    Then check the configuration loaded subscription clusters should be:
+      | sub0 |
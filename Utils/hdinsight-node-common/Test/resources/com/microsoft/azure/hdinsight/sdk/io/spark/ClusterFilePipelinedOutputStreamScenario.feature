@@ -0,0 +1,13 @@
+Feature: ClusterFilePipelinedOutputStream unit test
+
+  Scenario: Encode the blocks in Z85
+    Then the Z85 encoding of hex '864FD26FB559F75B' should be 'HelloWorld'
+    Then the Z85 encoding of hex '' should be ''
+    Then the Z85 encoding of hex '00' should be '00000'
+    Then the Z85 encoding of hex 'FFFFFFFF' should be '%nSc0'
+
+  Scenario: Split the encoded block into the string literals under the class constant limit
+    Then the codes to write block 0 of 100 bytes should have 1 string literals
+    Then the codes to write block 3 of 48000 bytes should have 1 string literals
+    Then the codes to write block 4 of 48004 bytes should have 2 string literals
+    Then the codes to write block 5 of 524288 bytes should have 11 string literals
@@ -0,0 +1,21 @@
+Feature: ArtifactDigestIndex unit test
+
+  Scenario: Get the SHA-256 digest of the artifact
+    Given write the artifact with content 'abc' modified at 1600000000000
+    Then the artifact digest should be 'ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad'
+    And the reloaded index should get the artifact digest 'ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad'
+
+  Scenario: Compute the digest again after the artifact changed
+    Given write the artifact with content 'abc' modified at 1600000000000
+    Then the artifact digest should be 'ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad'
+    Given write the artifact with content 'abd' modified at 1600000001000
+    Then the artifact digest should be 'a52d159f262b2c6ddb724a61840befc36eb30c88877a4030b65cbe86298449c9'
+    And the reloaded index should get the artifact digest 'a52d159f262b2c6ddb724a61840befc36eb30c88877a4030b65cbe86298449c9'
+
+  Scenario: Record the completely uploaded destinations of the artifact digests
+    Then the destination 'abfs://fs@account/artifacts/a.jar' should not be uploaded with digest 'ba78'
+    Given mark the destination 'abfs://fs@account/artifacts/a.jar' uploaded with digest 'ba78'
+    Then the destination 'abfs://fs@account/artifacts/a.jar' should be uploaded with digest 'ba78'
+    And the destination 'abfs://fs@account/artifacts/a.jar' should not be uploaded with digest 'a52d'
+    And the destination 'abfs://fs@account/artifacts/b.jar' should not be uploaded with digest 'ba78'
+    And the reloaded index should have the destination 'abfs://fs@account/artifacts/a.jar' uploaded with digest 'ba78'
@@ -0,0 +1,12 @@
+Feature: JobStateWatcher unit test
+
+  Scenario: Watch a running Yarn application from the unfinished applications listing
+    Given setup a mock Yarn service for GET request '/ws/v1/cluster/apps?applicationTypes=SPARK&states=NEW,NEW_SAVING,SUBMITTED,ACCEPTED,RUNNING' to return '{"apps":{"app":[{"id":"application_1492415936046_0015","state":"RUNNING","finalStatus":"UNDEFINED","logAggregationStatus":"NOT_START"}]}}' with status code 200
+    And create the job state watcher for Livy batches '/running/batches' and Yarn applications '/ws/v1/cluster/apps/'
+    Then watching Yarn application 'application_1492415936046_0015' should get state 'RUNNING' and log aggregation status 'NOT_START'
+
+  Scenario: Watch a long-running Yarn application which finished before the watch is created
+    Given setup a mock Yarn service for GET request '/ws/v1/cluster/apps?applicationTypes=SPARK&states=NEW,NEW_SAVING,SUBMITTED,ACCEPTED,RUNNING' to return '{"apps":{"app":[]}}' with status code 200
+    And setup a mock Yarn service for GET request '/ws/v1/cluster/apps/application_1492415936046_0016' to return '{"app":{"id":"application_1492415936046_0016","state":"FINISHED","finalStatus":"SUCCEEDED","startedTime":1492569369011,"finishedTime":1492655769011,"logAggregationStatus":"SUCCEEDED"}}' with status code 200
+    And create the job state watcher for Livy batches '/finished/batches' and Yarn applications '/ws/v1/cluster/apps/'
+    Then watching Yarn application 'application_1492415936046_0016' should get state 'FINISHED' and log aggregation status 'SUCCEEDED'
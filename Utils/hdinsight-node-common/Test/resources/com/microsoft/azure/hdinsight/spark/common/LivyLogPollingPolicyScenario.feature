@@ -0,0 +1,24 @@
+Feature: LivyLogPollingPolicy unit test
+
+  Scenario: Back off exponentially when no lines got and re-arm when lines appear
+    Given create LivyLogPollingPolicy with the max interval 3000 ms
+    Then the Livy log polls should get the following delays and page sizes
+      | linesGot | delayMs | pageSize | idle  |
+      | 0        | 500     | 128      | true  |
+      | 0        | 1000    | 128      | true  |
+      | 0        | 2000    | 128      | true  |
+      | 0        | 3000    | 128      | true  |
+      | 0        | 3000    | 128      | true  |
+      | 3        | 500     | 128      | false |
+      | 0        | 500     | 128      | true  |
+
+  Scenario: Grow the page size to catch up the backlog
+    Given create LivyLogPollingPolicy with the max interval 10000 ms
+    Then the Livy log polls should get the following delays and page sizes
+      | linesGot | delayMs | pageSize | idle  |
+      | 128      | 0       | 256      | false |
+      | 256      | 0       | 512      | false |
+      | 512      | 0       | 1024     | false |
+      | 1024     | 0       | 2048     | false |
+      | 2048     | 0       | 2048     | false |
+      | 100      | 500     | 128      | false |
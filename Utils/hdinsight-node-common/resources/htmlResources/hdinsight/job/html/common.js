@@ -40,12 +40,12 @@ function serializeQuery(queriesMap) {
     return result.substring(1);
 }
 
-function getMessageAsync(url, type, callback, appId) {
-    var queries = {
+function getMessageAsync(url, type, callback, appId, extraQueries) {
+    var queries = $.extend({
         'http-type' : type || 'spark',
         'cluster-name' : spark.clusterName || '0',
         'appId' : appId || '0'
-    };
+    }, extraQueries);
     var queryString = serializeQuery(queries);
 
     var xmlHttp = new XMLHttpRequest();
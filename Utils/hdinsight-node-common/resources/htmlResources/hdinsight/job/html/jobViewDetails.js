@@ -344,18 +344,24 @@ function renderJobGraph(myData) {
 }
 
 
-function renderTaskSummary(myData) {
-    d3.select('#taskSummaryTbody')
-        .selectAll('tr')
-        .data(myData)
+function renderTaskSummary(myData, isReplacing) {
+    var tbody = d3.select('#taskSummaryTbody');
+    if (isReplacing) {
+        tbody.selectAll('tr').remove();
+    }
+
+    // Key the rows by task, the polling of a running application only appends the tasks loaded since the last one
+    tbody.selectAll('tr')
+        .data(myData, function(d) {
+            return d.taskId + '_' + d.attempt;
+        })
         .enter()
         .append('tr')
         .attr('align', 'center')
         .attr('class','ui-widget-content')
         .html(function(d) {
             return generateTaskSummaryLine(d);
-    });
-
+        });
 }
 function taskSummaryObjToList(myTaskSummary) {
     var lists = [];
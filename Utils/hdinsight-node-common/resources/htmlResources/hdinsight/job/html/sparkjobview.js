@@ -344,11 +344,26 @@ function renderStageDetails() {
     }, spark.appId);
 }
 
-function renderTaskDetails() {
-    getMessageAsync('/applications/tasks_summary','spark', function(s){
-        var tasks = JSON.parse(s);
-        renderTaskSummary(tasks);
-    }, spark.appId);
+function renderTaskDetails(loadingId, offset) {
+    var appId = spark.appId;
+    getMessageAsync('/applications/tasks_summary_progress','spark', function(s){
+        if (appId !== spark.appId) {
+            // Another application is selected
+            return;
+        }
+
+        var progress = JSON.parse(s);
+        // Only the tasks after the offset are sent, a new loading is sent from the beginning
+        renderTaskSummary(progress.tasks, progress.offset === 0);
+        if (!progress.completed) {
+            setTimeout(function() {
+                renderTaskDetails(progress.loadingId, progress.offset + progress.tasks.length);
+            }, 1000);
+        }
+    }, appId, {
+        'loadingId' : loadingId || 0,
+        'offset' : offset || 0
+    });
 }
 
 function renderExecutors() {
@@ -27,6 +27,7 @@ import com.microsoft.tooling.msservices.components.DefaultLoader;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import rx.Observable;
+import rx.schedulers.Schedulers;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -39,6 +40,9 @@ public class ClusterManagerEx implements ILogger {
 
     private static final String OSTYPE = "linux";
 
+    // Limit the cluster configuration requests in flight when listing the clusters incrementally
+    public static final int MAX_CONCURRENT_CONFIGURATION_LOADS = 8;
+
     private static ClusterManagerEx instance = null;
 
     /**
@@ -214,6 +218,87 @@ public class ClusterManagerEx implements ILogger {
                 .singleOrDefault(new ArrayList<>());
     }
 
+    /**
+     * List HDInsight clusters under user's azure subscription, each cluster is emitted once its new API probe is done
+     *
+     * @return the Observable of subscription clusters, empty for non-logged in user
+     */
+    @NotNull
+    Observable<ClusterDetail> listSubscriptionHDInsightClusters(@Nullable AzureManager manager) {
+        if (manager == null) {
+            return Observable.empty();
+        }
+
+        return Observable.fromCallable(() -> manager.getSubscriptionManager().getSelectedSubscriptionDetails())
+                .doOnError(err -> log().warn("Failed to list HDInsight Clusters: {}", err.getMessage()))
+                .flatMap(subscriptions -> {
+                    setSelectedSubscriptionExist(subscriptions.stream().anyMatch(SubscriptionDetail::isSelected));
+
+                    return ClusterManager.getInstance().listHDInsightClustersWithSpecificType(subscriptions, OSTYPE)
+                            .doOnCompleted(() -> isListClusterSuccess = true)
+                            .doOnError(err -> {
+                                log().warn("Error Refreshing HDInsight clusters. " + ExceptionUtils.getStackTrace(err));
+                                isListClusterSuccess = false;
+                            });
+                })
+                .onErrorResumeNext(Observable.empty());
+    }
+
+    /**
+     * List all kinds of cluster details incrementally and set these clusters to cache when completed, so that UI
+     * can render the first clusters without waiting for all subscriptions. The linked and emulator clusters are
+     * emitted first, then each HDInsight cluster under user's azure subscription is emitted once its configuration
+     * is loaded, with at most {@link #MAX_CONCURRENT_CONFIGURATION_LOADS} configuration requests in flight. The cluster
+     * with the core-site cached for its creation is emitted at once, its configuration is loaded when it's used.
+     *
+     * A subscription cluster which shares the same name with a linked cluster is replaced by the linked one,
+     * the same as {@link #getClusterDetails()}.
+     *
+     * @return the Observable of all kinds of cluster details
+     */
+    @NotNull
+    public Observable<IClusterDetail> listClusterDetails() {
+        return Observable.defer(() -> {
+            final List<IClusterDetail> linkedClusters = getOrLoadAdditionalClusters();
+            final List<IClusterDetail> emulatorClusters = getOrLoadEmulatorClusters();
+            final Set<String> localClusterIds = new HashSet<>();
+            final List<ClusterDetail> clusterDetailsFromSubscription = Collections.synchronizedList(new ArrayList<>());
+
+            Stream.concat(linkedClusters.stream(), emulatorClusters.stream())
+                    .forEach(cluster -> localClusterIds.add(cluster.getClusterIdForConfiguration().toLowerCase()));
+
+            final Observable<ClusterDetail> subscriptionClusters =
+                    listSubscriptionHDInsightClusters(getAzureManager())
+                            .filter(cluster -> !localClusterIds.contains(
+                                    cluster.getClusterIdForConfiguration().toLowerCase()))
+                            .flatMap(cluster -> cluster.getCachedCoreSite() != null
+                                                     ? Observable.just(cluster)
+                                                     : loadConfigurationInfo(cluster).subscribeOn(Schedulers.io()),
+                                     MAX_CONCURRENT_CONFIGURATION_LOADS)
+                            .doOnNext(clusterDetailsFromSubscription::add);
+
+            return Observable.from(linkedClusters)
+                    .concatWith(Observable.from(emulatorClusters))
+                    .concatWith(subscriptionClusters.cast(IClusterDetail.class))
+                    .doOnCompleted(() -> cacheClusterDetails(
+                            linkedClusters, emulatorClusters, clusterDetailsFromSubscription));
+        });
+    }
+
+    @NotNull
+    private Observable<ClusterDetail> loadConfigurationInfo(@NotNull ClusterDetail cluster) {
+        return Observable.fromCallable(() -> {
+            try {
+                cluster.getConfigurationInfo();
+            } catch (Exception ex) {
+                // Still publish the cluster, its configuration is loaded again when it's used
+                log().warn("Failed to load the configuration of cluster " + cluster.getName(), ex);
+            }
+
+            return cluster;
+        });
+    }
+
     /**
      * Load all kinds of cluster details and set these clusters to cache. These clusters includes:
      * 1. HDInsight clusters under user's azure subscription
@@ -223,31 +308,44 @@ public class ClusterManagerEx implements ILogger {
      * @return all kinds of cluster details
      */
     public ImmutableList<IClusterDetail> getClusterDetails() {
-        List<IClusterDetail> linkedClusters;
-        if (!isListAdditionalClusterSuccess()) {
-            try {
-                linkedClusters = loadAdditionalClusters();
-            } catch (JsonSyntaxException ignored) {
-                linkedClusters = emptyList();
-            }
-        } else {
-            linkedClusters = getAdditionalClusterDetails();
+        List<IClusterDetail> linkedClusters = getOrLoadAdditionalClusters();
+        List<IClusterDetail> emulatorClusters = getOrLoadEmulatorClusters();
+
+        // Get clusters from Subscription, an empty list for non-logged in user.
+        List<ClusterDetail> clusterDetailsFromSubscription = getSubscriptionHDInsightClusters(getAzureManager());
+
+        return cacheClusterDetails(linkedClusters, emulatorClusters, clusterDetailsFromSubscription);
+    }
+
+    @NotNull
+    private List<IClusterDetail> getOrLoadAdditionalClusters() {
+        if (isListAdditionalClusterSuccess()) {
+            return getAdditionalClusterDetails();
         }
 
-        List<IClusterDetail> emulatorClusters;
-        if (!isListEmulatorClusterSuccess()) {
-            try {
-                emulatorClusters = loadEmulatorClusters();
-            } catch (JsonSyntaxException ignored) {
-                emulatorClusters = emptyList();
-            }
-        } else {
-            emulatorClusters = getEmulatorClusterDetails();
+        try {
+            return loadAdditionalClusters();
+        } catch (JsonSyntaxException ignored) {
+            return emptyList();
         }
+    }
 
-        // Get clusters from Subscription, an empty list for non-logged in user.
-        List<ClusterDetail> clusterDetailsFromSubscription = getSubscriptionHDInsightClusters(getAzureManager());
+    @NotNull
+    private List<IClusterDetail> getOrLoadEmulatorClusters() {
+        if (isListEmulatorClusterSuccess()) {
+            return getEmulatorClusterDetails();
+        }
+
+        try {
+            return loadEmulatorClusters();
+        } catch (JsonSyntaxException ignored) {
+            return emptyList();
+        }
+    }
 
+    private ImmutableList<IClusterDetail> cacheClusterDetails(List<IClusterDetail> linkedClusters,
+                                                              List<IClusterDetail> emulatorClusters,
+                                                              List<ClusterDetail> clusterDetailsFromSubscription) {
         // Sort the merged clusters before set it to cache, sorting algorithm is based on cluster name
         ImmutableSortedSet<IClusterDetail> mergedClusters =
                 new ImmutableSortedSet.Builder<IClusterDetail>(ComparableCluster::compareTo)
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.cluster;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The local cache of the cluster core-site configurations, which is saved to the temp folder to survive IDE restarts.
+ *
+ * Only the settings without credentials are cached, such as the default file system, so the storage account keys and
+ * the gateway password are always fetched from the cluster configuration REST API.
+ *
+ * An entry is only valid for the cluster created at the same time, since a cluster could be deleted and created again
+ * with the same ID but different settings.
+ */
+public class ClusterCoreSiteCache implements ILogger {
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(4);
+
+    private static final String CACHE_FILE_NAME = "hdinsight-cluster-core-site.properties";
+    private static final String[] SECRET_KEY_MARKERS = { "key", "secret", "password", "token", "credential" };
+    private static final Type CORE_SITE_TYPE = new TypeToken<HashMap<String, String>>() { }.getType();
+
+    private static final ClusterCoreSiteCache INSTANCE = new ClusterCoreSiteCache(
+            new File(System.getProperty("java.io.tmpdir"), CACHE_FILE_NAME), DEFAULT_TTL_MILLIS);
+
+    @NotNull
+    private final File cacheFile;
+
+    private final long ttlMillis;
+
+    // Cluster ID -> "savedTimeMillis,cluster created date,core-site JSON"
+    @NotNull
+    private final Map<String, String> entries = new HashMap<>();
+
+    @NotNull
+    private final Gson gson = new Gson();
+
+    ClusterCoreSiteCache(@NotNull File cacheFile, long ttlMillis) {
+        this.cacheFile = cacheFile;
+        this.ttlMillis = ttlMillis;
+        load();
+    }
+
+    @NotNull
+    public static ClusterCoreSiteCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached core-site of the cluster
+     *
+     * @param clusterId the cluster ID
+     * @param createdDate the cluster created date, null if unknown
+     * @return the core-site settings without credentials, null if not cached, expired or cached for the cluster
+     *         created at another time
+     */
+    @Nullable
+    public synchronized Map<String, String> get(@NotNull String clusterId, @Nullable String createdDate) {
+        final String entry = entries.get(clusterId.toLowerCase());
+        if (entry == null) {
+            return null;
+        }
+
+        final String[] fields = entry.split(",", 3);
+
+        try {
+            if (fields.length == 3
+                    && System.currentTimeMillis() - Long.parseLong(fields[0]) <= ttlMillis
+                    && fields[1].equals(toDateField(createdDate))) {
+                return gson.fromJson(fields[2], CORE_SITE_TYPE);
+            }
+        } catch (NumberFormatException | JsonSyntaxException ex) {
+            log().warn("Drop the broken core-site cache of the cluster " + clusterId, ex);
+        }
+
+        entries.remove(clusterId.toLowerCase());
+        save();
+
+        return null;
+    }
+
+    public synchronized void put(@NotNull String clusterId, @Nullable String createdDate, @NotNull Map<?, ?> coreSite) {
+        final Map<String, String> withoutSecrets = new HashMap<>();
+        coreSite.forEach((key, value) -> {
+            // The core-site map could be deserialized from JSON without type checking
+            if (key != null && value != null && !isSecret(key.toString())) {
+                withoutSecrets.put(key.toString(), value.toString());
+            }
+        });
+
+        entries.put(clusterId.toLowerCase(), String.join(",",
+                String.valueOf(System.currentTimeMillis()),
+                toDateField(createdDate),
+                gson.toJson(withoutSecrets)));
+        save();
+    }
+
+    public synchronized void remove(@NotNull String clusterId) {
+        if (entries.remove(clusterId.toLowerCase()) != null) {
+            save();
+        }
+    }
+
+    @NotNull
+    private static String toDateField(@Nullable String createdDate) {
+        return StringUtils.remove(StringUtils.defaultString(createdDate), ',');
+    }
+
+    static boolean isSecret(@NotNull String key) {
+        return StringUtils.containsAny(key.toLowerCase(), SECRET_KEY_MARKERS);
+    }
+
+    private void load() {
+        if (!cacheFile.isFile()) {
+            return;
+        }
+
+        final Properties props = new Properties();
+
+        try (InputStream in = new FileInputStream(cacheFile)) {
+            props.load(in);
+            props.stringPropertyNames().forEach(clusterId -> entries.put(clusterId, props.getProperty(clusterId)));
+        } catch (IOException ex) {
+            log().warn("Failed to load the cluster core-site cache " + cacheFile, ex);
+        }
+    }
+
+    private void save() {
+        final Properties props = new Properties();
+        props.putAll(entries);
+
+        try {
+            final File tempFile = new File(cacheFile.getPath() + ".tmp");
+
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                props.store(out, null);
+            }
+
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // The core-site is fetched again next time
+            log().warn("Failed to save the cluster core-site cache " + cacheFile, ex);
+        }
+    }
+}
@@ -280,6 +280,7 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
                 ClusterIdentity clusterIdentity = configurations.getClusterIdentity();
                 if (coresSiteMap != null) {
                     coresiteMap = coresSiteMap;
+                    ClusterCoreSiteCache.getInstance().put(clusterRawInfo.getId(), getCreateDate(), coresSiteMap);
                     try {
                         defaultStorageAccount = getDefaultStorageAccount(coresSiteMap, clusterIdentity);
                     } catch (HDIException exp) {
@@ -314,6 +315,16 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
         }
     }
 
+    /**
+     * Get the core-site settings without credentials of the cluster from the local cache
+     *
+     * @return the cached core-site, null if not cached or cached for the cluster created at another time
+     */
+    @Nullable
+    public Map<String, String> getCachedCoreSite() {
+        return ClusterCoreSiteCache.getInstance().get(clusterRawInfo.getId(), getCreateDate());
+    }
+
     @Nullable
     @Override
     public String getDefaultStorageRootPath() {
@@ -324,10 +335,20 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
             if (!(clusterOperation instanceof ClusterOperationNewAPIImpl)) {
                 requestedCoresiteMap = this.coresiteMap;
             } else {
-                requestedCoresiteMap =
-                        ((ClusterOperationNewAPIImpl) clusterOperation).getClusterCoreSiteRequest(clusterRawInfo.getId())
-                                .toBlocking()
-                                .singleOrDefault(null);
+                // The default file system isn't a credential, so it can be taken from the local cache
+                requestedCoresiteMap = getCachedCoreSite();
+
+                if (requestedCoresiteMap == null) {
+                    requestedCoresiteMap =
+                            ((ClusterOperationNewAPIImpl) clusterOperation).getClusterCoreSiteRequest(clusterRawInfo.getId())
+                                    .toBlocking()
+                                    .singleOrDefault(null);
+
+                    if (requestedCoresiteMap != null) {
+                        ClusterCoreSiteCache.getInstance().put(
+                                clusterRawInfo.getId(), getCreateDate(), requestedCoresiteMap);
+                    }
+                }
             }
 
             if (requestedCoresiteMap == null) {
@@ -26,6 +26,9 @@ import java.util.Optional;
 import java.util.Set;
 
 public class ClusterManager implements ILogger {
+    // Limit the cluster configuration probes in flight of each subscription, not to be throttled by ARM
+    public static final int MAX_CONCURRENT_PROBES = 8;
+
     // Singleton Instance
     private static ClusterManager instance = null;
 
@@ -62,7 +65,20 @@ public class ClusterManager implements ILogger {
      * @param subscriptions
      * @return detailed cluster info list with specific cluster type
      */
-    public synchronized Observable<List<ClusterDetail>> getHDInsightClustersWithSpecificType(
+    public Observable<List<ClusterDetail>> getHDInsightClustersWithSpecificType(
+            List<SubscriptionDetail> subscriptions,
+            String osType) {
+        return listHDInsightClustersWithSpecificType(subscriptions, osType).toList();
+    }
+
+    /**
+     * list hdinsight detailed clusters with specific cluster type: Spark and RServer, each cluster is emitted
+     * as soon as its new API probe is done, with at most {@link #MAX_CONCURRENT_PROBES} probes in flight
+     *
+     * @param subscriptions
+     * @return the Observable of detailed clusters with specific cluster type
+     */
+    public Observable<ClusterDetail> listHDInsightClustersWithSpecificType(
             List<SubscriptionDetail> subscriptions,
             String osType) {
         return Observable.from(subscriptions)
@@ -96,7 +112,7 @@ public class ClusterManager implements ILogger {
                                     } else {
                                         return Observable.just(new ClusterDetail(subscriptionDetail, clusterRawInfo, new ClusterOperationImpl()));
                                     }
-                                })
+                                }, MAX_CONCURRENT_PROBES)
                 )
                 .doOnNext(clusterDetail -> {
                     String debugMsg = String.format("Thread: %s. Sub: %s. Cluster: %s",
@@ -104,8 +120,7 @@ public class ClusterManager implements ILogger {
                             clusterDetail.getSubscription().getSubscriptionName(),
                             clusterDetail.getName());
                     log().info(debugMsg);
-                })
-                .toList();
+                });
     }
 
     public boolean isHDInsightNewSDKEnabled() {
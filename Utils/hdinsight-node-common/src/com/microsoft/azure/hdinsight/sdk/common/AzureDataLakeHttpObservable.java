@@ -34,19 +34,33 @@ public class AzureDataLakeHttpObservable extends AzureHttpObservable {
     @Override
     public Observable<HttpResponse> requestWithHttpResponse(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders) {
         return super.requestWithHttpResponse(httpRequest, entity, parameters, addOrReplaceHeaders)
-                .onErrorResumeNext(err -> {
-                    if (err instanceof HttpErrorStatus) {
-                        HttpErrorStatus status = (HttpErrorStatus) err;
-                        return Observable.error(
-                                new SparkAzureDataLakePoolServiceException(
-                                        status.getStatusCode(),
-                                        err.getMessage(),
-                                        getRequestIdFromHeaders(status.getHeaders()),
-                                        httpRequest.getURI()));
-                    } else {
-                        return Observable.error(err);
-                    }
-                });
+                .onErrorResumeNext(err -> Observable.error(convertHttpError(httpRequest, err)));
+    }
+
+    @Override
+    public <T> Observable<T> requestWithJsonResponse(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders, Class<T> clazz) {
+        return super.requestWithJsonResponse(httpRequest, entity, parameters, addOrReplaceHeaders, clazz)
+                .onErrorResumeNext(err -> Observable.error(convertHttpError(httpRequest, err)));
+    }
+
+    @Override
+    public <T> Observable<T> requestWithJsonArrayResponse(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders, Class<T> clazz) {
+        return super.requestWithJsonArrayResponse(httpRequest, entity, parameters, addOrReplaceHeaders, clazz)
+                .onErrorResumeNext(err -> Observable.error(convertHttpError(httpRequest, err)));
+    }
+
+    @NotNull
+    private Throwable convertHttpError(@NotNull HttpRequestBase httpRequest, @NotNull Throwable err) {
+        if (err instanceof HttpErrorStatus) {
+            HttpErrorStatus status = (HttpErrorStatus) err;
+            return new SparkAzureDataLakePoolServiceException(
+                    status.getStatusCode(),
+                    err.getMessage(),
+                    getRequestIdFromHeaders(status.getHeaders()),
+                    httpRequest.getURI());
+        }
+
+        return err;
     }
 
     @NotNull
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.service.ServiceManager;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.TrustStrategy;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The process-wide HTTP connection pool shared by all {@link HttpObservable} instances. Connections are pooled
+ * per route (endpoint) and kept alive between requests, so that the TLS handshakes to Livy, Yarn and storage
+ * endpoints are reused instead of being made by every new HTTP client.
+ */
+public class HttpConnectionPoolRegistry implements ILogger {
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final long DEFAULT_KEEP_ALIVE_MS = TimeUnit.SECONDS.toMillis(30);
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    // Fail the requests waiting for a connection of the exhausted pool rather than blocking forever
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MS = (int) TimeUnit.SECONDS.toMillis(60);
+
+    private static final long EVICTION_INTERVAL_SECONDS = 5;
+
+    // Lazy singleton initialization
+    private static class LazyHolder {
+        static final HttpConnectionPoolRegistry INSTANCE = new HttpConnectionPoolRegistry();
+    }
+
+    public static HttpConnectionPoolRegistry getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    @NotNull
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @NotNull
+    private final ConcurrentMap<String, AtomicLong> handshakeCounts = new ConcurrentHashMap<>();
+
+    private volatile long keepAliveMs = DEFAULT_KEEP_ALIVE_MS;
+
+    private volatile long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+
+    private HttpConnectionPoolRegistry() {
+        final Registry<ConnectionSocketFactory> socketFactoryRegistry =
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new HandshakeCountingSSLSocketFactory())
+                        .build();
+
+        this.connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        this.connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_PER_ROUTE);
+        this.connectionManager.setMaxTotal(DEFAULT_MAX_TOTAL);
+
+        // Evict the expired and idle connections in background
+        Observable.interval(EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS, Schedulers.computation())
+                .subscribe(any -> evictConnections(),
+                           err -> log().warn("HTTP connection pool eviction stopped: " + err));
+    }
+
+    /*
+     * Getter / Setter
+     */
+
+    @NotNull
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    public HttpConnectionPoolRegistry setMaxTotal(final int maxTotal) {
+        connectionManager.setMaxTotal(maxTotal);
+
+        return this;
+    }
+
+    public HttpConnectionPoolRegistry setDefaultMaxPerRoute(final int maxPerRoute) {
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        return this;
+    }
+
+    /**
+     * Set the max connections for the direct route to the endpoint
+     *
+     * @param endpoint the endpoint URI, only the scheme, host and port are used
+     * @param maxPerRoute the max connections
+     * @return the current registry
+     */
+    public HttpConnectionPoolRegistry setMaxPerRoute(@NotNull final URI endpoint, final int maxPerRoute) {
+        final HttpHost target = getTargetHost(endpoint);
+        connectionManager.setMaxPerRoute(
+                new HttpRoute(target, null, "https".equalsIgnoreCase(target.getSchemeName())), maxPerRoute);
+
+        return this;
+    }
+
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    /**
+     * Set the keep alive duration for the connections whose response has no `Keep-Alive` header
+     *
+     * @param keepAliveMs the keep alive duration in milliseconds
+     * @return the current registry
+     */
+    public HttpConnectionPoolRegistry setKeepAliveMs(final long keepAliveMs) {
+        this.keepAliveMs = keepAliveMs;
+
+        return this;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public HttpConnectionPoolRegistry setIdleTimeoutMs(final long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+
+        return this;
+    }
+
+    /*
+     * Helper functions
+     */
+
+    /**
+     * Create a HTTP client borrowing connections from the shared pool, the cookies and request configurations
+     * are kept by the client itself
+     *
+     * @param cookieStore the cookie store of the client
+     * @param requestConfig the default request configuration of the client
+     * @return a HTTP client with the shared connection pool, it's cheap to create and no need to close
+     */
+    @NotNull
+    public CloseableHttpClient createHttpClient(@NotNull final CookieStore cookieStore,
+                                                @NotNull final RequestConfig requestConfig) {
+        final RequestConfig pooledRequestConfig = requestConfig.getConnectionRequestTimeout() > 0
+                ? requestConfig
+                : RequestConfig.copy(requestConfig)
+                        .setConnectionRequestTimeout(DEFAULT_CONNECTION_REQUEST_TIMEOUT_MS)
+                        .build();
+
+        return HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setKeepAliveStrategy(this::getKeepAliveDuration)
+                .setDefaultCookieStore(cookieStore)
+                .setDefaultRequestConfig(pooledRequestConfig)
+                .build();
+    }
+
+    /**
+     * Get the metrics of all routes in the shared pool
+     *
+     * @return the pool metrics
+     */
+    @NotNull
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(connectionManager.getTotalStats(),
+                               handshakeCounts.values().stream().mapToLong(AtomicLong::get).sum());
+    }
+
+    /**
+     * Get the metrics of the routes to the endpoint
+     *
+     * @param endpoint the endpoint URI, only the scheme, host and port are used
+     * @return the pool metrics of the endpoint
+     */
+    @NotNull
+    public PoolMetrics getMetrics(@NotNull final URI endpoint) {
+        final HttpHost target = getTargetHost(endpoint);
+        int leased = 0;
+        int available = 0;
+        int pending = 0;
+        int max = 0;
+
+        for (final HttpRoute route : connectionManager.getRoutes()) {
+            if (route.getTargetHost().equals(target)) {
+                final PoolStats stats = connectionManager.getStats(route);
+                leased += stats.getLeased();
+                available += stats.getAvailable();
+                pending += stats.getPending();
+                max += stats.getMax();
+            }
+        }
+
+        final AtomicLong handshakes = handshakeCounts.get(getEndpointKey(target.getHostName(), target.getPort()));
+
+        return new PoolMetrics(leased, available, pending, max, handshakes == null ? 0 : handshakes.get());
+    }
+
+    private long getKeepAliveDuration(@NotNull final HttpResponse response, @NotNull final HttpContext context) {
+        final long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+        return duration > 0 ? duration : keepAliveMs;
+    }
+
+    private void evictConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @NotNull
+    private static HttpHost getTargetHost(@NotNull final URI endpoint) {
+        final String scheme = endpoint.getScheme() == null ? "https" : endpoint.getScheme().toLowerCase();
+        final int port = endpoint.getPort() > 0 ? endpoint.getPort() : ("http".equals(scheme) ? 80 : 443);
+
+        return new HttpHost(endpoint.getHost(), port, scheme);
+    }
+
+    @NotNull
+    private static String getEndpointKey(@Nullable final String host, final int port) {
+        return (host == null ? "" : host.toLowerCase()) + ":" + port;
+    }
+
+    @NotNull
+    private SSLConnectionSocketFactory createSSLSocketFactory(@Nullable final TrustStrategy ts,
+                                                              final boolean isValidationDisabled) {
+        final HostnameVerifier hostnameVerifier = isValidationDisabled
+                ? NoopHostnameVerifier.INSTANCE
+                : new DefaultHostnameVerifier();
+
+        SSLContext sslContext = null;
+
+        if (ts != null) {
+            try {
+                sslContext = new SSLContextBuilder()
+                        .loadTrustMaterial(ts)
+                        .build();
+            } catch (Exception e) {
+                log().error("Prepare SSL Context for HTTPS failure. " + ExceptionUtils.getStackTrace(e));
+            }
+        }
+
+        return sslContext == null
+                ? SSLConnectionSocketFactory.getSystemSocketFactory()
+                : new SSLConnectionSocketFactory(sslContext, hostnameVerifier);
+    }
+
+    /**
+     * The SSL socket factory counting the TLS handshakes per endpoint. The trust strategy and the SSL certificate
+     * validation option can be changed at runtime, so the underlying factory is rebuilt once they are changed, and
+     * the idle pooled connections made with the previous settings are closed.
+     */
+    private class HandshakeCountingSSLSocketFactory implements LayeredConnectionSocketFactory {
+        @Nullable
+        private TrustStrategy trustStrategy;
+
+        private boolean isValidationDisabled;
+
+        @Nullable
+        private SSLConnectionSocketFactory delegate;
+
+        @NotNull
+        private synchronized SSLConnectionSocketFactory getDelegate() {
+            final TrustStrategy currentTrustStrategy = ServiceManager.getServiceProvider(TrustStrategy.class);
+            final boolean currentValidationDisabled = HttpObservable.isSSLCertificateValidationDisabled();
+
+            if (delegate == null
+                    || currentTrustStrategy != trustStrategy
+                    || currentValidationDisabled != isValidationDisabled) {
+                if (delegate != null) {
+                    log().info("The SSL settings are changed, drop the idle pooled HTTPS connections");
+                    connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+                }
+
+                trustStrategy = currentTrustStrategy;
+                isValidationDisabled = currentValidationDisabled;
+                delegate = createSSLSocketFactory(currentTrustStrategy, currentValidationDisabled);
+            }
+
+            return delegate;
+        }
+
+        @Override
+        public Socket createSocket(final HttpContext context) throws IOException {
+            return getDelegate().createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(final int connectTimeout,
+                                    final Socket socket,
+                                    final HttpHost host,
+                                    final InetSocketAddress remoteAddress,
+                                    final InetSocketAddress localAddress,
+                                    final HttpContext context) throws IOException {
+            // The TLS handshake is done in connecting the socket
+            final Socket sslSocket = getDelegate().connectSocket(
+                    connectTimeout, socket, host, remoteAddress, localAddress, context);
+            countHandshake(host.getHostName(), remoteAddress.getPort());
+
+            return sslSocket;
+        }
+
+        @Override
+        public Socket createLayeredSocket(final Socket socket,
+                                          final String target,
+                                          final int port,
+                                          final HttpContext context) throws IOException {
+            // The TLS handshake is done in creating the layered socket, for the tunnel through proxy
+            final Socket sslSocket = getDelegate().createLayeredSocket(socket, target, port, context);
+            countHandshake(target, port);
+
+            return sslSocket;
+        }
+
+        private void countHandshake(@Nullable final String host, final int port) {
+            handshakeCounts.computeIfAbsent(getEndpointKey(host, port), key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * The snapshot of connection pool metrics
+     */
+    public static class PoolMetrics {
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int max;
+        private final long handshakes;
+
+        PoolMetrics(@NotNull final PoolStats stats, final long handshakes) {
+            this(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax(), handshakes);
+        }
+
+        PoolMetrics(final int leased, final int available, final int pending, final int max, final long handshakes) {
+            this.leased = leased;
+            this.available = available;
+            this.pending = pending;
+            this.max = max;
+            this.handshakes = handshakes;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public long getHandshakes() {
+            return handshakes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[leased: %d; available: %d; pending: %d; max: %d; handshakes: %d]",
+                                 leased, available, pending, max, handshakes);
+        }
+    }
+}
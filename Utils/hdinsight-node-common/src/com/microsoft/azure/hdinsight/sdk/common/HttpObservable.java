@@ -12,11 +12,9 @@ import com.microsoft.azure.hdinsight.sdk.common.errorresponse.*;
 import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
-import com.microsoft.azuretools.service.ServiceManager;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.*;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.config.AuthSchemes;
@@ -25,29 +23,20 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.*;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.conn.ssl.DefaultHostnameVerifier;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.HeaderGroup;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
-import org.apache.http.ssl.SSLContextBuilder;
-import org.apache.http.ssl.TrustStrategy;
 import org.apache.http.util.EntityUtils;
 import rx.Observable;
 import rx.exceptions.Exceptions;
 
-import javax.net.ssl.SSLContext;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.UnknownServiceException;
 import java.nio.charset.StandardCharsets;
-import java.security.KeyManagementException;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 import static rx.exceptions.Exceptions.propagate;
@@ -108,12 +97,9 @@ public class HttpObservable implements ILogger {
                 .setProxyPreferredAuthSchemes(Collections.singletonList(AuthSchemes.BASIC))
                 .build();
 
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
-                .setDefaultCookieStore(getCookieStore())
-                .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
-                .build();
+        // Borrow connections from the shared pool, with the cookies and request configurations of this instance
+        this.httpClient = HttpConnectionPoolRegistry.getInstance()
+                .createHttpClient(getCookieStore(), getDefaultRequestConfig());
     }
 
     /**
@@ -131,13 +117,6 @@ public class HttpObservable implements ILogger {
             setDefaultHeader(new BasicHeader(
                     HttpHeaders.AUTHORIZATION, String.format("%s %s", "Basic", new String(encodedAuth))));
         }
-
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
-                .setDefaultCookieStore(getCookieStore())
-                .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
-                .build();
     }
 
     /*
@@ -243,27 +222,6 @@ public class HttpObservable implements ILogger {
         }
     }
 
-    private SSLConnectionSocketFactory createSSLSocketFactory() {
-        TrustStrategy ts = ServiceManager.getServiceProvider(TrustStrategy.class);
-        SSLConnectionSocketFactory sslSocketFactory = null;
-
-        if (ts != null) {
-            try {
-                SSLContext sslContext = new SSLContextBuilder()
-                        .loadTrustMaterial(ts)
-                        .build();
-
-                sslSocketFactory = new SSLConnectionSocketFactory(sslContext,
-                        HttpObservable.isSSLCertificateValidationDisabled()
-                                ? NoopHostnameVerifier.INSTANCE
-                                : new DefaultHostnameVerifier());
-            } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
-                log().error("Prepare SSL Context for HTTPS failure. " + ExceptionUtils.getStackTrace(e));
-            }
-        }
-        return sslSocketFactory;
-    }
-
     @NotNull
     public static HttpErrorStatus classifyHttpError(@NotNull CloseableHttpResponse httpResponse) throws IOException {
         StatusLine status = httpResponse.getStatusLine();
@@ -316,14 +274,113 @@ public class HttpObservable implements ILogger {
                     }
                 },
                 // Resource dispose
+                HttpObservable::closeResponseQuietly);
+    }
+
+    /**
+     * Helper to decode the closeable stream good Http response (2xx) to a specified type directly from the
+     * entity stream, without buffering the whole response as String.
+     * If the response is bad, propagate a HttpResponseException
+     *
+     * @param closeableHttpResponse the source closeable stream
+     * @param clazz the target type to convert
+     * @param <T> the target type
+     * @return the specified type class instance
+     */
+    public static <T> Observable<T> toObjectOnlyOkResponse(@NotNull final CloseableHttpResponse closeableHttpResponse,
+                                                           @NotNull final Class<T> clazz) {
+        return Observable.using(
+                // Resource factory
+                () -> closeableHttpResponse,
+                // Observable factory
                 streamResp -> {
                     try {
-                        streamResp.close();
-                    } catch (IOException ignore) {
-                        // The connection will be closed automatically after timeout,
-                        // the exception in closing can be ignored.
+                        StatusLine status = streamResp.getStatusLine();
+
+                        if (status.getStatusCode() >= 300) {
+                            return Observable.error(classifyHttpError(streamResp));
+                        }
+
+                        HttpEntity entity = streamResp.getEntity();
+
+                        if (entity == null) {
+                            return Observable.error(new HDIException("Unknown HTTP server response: no content"));
+                        }
+
+                        try (InputStream inputStream = entity.getContent()) {
+                            return Observable.just(ObjectConvertUtils.convertJsonStreamToObject(inputStream, clazz)
+                                    .orElseThrow(() -> new HDIException(
+                                            "Unknown HTTP server response: null for " + clazz.getName())));
+                        }
+                    } catch (IOException e) {
+                        return Observable.error(e);
                     }
-                });
+                },
+                // Resource dispose
+                HttpObservable::closeResponseQuietly);
+    }
+
+    /**
+     * Helper to decode the closeable stream good Http response (2xx) of JSON array to a specified element type
+     * one by one, so that the whole array isn't held in memory.
+     * If the response is bad, propagate a HttpResponseException
+     *
+     * @param closeableHttpResponse the source closeable stream
+     * @param clazz the element type to convert
+     * @param <T> the element type
+     * @return the elements Observable
+     */
+    public static <T> Observable<T> toElementsOnlyOkResponse(@NotNull final CloseableHttpResponse closeableHttpResponse,
+                                                             @NotNull final Class<T> clazz) {
+        return Observable.using(
+                // Resource factory
+                () -> closeableHttpResponse,
+                // Observable factory
+                streamResp -> {
+                    try {
+                        StatusLine status = streamResp.getStatusLine();
+
+                        if (status.getStatusCode() >= 300) {
+                            return Observable.error(classifyHttpError(streamResp));
+                        }
+
+                        HttpEntity entity = streamResp.getEntity();
+
+                        if (entity == null) {
+                            return Observable.empty();
+                        }
+
+                        return Observable.using(
+                                () -> {
+                                    try {
+                                        return ObjectConvertUtils.convertJsonStreamToIterator(
+                                                entity.getContent(), clazz);
+                                    } catch (IOException e) {
+                                        throw Exceptions.propagate(e);
+                                    }
+                                },
+                                elements -> Observable.from(() -> elements),
+                                elements -> {
+                                    try {
+                                        elements.close();
+                                    } catch (IOException ignore) {
+                                    }
+                                });
+                    } catch (IOException e) {
+                        return Observable.error(e);
+                    }
+                },
+                // Resource dispose
+                HttpObservable::closeResponseQuietly);
+    }
+
+    private static void closeResponseQuietly(@NotNull final CloseableHttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignore) {
+            // The connection will be closed automatically after timeout,
+            // the exception in closing can be ignored.
+        }
     }
 
     /**
@@ -392,6 +449,27 @@ public class HttpObservable implements ILogger {
                 .flatMap(HttpObservable::toStringOnlyOkResponse);
     }
 
+    /*
+     * RESTful API operations with JSON response decoded from stream for specified type
+     */
+    public <T> Observable<T> requestWithJsonResponse(@NotNull final HttpRequestBase httpRequest,
+                                                     @Nullable final HttpEntity entity,
+                                                     final List<NameValuePair> parameters,
+                                                     final List<Header> addOrReplaceHeaders,
+                                                     @NotNull final Class<T> clazz) {
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(resp -> toObjectOnlyOkResponse(resp, clazz));
+    }
+
+    public <T> Observable<T> requestWithJsonArrayResponse(@NotNull final HttpRequestBase httpRequest,
+                                                          @Nullable final HttpEntity entity,
+                                                          final List<NameValuePair> parameters,
+                                                          final List<Header> addOrReplaceHeaders,
+                                                          @NotNull final Class<T> clazz) {
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(resp -> toElementsOnlyOkResponse(resp, clazz));
+    }
+
     public Observable<HttpResponse> head(@NotNull final String uri,
                                          @NotNull final List<NameValuePair> parameters,
                                          @NotNull final List<Header> addOrReplaceHeaders) {
@@ -402,8 +480,24 @@ public class HttpObservable implements ILogger {
                                  final List<NameValuePair> parameters,
                                  final List<Header> addOrReplaceHeaders,
                                  @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpGet(uri), null, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithJsonResponse(new HttpGet(uri), null, parameters, addOrReplaceHeaders, clazz);
+    }
+
+    /**
+     * Get the JSON array and decode its elements one by one, for the large list responses
+     *
+     * @param uri the request URI
+     * @param parameters the request parameters
+     * @param addOrReplaceHeaders the headers to add or replace
+     * @param clazz the element type to convert
+     * @param <T> the element type
+     * @return the elements Observable
+     */
+    public <T> Observable<T> getElements(@NotNull final String uri,
+                                         final List<NameValuePair> parameters,
+                                         final List<Header> addOrReplaceHeaders,
+                                         @NotNull final Class<T> clazz) {
+        return requestWithJsonArrayResponse(new HttpGet(uri), null, parameters, addOrReplaceHeaders, clazz);
     }
 
     public <T> Observable<T> put(@NotNull final String uri,
@@ -411,8 +505,7 @@ public class HttpObservable implements ILogger {
                                  final List<NameValuePair> parameters,
                                  final List<Header> addOrReplaceHeaders,
                                  @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPut(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithJsonResponse(new HttpPut(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public <T> Observable<T> post(@NotNull final String uri,
@@ -420,8 +513,7 @@ public class HttpObservable implements ILogger {
                                   final List<NameValuePair> parameters,
                                   final List<Header> addOrReplaceHeaders,
                                   @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPost(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithJsonResponse(new HttpPost(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public Observable<HttpResponse> delete(@NotNull final String uri,
@@ -435,8 +527,7 @@ public class HttpObservable implements ILogger {
                                    final List<NameValuePair> parameters,
                                    final List<Header> addOrReplaceHeaders,
                                    @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPatch(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithJsonResponse(new HttpPatch(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public Observable<CloseableHttpResponse> executeReqAndCheckStatus(HttpRequestBase httpRequest,
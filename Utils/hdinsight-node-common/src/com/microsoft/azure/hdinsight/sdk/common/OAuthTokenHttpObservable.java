@@ -10,7 +10,6 @@ import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.http.Header;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 
 import java.io.IOException;
@@ -38,11 +37,8 @@ public class OAuthTokenHttpObservable extends HttpObservable {
                 .setCookieSpec(CookieSpecs.DEFAULT)
                 .build());
 
-        setHttpClient(HttpClients.custom()
-                .useSystemProperties()
-                .setDefaultCookieStore(getCookieStore())
-                .setDefaultRequestConfig(getDefaultRequestConfig())
-                .build());
+        setHttpClient(HttpConnectionPoolRegistry.getInstance()
+                .createHttpClient(getCookieStore(), getDefaultRequestConfig()));
     }
 
     @NotNull
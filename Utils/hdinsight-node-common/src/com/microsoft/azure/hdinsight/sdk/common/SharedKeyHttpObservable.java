@@ -19,6 +19,7 @@ import org.apache.http.message.HeaderGroup;
 import rx.Observable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -60,18 +61,29 @@ public class SharedKeyHttpObservable extends HttpObservable {
         // We add necessary information to a temporary header group which is used to generate shared keys
         final HeaderGroup headerGroup = new HeaderGroup();
         headerGroup.setHeaders(getDefaultHeaderGroup().getAllHeaders());
+        // The date is signed per request, since a long running upload outlives the signature's valid time window
+        final Header date = new BasicHeader("x-ms-date", Utility.getGMTTime());
+        headerGroup.updateHeader(date);
         if (entity != null) {
             // We need to set content-length to generate shared key. What need to be point out is that the
             // HttpObservable auto adds this header and calculates length when executing, so the content-length header
             // cannot be added to default header group in case of duplication.
             headerGroup.addHeader(new BasicHeader("Content-Length", String.valueOf(entity.getContentLength())));
         }
-        ofNullable(addOrReplaceHeaders).orElse(emptyList()).forEach(headerGroup::addHeader);
+        ofNullable(addOrReplaceHeaders).orElse(emptyList()).forEach(headerGroup::updateHeader);
+        if (entity != null && entity.getContentType() != null) {
+            // Sign the content type of the entity, which replaces the default one when the request is sent
+            headerGroup.updateHeader(entity.getContentType());
+        }
         String key = cred.generateSharedKey(httpRequest, headerGroup, ofNullable(parameters).orElse(emptyList()));
 
-        getDefaultHeaderGroup().updateHeader(new BasicHeader("Authorization", key));
+        // Send the signature with the request rather than the shared default headers, so that the concurrent
+        // requests don't take each other's
+        final List<Header> signedHeaders = new ArrayList<>(ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        signedHeaders.add(date);
+        signedHeaders.add(new BasicHeader("Authorization", key));
 
-        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), signedHeaders);
     }
 
     @Override
@@ -116,14 +116,28 @@ public class Statement implements ILogger {
      */
 
     public Observable<StatementOutput> run() {
+        return submit()
+                .flatMap(Statement::awaitDone);
+    }
+
+    /**
+     * Submit the statement without waiting for its result. The statements of a session are executed in the order
+     * of submission, so that the next statement can be submitted while the previous ones are running.
+     */
+    public Observable<Statement> submit() {
         return runStatementRequest()
-                .map(this::updateWithResponse)
-                .flatMap(statement -> statement.get()                    // Get statement result
-                        .repeatWhen(ob -> ob.delay(1, TimeUnit.SECONDS)) // The unmet state won't trigger retries,
-                                                                         // which is handled by repeatWhen()
-                        .takeUntil(Statement::isDone)
-                        .filter(Statement::isDone)
-                )
+                .map(this::updateWithResponse);
+    }
+
+    /**
+     * Wait for the submitted statement done
+     */
+    public Observable<StatementOutput> awaitDone() {
+        return get()                                             // Get statement result
+                .repeatWhen(ob -> ob.delay(1, TimeUnit.SECONDS)) // The unmet state won't trigger retries,
+                                                                 // which is handled by repeatWhen()
+                .takeUntil(Statement::isDone)
+                .filter(Statement::isDone)
                 .map(Statement::getOutput);
     }
 
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.io.spark;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Session;
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Statement;
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.exceptions.StatementExecutionError;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.StatementOutput;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.schedulers.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The output stream to write a cluster file through a Livy interactive session, taking the raw bytes.
+ *
+ * Compared with {@link ClusterFileBase64BufferedOutputStream}, the blocks are larger and encoded in Z85 with 25%
+ * overhead. Several block statements are kept in flight: they are submitted in order, executed in order by the
+ * session, and each one checks its sequence number so that a failed block stops the following ones from writing.
+ */
+public class ClusterFilePipelinedOutputStream extends OutputStream implements ILogger {
+    public static final int DEFAULT_BLOCK_SIZE_KB = 512;
+    public static final int DEFAULT_MAX_STATEMENTS_IN_FLIGHT = 4;
+
+    // Keep each string literal under the 64KB constant limit of the class file, which the REPL compiles into
+    private static final int MAX_LITERAL_LENGTH = 60000;
+
+    @NotNull
+    private final Session session;
+
+    @NotNull
+    private final byte[] buf;
+
+    private int count = 0;
+
+    private final int maxStatementsInFlight;
+
+    @NotNull
+    private final Deque<Future<StatementOutput>> statementsInFlight = new ArrayDeque<>();
+
+    private int nextBlock = 0;
+
+    private boolean closed = false;
+
+    @NotNull
+    private static String getPreloadedCodes(@NotNull URI destination) {
+        // Concatenated rather than formatted, since the Z85 alphabet has '%'
+        return String.join("\n",
+                "import java.io._",
+                "",
+                "val jarOutput = \"" + destination.toString() + "\"",
+                "val fs = org.apache.hadoop.fs.FileSystem.get(sc.hadoopConfiguration)",
+                "val jarFileOutput = fs.create(new org.apache.hadoop.fs.Path(jarOutput), true)",
+                "val out = new BufferedOutputStream(jarFileOutput, 1048576)",
+                "val z85Decoder = {",
+                "    val decoder = new Array[Int](128)",
+                "    \"" + Z85.ALPHABET + "\".zipWithIndex.foreach { case (c, i) => decoder(c) = i }",
+                "    decoder",
+                "}",
+                "var nextBlock = 0",
+                "",
+                "def writeBlock(block: Int, length: Int, pages: Array[String]) = {",
+                "    if (block != nextBlock) {",
+                "        throw new IllegalStateException(\"Expect block \" + nextBlock + \" but got \" + block)",
+                "    }",
+                "",
+                "    val bytes = new Array[Byte]((length + 3) / 4 * 4)",
+                "    var pos = 0",
+                "    for (page <- pages) {",
+                "        var i = 0",
+                "        while (i < page.length) {",
+                "            var value = 0L",
+                "            var j = 0",
+                "            while (j < 5) {",
+                "                value = value * 85 + z85Decoder(page.charAt(i + j))",
+                "                j += 1",
+                "            }",
+                "            bytes(pos) = (value >>> 24).toByte",
+                "            bytes(pos + 1) = (value >>> 16).toByte",
+                "            bytes(pos + 2) = (value >>> 8).toByte",
+                "            bytes(pos + 3) = value.toByte",
+                "            pos += 4",
+                "            i += 5",
+                "        }",
+                "    }",
+                "",
+                "    out.write(bytes, 0, length)",
+                "    nextBlock += 1",
+                "}");
+    }
+
+    public ClusterFilePipelinedOutputStream(@NotNull Session session,
+                                            @NotNull URI destination,
+                                            final int blockSizeKB,
+                                            final int maxStatementsInFlight) {
+        this.session = session;
+        this.buf = new byte[blockSizeKB * 1024];
+        this.maxStatementsInFlight = Math.max(1, maxStatementsInFlight);
+
+        // Pre-load
+        session.runCodes(getPreloadedCodes(destination))
+                .toBlocking()
+                .singleOrDefault(null);
+    }
+
+    public ClusterFilePipelinedOutputStream(@NotNull Session session, @NotNull URI destination) {
+        this(session, destination, DEFAULT_BLOCK_SIZE_KB, DEFAULT_MAX_STATEMENTS_IN_FLIGHT);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buf.length) {
+            flushBlock();
+        }
+
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buf.length) {
+                flushBlock();
+            }
+
+            final int copied = Math.min(len, buf.length - count);
+            System.arraycopy(b, off, buf, count, copied);
+            count += copied;
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    /**
+     * Submit the buffered bytes, without waiting for the statements in flight
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBlock();
+
+        super.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            flushBlock();
+            awaitStatements(0);
+
+            session.runCodes("out.close()")
+                    .toBlocking()
+                    .singleOrDefault(null);
+        } finally {
+            session.close();
+            super.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        final String codes = getWriteBlockCodes(nextBlock, buf, count);
+        count = 0;
+        nextBlock++;
+
+        awaitStatements(maxStatementsInFlight - 1);
+
+        try {
+            final Statement statement = new Statement(
+                    session, new ByteArrayInputStream(codes.getBytes(StandardCharsets.UTF_8)));
+
+            // Submit in order on the caller thread, and wait for the result in background
+            statement.submit().toBlocking().single();
+            statementsInFlight.add(statement.awaitDone()
+                                            .subscribeOn(Schedulers.io())
+                                            .toBlocking()
+                                            .toFuture());
+        } catch (RuntimeException ex) {
+            cancelStatements();
+            throw new IOException("Failed to submit the block " + (nextBlock - 1) + " to write", ex);
+        }
+    }
+
+    private void awaitStatements(final int maxRemaining) throws IOException {
+        while (statementsInFlight.size() > maxRemaining) {
+            final StatementOutput output;
+
+            try {
+                output = statementsInFlight.poll().get();
+            } catch (InterruptedException ex) {
+                cancelStatements();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted when writing the blocks");
+            } catch (ExecutionException ex) {
+                cancelStatements();
+                throw new IOException("Failed to write the block", ex.getCause());
+            }
+
+            if (!"ok".equalsIgnoreCase(output.getStatus())) {
+                cancelStatements();
+                throw new IOException(new StatementExecutionError(
+                        output.getEname(), output.getEvalue(), output.getTraceback()));
+            }
+        }
+    }
+
+    private void cancelStatements() {
+        statementsInFlight.forEach(statement -> statement.cancel(true));
+        statementsInFlight.clear();
+    }
+
+    @NotNull
+    static String getWriteBlockCodes(final int block, @NotNull byte[] data, final int length) {
+        final StringBuilder encoded = new StringBuilder(Z85.encodedLength(length));
+        Z85.encode(data, 0, length, encoded);
+
+        final StringBuilder codes = new StringBuilder(encoded.length() + 64);
+        codes.append("writeBlock(").append(block).append(", ").append(length).append(", Array(");
+
+        for (int start = 0; start < encoded.length(); start += MAX_LITERAL_LENGTH) {
+            codes.append(start == 0 ? "\"" : ", \"")
+                 .append(encoded, start, Math.min(encoded.length(), start + MAX_LITERAL_LENGTH))
+                 .append('"');
+        }
+
+        return codes.append("))").toString();
+    }
+}
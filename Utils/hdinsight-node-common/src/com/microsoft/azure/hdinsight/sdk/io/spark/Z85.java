@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.io.spark;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+
+/**
+ * The Z85 (ZeroMQ Base-85) encoding, which encodes 4 bytes into 5 printable chars with 25% overhead, rather than
+ * 33% of Base64. None of its chars needs escaping in a Scala string literal or JSON.
+ *
+ * The data is padded with zeros to the multiple of 4 bytes, so the receiver needs the original length.
+ */
+public final class Z85 {
+    public static final String ALPHABET =
+            "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#";
+
+    private static final char[] ENCODER = ALPHABET.toCharArray();
+
+    private Z85() {
+    }
+
+    /**
+     * Get the encoded length of the data in bytes
+     */
+    public static int encodedLength(int length) {
+        return (length + 3) / 4 * 5;
+    }
+
+    /**
+     * Encode the data and append to the builder
+     */
+    public static void encode(@NotNull byte[] data, int offset, int length, @NotNull StringBuilder encoded) {
+        final char[] frame = new char[5];
+
+        for (int i = 0; i < length; i += 4) {
+            long value = 0;
+
+            for (int j = 0; j < 4; j++) {
+                value = (value << 8) | (i + j < length ? data[offset + i + j] & 0xFF : 0);
+            }
+
+            for (int j = 4; j >= 0; j--) {
+                frame[j] = ENCODER[(int) (value % 85)];
+                value /= 85;
+            }
+
+            encoded.append(frame);
+        }
+    }
+
+    @NotNull
+    public static String encode(@NotNull byte[] data) {
+        final StringBuilder encoded = new StringBuilder(encodedLength(data.length));
+        encode(data, 0, data.length, encoded);
+
+        return encoded.toString();
+    }
+}
@@ -6,9 +6,12 @@
 package com.microsoft.azure.hdinsight.sdk.rest;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -16,9 +19,13 @@ import org.apache.http.HttpEntity;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 public final class ObjectConvertUtils {
@@ -26,6 +33,26 @@ public final class ObjectConvertUtils {
     private static ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
     private static XmlMapper xmlMapper = new XmlMapper();
 
+    // The object readers are immutable and thread-safe, share them per target class
+    private static final ConcurrentMap<Class<?>, ObjectReader> jsonObjectReaders = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectReader> jsonListReaders = new ConcurrentHashMap<>();
+
+    @NotNull
+    public static JsonFactory getJsonFactory() {
+        return jsonFactory;
+    }
+
+    @NotNull
+    public static ObjectReader getJsonObjectReader(@NotNull Class<?> clazz) {
+        return jsonObjectReaders.computeIfAbsent(clazz, objectMapper::readerFor);
+    }
+
+    @NotNull
+    public static ObjectReader getJsonListReader(@NotNull Class<?> clazz) {
+        return jsonListReaders.computeIfAbsent(clazz, elementClass -> objectMapper.readerFor(
+                TypeFactory.defaultInstance().constructCollectionType(List.class, elementClass)));
+    }
+
     public static <T> Optional<T> convertJsonToObject(@NotNull String jsonString, @NotNull Class<T> clazz) throws IOException {
         return Optional.ofNullable(objectMapper.readValue(jsonString, clazz));
     }
@@ -48,7 +75,9 @@ public final class ObjectConvertUtils {
 
         switch (type) {
             case "application/json" :
-                return convertJsonToObject(EntityUtils.toString(entity), clazz);
+                try (InputStream inputStream = entity.getContent()) {
+                    return convertJsonStreamToObject(inputStream, clazz);
+                }
             case "application/xml" :
                 return convertXmlToObject(EntityUtils.toString(entity), clazz);
             default:
@@ -65,7 +94,9 @@ public final class ObjectConvertUtils {
 
         switch (type) {
             case "application/json" :
-                return convertJsonToList(EntityUtils.toString(entity), clazz);
+                try (InputStream inputStream = entity.getContent()) {
+                    return convertJsonStreamToList(inputStream, clazz);
+                }
             case "application/xml" :
                 return convertXmlToList(EntityUtils.toString(entity), clazz);
             default:
@@ -78,6 +109,37 @@ public final class ObjectConvertUtils {
         return Optional.ofNullable(myLists);
     }
 
+    /**
+     * Decode the JSON object directly from the stream without buffering it as a String
+     *
+     * @param inputStream the JSON stream, not closed by the method
+     * @param clazz the target type to convert
+     * @param <T> the target type
+     * @return the object converted, empty for JSON null
+     * @throws IOException exceptions in reading or decoding
+     */
+    public static <T> Optional<T> convertJsonStreamToObject(@NotNull InputStream inputStream, @NotNull Class<T> clazz) throws IOException {
+        return Optional.ofNullable(getJsonObjectReader(clazz).readValue(inputStream));
+    }
+
+    public static <T> Optional<List<T>> convertJsonStreamToList(@NotNull InputStream inputStream, @NotNull Class<T> clazz) throws IOException {
+        return Optional.ofNullable(getJsonListReader(clazz).readValue(inputStream));
+    }
+
+    /**
+     * Decode the elements of JSON array one by one from the stream, the whole array isn't held in memory
+     *
+     * @param inputStream the JSON array stream, closed when the iterator is closed
+     * @param clazz the element type to convert
+     * @param <T> the element type
+     * @return the iterator of elements
+     * @throws IOException exceptions in reading the start of stream
+     */
+    @NotNull
+    public static <T> MappingIterator<T> convertJsonStreamToIterator(@NotNull InputStream inputStream, @NotNull Class<T> clazz) throws IOException {
+        return getJsonObjectReader(clazz).readValues(inputStream);
+    }
+
     public static <K, V> Optional<Map<K, V>> convertJsonToMap(@NotNull String jsonString) {
         try {
             Map<K, V> map = objectMapper.readValue(jsonString, new TypeReference<Map<K, V>>() {
@@ -102,6 +164,17 @@ public final class ObjectConvertUtils {
         return Optional.empty();
     }
 
+    /**
+     * Encode the object as JSON into the stream directly, without the intermediate string
+     *
+     * @param outputStream the stream to write, not closed after written
+     * @param obj the object to encode
+     * @throws IOException exceptions in encoding or writing
+     */
+    public static void convertObjectToJsonStream(@NotNull OutputStream outputStream, @NotNull Object obj) throws IOException {
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, obj);
+    }
+
     public static <T> Optional<String> convertObjectToXmlString(@NotNull T obj) {
         try {
             return Optional.ofNullable(xmlMapper.writeValueAsString(obj));
@@ -58,4 +58,24 @@ public class Application implements IConvertible {
 
         return lastAttempt.isPresent() ? new AttemptWithAppId(clusterName, getId(), lastAttempt.get()) : null;
     }
+
+    /**
+     * Check if the last attempt is completed, its data in Spark history server won't be changed any more.
+     *
+     * @return true for the last attempt completed.
+     */
+    public boolean isLastAttemptCompleted() {
+        if (attempts == null || attempts.isEmpty()) {
+            return false;
+        }
+
+        // The attempt ID is absent for the application with the only attempt
+        final String lastAttemptId = String.valueOf(attempts.size());
+
+        return attempts.stream()
+                .filter(attempt -> attempt.getAttemptId() == null || attempt.getAttemptId().equals(lastAttemptId))
+                .findFirst()
+                .map(attempt -> Boolean.parseBoolean(attempt.getCompleted()))
+                .orElse(false);
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.rest.spark.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * The event log of SparkListenerTaskEnd
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskEndEventLog {
+    @JsonProperty("Event")
+    private String event;
+
+    @JsonProperty("Stage ID")
+    private int stageId;
+
+    @JsonProperty("Stage Attempt ID")
+    private int stageAttemptId;
+
+    @JsonProperty("Task Type")
+    private String taskType;
+
+    @JsonProperty("Task End Reason")
+    private Map<String, Object> taskEndReason;
+
+    @JsonProperty("Task Info")
+    private Map<String, Object> taskInfo;
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public int getStageId() {
+        return stageId;
+    }
+
+    public void setStageId(int stageId) {
+        this.stageId = stageId;
+    }
+
+    public int getStageAttemptId() {
+        return stageAttemptId;
+    }
+
+    public void setStageAttemptId(int stageAttemptId) {
+        this.stageAttemptId = stageAttemptId;
+    }
+
+    public String getTaskType() {
+        return taskType;
+    }
+
+    public void setTaskType(String taskType) {
+        this.taskType = taskType;
+    }
+
+    public Map<String, Object> getTaskEndReason() {
+        return taskEndReason;
+    }
+
+    public void setTaskEndReason(Map<String, Object> taskEndReason) {
+        this.taskEndReason = taskEndReason;
+    }
+
+    public Map<String, Object> getTaskInfo() {
+        return taskInfo;
+    }
+
+    public void setTaskInfo(Map<String, Object> taskInfo) {
+        this.taskInfo = taskInfo;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.rest.spark.task;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+
+import java.util.List;
+
+/**
+ * The snapshot of an application's tasks summary loading, the tasks are in the order of stages loaded
+ * and only appended by the later snapshots of the same loading. A snapshot only carries the tasks from
+ * the offset requested, so the polling won't get the tasks it already has again.
+ */
+public class TasksSummaryProgress {
+    private boolean completed;
+    private int loadedStages;
+    private int totalStages;
+    private long loadingId;
+    private int offset;
+    private List<Task> tasks;
+
+    public TasksSummaryProgress() {
+    }
+
+    public TasksSummaryProgress(boolean completed,
+                                int loadedStages,
+                                int totalStages,
+                                long loadingId,
+                                int offset,
+                                @NotNull List<Task> tasks) {
+        this.completed = completed;
+        this.loadedStages = loadedStages;
+        this.totalStages = totalStages;
+        this.loadingId = loadingId;
+        this.offset = offset;
+        this.tasks = tasks;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public int getLoadedStages() {
+        return loadedStages;
+    }
+
+    public void setLoadedStages(int loadedStages) {
+        this.loadedStages = loadedStages;
+    }
+
+    public int getTotalStages() {
+        return totalStages;
+    }
+
+    public void setTotalStages(int totalStages) {
+        this.totalStages = totalStages;
+    }
+
+    /**
+     * @return the ID of the loading the tasks are from, 0 for the tasks of a completed loading cached
+     */
+    public long getLoadingId() {
+        return loadingId;
+    }
+
+    public void setLoadingId(long loadingId) {
+        this.loadingId = loadingId;
+    }
+
+    /**
+     * @return the index of the first task in all tasks of the loading
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -354,6 +354,38 @@ public class App implements IConvertible {
         return state.equals("FINISHED") || state.equals("FAILED") || state.equals("KILLED");
     }
 
+    /**
+     * Check if the Yarn log aggregation is done, the aggregated logs won't be changed any more.
+     *
+     * @return true for the log aggregation succeeded, failed or timed out.
+     */
+    public boolean isLogAggregationDone() {
+        if (logAggregationStatus == null) {
+            return false;
+        }
+
+        switch (logAggregationStatus.toUpperCase()) {
+            case "SUCCEEDED":
+            case "FAILED":
+            case "TIME_OUT":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Check if the Yarn job finish, and its log aggregation status won't be changed any more.
+     *
+     * @return true for the finished job with the log aggregation done, disabled or not reported.
+     */
+    public boolean isFinalized() {
+        return isFinished()
+                && (logAggregationStatus == null
+                        || logAggregationStatus.equalsIgnoreCase("DISABLED")
+                        || isLogAggregationDone());
+    }
+
     /**
      * Check if it is job submit from livy.
      *
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.schedulers.Schedulers;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The chunked uploader of ADLS Gen2 files. The file is read in fixed-size chunks from a file channel, which are
+ * appended at their positions in parallel and retried individually, then flushed at once. Only the chunks in
+ * flight are held in memory, rather than the whole file.
+ */
+public class ADLSGen2ChunkedUploader implements ILogger {
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final int DEFAULT_CHUNK_RETRIES = 3;
+
+    private static final long RETRY_BASE_DELAY_MS = 1000;
+
+    @NotNull
+    private final ADLSGen2FSOperation op;
+
+    private final int parallelism;
+
+    private final int chunkRetries;
+
+    public ADLSGen2ChunkedUploader(@NotNull ADLSGen2FSOperation op) {
+        this(op, DEFAULT_PARALLELISM, DEFAULT_CHUNK_RETRIES);
+    }
+
+    public ADLSGen2ChunkedUploader(@NotNull ADLSGen2FSOperation op, int parallelism, int chunkRetries) {
+        this.op = op;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkRetries = Math.max(0, chunkRetries);
+    }
+
+    /**
+     * Upload the file to the created ADLS Gen2 file
+     *
+     * @param filePath the destination file URL, which has been created
+     * @param src the file to upload
+     * @param checkpoint the checkpoint to skip the appended chunks and record the new appended ones, null for
+     *                   uploading all chunks in {@link #DEFAULT_CHUNK_SIZE} without recording
+     * @return the Observable of the uploaded bytes, emitted after each chunk appended, completed after flushed
+     */
+    @NotNull
+    public Observable<Long> upload(@NotNull String filePath,
+                                   @NotNull File src,
+                                   @Nullable ADLSGen2UploadCheckpoint checkpoint) {
+        final int chunkSize = checkpoint != null ? checkpoint.getChunkSize() : DEFAULT_CHUNK_SIZE;
+        final long length = src.length();
+        final int chunks = (int) ((length + chunkSize - 1) / chunkSize);
+        final AtomicLong uploaded = new AtomicLong(checkpoint != null ? checkpoint.getAppendedLength() : 0);
+
+        return Observable.using(
+                () -> {
+                    try {
+                        return FileChannel.open(src.toPath(), StandardOpenOption.READ);
+                    } catch (IOException ex) {
+                        throw new IllegalArgumentException("Can not read the artifact " + src, ex);
+                    }
+                },
+                channel -> Observable.range(0, chunks)
+                        .filter(chunk -> checkpoint == null || !checkpoint.isAppended(chunk))
+                        .flatMap(chunk -> appendChunk(filePath, channel, chunk, chunkSize, length)
+                                        .doOnNext(appended -> {
+                                            if (checkpoint != null) {
+                                                checkpoint.markAppended(chunk);
+                                            }
+                                        })
+                                        .subscribeOn(Schedulers.io()),
+                                 parallelism)
+                        .map(uploaded::addAndGet)
+                        .concatWith(Observable.defer(() -> op.flushData(filePath, length))
+                                              .ignoreElements()
+                                              .map(ignored -> length)),
+                channel -> {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                });
+    }
+
+    @NotNull
+    private Observable<Long> appendChunk(@NotNull String filePath,
+                                         @NotNull FileChannel channel,
+                                         int chunk,
+                                         int chunkSize,
+                                         long length) {
+        final long position = (long) chunk * chunkSize;
+        final int size = (int) Math.min(chunkSize, length - position);
+
+        return Observable.fromCallable(() -> readChunk(channel, position, size))
+                .flatMap(bytes -> op.appendData(
+                        filePath, new ByteArrayEntity(bytes, ContentType.APPLICATION_OCTET_STREAM), position))
+                .retryWhen(errors -> errors
+                        .zipWith(Observable.range(1, chunkRetries + 1), (err, attempt) -> {
+                            if (attempt > chunkRetries) {
+                                throw Exceptions.propagate(err);
+                            }
+
+                            log().warn(String.format("Failed to append the chunk at %d of %s, retry %d: %s",
+                                                     position, filePath, attempt, err));
+                            return attempt;
+                        })
+                        .flatMap(attempt -> Observable.timer(RETRY_BASE_DELAY_MS << (attempt - 1),
+                                                             TimeUnit.MILLISECONDS)));
+    }
+
+    @NotNull
+    private static byte[] readChunk(@NotNull FileChannel channel, long position, int size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        while (buffer.hasRemaining()) {
+            // The positional read doesn't change the channel position, safe for the parallel chunks
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("The artifact is truncated at " + (position + buffer.position()));
+            }
+        }
+
+        return buffer.array();
+    }
+}
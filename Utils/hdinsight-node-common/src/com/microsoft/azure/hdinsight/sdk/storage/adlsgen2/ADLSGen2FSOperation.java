@@ -13,19 +13,19 @@ import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.BufferedHttpEntity;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.message.BasicHeader;
 import rx.Observable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
+import java.net.UnknownServiceException;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,9 +42,6 @@ public class ADLSGen2FSOperation {
     @NotNull
     private List<NameValuePair> createFileReqParams;
 
-    @NotNull
-    private List<NameValuePair> appendReqParams;
-
     @NotNull
     private ADLSGen2ParamsBuilder listReqBuilder;
 
@@ -61,11 +58,6 @@ public class ADLSGen2FSOperation {
                 .setResource("file")
                 .build();
 
-        this.appendReqParams = new ADLSGen2ParamsBuilder()
-                .setAction("append")
-                .setPosition(0)
-                .build();
-
         this.flushReqParamsBuilder = new ADLSGen2ParamsBuilder()
                 .setAction("flush");
     }
@@ -111,8 +103,37 @@ public class ADLSGen2FSOperation {
     }
 
     public Observable<Boolean> uploadData(String destFilePath, File src) {
-        return appendData(destFilePath, src)
-                .flatMap(len -> flushData(destFilePath, len));
+        return new ADLSGen2ChunkedUploader(this)
+                .upload(destFilePath, src, null)
+                .lastOrDefault(0L)
+                .map(ignore -> true);
+    }
+
+    /**
+     * Get the length of the file by its properties
+     *
+     * @return the Observable of the file length, empty if the file doesn't exist
+     */
+    public Observable<Long> getFileLength(String filePath) {
+        return http.request(new HttpHead(filePath), null, Collections.emptyList(), Collections.emptyList())
+                .flatMap(resp -> {
+                    try {
+                        int statusCode = resp.getStatusLine().getStatusCode();
+                        if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                            return Observable.empty();
+                        }
+
+                        Header contentLength = resp.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+                        if (statusCode != HttpStatus.SC_OK || contentLength == null) {
+                            return Observable.error(new UnknownServiceException(String.format(
+                                    "Get properties of %s with unexpected code %s and resp %s", filePath, statusCode, resp)));
+                        }
+
+                        return Observable.just(Long.parseLong(contentLength.getValue()));
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                });
     }
 
     public Observable<RemoteFile> list(String rootPath, String relativePath) {
@@ -128,33 +149,36 @@ public class ADLSGen2FSOperation {
                 .flatMap(pathList -> Observable.from(pathList.getRemoteFiles()));
     }
 
-    private Observable<Long> appendData(String filePath, File src) {
-        try {
-            InputStreamEntity reqEntity = new InputStreamEntity(
-                    new FileInputStream(src),
-                    -1,
-                    ContentType.APPLICATION_OCTET_STREAM);
-            BufferedHttpEntity entity = new BufferedHttpEntity(reqEntity);
-            long len = entity.getContentLength();
-
-            HttpPatch req = new HttpPatch(filePath);
-            http.setContentType("application/octet-stream");
-
-            return http.executeReqAndCheckStatus(req, entity, this.appendReqParams, Collections.emptyList(), 202)
-                    .map(ignore -> len);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not find the aritifact"));
-        } catch (IOException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not read the aritfact"));
-        }
+    /**
+     * Append the data to the file at the position, the appends at different positions can run in parallel
+     *
+     * @return the Observable of the appended length
+     */
+    public Observable<Long> appendData(String filePath, HttpEntity entity, long position) {
+        HttpPatch req = new HttpPatch(filePath);
+        List<NameValuePair> appendReqParams = new ADLSGen2ParamsBuilder()
+                .setAction("append")
+                .setPosition(position)
+                .build();
+
+        // The content type is taken and signed from the entity, rather than the shared headers of the parallel appends
+        return http.executeReqAndCheckStatus(req, entity, appendReqParams, Collections.emptyList(), 202)
+                .map(resp -> {
+                    // Release the connection back to the pool for the next chunk
+                    HttpClientUtils.closeQuietly(resp);
+                    return entity.getContentLength();
+                });
     }
 
-    private Observable<Boolean> flushData(String filePath, long flushLen) {
+    public Observable<Boolean> flushData(String filePath, long flushLen) {
         HttpPatch req = new HttpPatch(filePath);
         List<NameValuePair> flushReqParams = this.flushReqParamsBuilder.setPosition(flushLen).build();
         http.setContentType("application/json");
 
         return http.executeReqAndCheckStatus(req, null, flushReqParams, Collections.emptyList(), 200)
-                .map(ignore -> true);
+                .map(resp -> {
+                    HttpClientUtils.closeQuietly(resp);
+                    return true;
+                });
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * The local checkpoint of a chunked ADLS Gen2 upload, recording the destination and the appended chunks of a local
+ * file, so that an interrupted upload can be resumed by appending the rest chunks to the same destination.
+ *
+ * The checkpoint is keyed by the source file, the destination root and the file length and last modified time, so
+ * that it's only valid for the same file content uploading to the same storage, and the uploads of an artifact to
+ * different storages don't overwrite each other's progress.
+ */
+public class ADLSGen2UploadCheckpoint implements ILogger {
+    private static final String CHECKPOINT_DIR = "adlsgen2-upload-checkpoints";
+
+    private static final String DESTINATION_ROOT = "destinationRoot";
+    private static final String DESTINATION = "destination";
+    private static final String LENGTH = "length";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CHUNK_SIZE = "chunkSize";
+    private static final String APPENDED = "appended";
+
+    @NotNull
+    private final File checkpointFile;
+
+    @NotNull
+    private final String destinationRoot;
+
+    @NotNull
+    private final String destination;
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final int chunkSize;
+
+    @NotNull
+    private final BitSet appended;
+
+    private ADLSGen2UploadCheckpoint(@NotNull File checkpointFile,
+                                     @NotNull String destinationRoot,
+                                     @NotNull String destination,
+                                     long length,
+                                     long lastModified,
+                                     int chunkSize,
+                                     @NotNull BitSet appended) {
+        this.checkpointFile = checkpointFile;
+        this.destinationRoot = destinationRoot;
+        this.destination = destination;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.chunkSize = chunkSize;
+        this.appended = appended;
+    }
+
+    /**
+     * Create a new checkpoint of uploading the source file to the destination under the root, replacing the existing one
+     */
+    @NotNull
+    public static ADLSGen2UploadCheckpoint create(@NotNull File src,
+                                                  @NotNull String destinationRoot,
+                                                  @NotNull String destination,
+                                                  int chunkSize) {
+        ADLSGen2UploadCheckpoint checkpoint = new ADLSGen2UploadCheckpoint(
+                getCheckpointFile(src, destinationRoot), destinationRoot, destination, src.length(),
+                src.lastModified(), chunkSize, new BitSet());
+        checkpoint.save();
+
+        return checkpoint;
+    }
+
+    /**
+     * Load the checkpoint of uploading the source file to the destination root
+     *
+     * @return the checkpoint, null if there is no valid checkpoint for the source file content and the destination root
+     */
+    @Nullable
+    public static ADLSGen2UploadCheckpoint load(@NotNull File src, @NotNull String destinationRoot) {
+        File checkpointFile = getCheckpointFile(src, destinationRoot);
+
+        if (!checkpointFile.isFile()) {
+            return null;
+        }
+
+        Properties props = new Properties();
+
+        try (InputStream in = new FileInputStream(checkpointFile)) {
+            props.load(in);
+
+            long length = Long.parseLong(props.getProperty(LENGTH));
+            long lastModified = Long.parseLong(props.getProperty(LAST_MODIFIED));
+
+            if (length != src.length() || lastModified != src.lastModified()
+                    || !destinationRoot.equals(props.getProperty(DESTINATION_ROOT))) {
+                // The file is changed since the last upload
+                Files.deleteIfExists(checkpointFile.toPath());
+
+                return null;
+            }
+
+            BitSet appended = new BitSet();
+            Arrays.stream(StringUtils.split(props.getProperty(APPENDED, ""), ','))
+                  .mapToInt(Integer::parseInt)
+                  .forEach(appended::set);
+
+            return new ADLSGen2UploadCheckpoint(checkpointFile,
+                                                destinationRoot,
+                                                props.getProperty(DESTINATION),
+                                                length,
+                                                lastModified,
+                                                Integer.parseInt(props.getProperty(CHUNK_SIZE)),
+                                                appended);
+        } catch (IOException | RuntimeException ex) {
+            // Including the broken checkpoint file
+            return null;
+        }
+    }
+
+    @NotNull
+    private static File getCheckpointFile(@NotNull File src, @NotNull String destinationRoot) {
+        String key = String.join("\n",
+                                 src.getAbsolutePath(),
+                                 destinationRoot,
+                                 String.valueOf(src.length()),
+                                 String.valueOf(src.lastModified()));
+
+        return new File(new File(System.getProperty("java.io.tmpdir"), CHECKPOINT_DIR),
+                        DigestUtils.md5Hex(key) + ".properties");
+    }
+
+    @NotNull
+    public String getDestination() {
+        return destination;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public synchronized boolean isAppended(int chunk) {
+        return appended.get(chunk);
+    }
+
+    /**
+     * Get the bytes of chunks appended
+     */
+    public synchronized long getAppendedLength() {
+        return appended.stream()
+                       .mapToLong(chunk -> Math.min(chunkSize, length - (long) chunk * chunkSize))
+                       .sum();
+    }
+
+    public synchronized void markAppended(int chunk) {
+        appended.set(chunk);
+        save();
+    }
+
+    public synchronized void delete() {
+        try {
+            Files.deleteIfExists(checkpointFile.toPath());
+        } catch (IOException ex) {
+            log().warn("Failed to delete the upload checkpoint " + checkpointFile, ex);
+        }
+    }
+
+    private synchronized void save() {
+        Properties props = new Properties();
+        props.setProperty(DESTINATION_ROOT, destinationRoot);
+        props.setProperty(DESTINATION, destination);
+        props.setProperty(LENGTH, String.valueOf(length));
+        props.setProperty(LAST_MODIFIED, String.valueOf(lastModified));
+        props.setProperty(CHUNK_SIZE, String.valueOf(chunkSize));
+        props.setProperty(APPENDED, appended.stream().mapToObj(String::valueOf).collect(Collectors.joining(",")));
+
+        try {
+            Files.createDirectories(checkpointFile.getParentFile().toPath());
+            File tempFile = new File(checkpointFile.getPath() + ".tmp");
+
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                props.store(out, null);
+            }
+
+            Files.move(tempFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // The upload goes on without resuming support
+            log().warn("Failed to save the upload checkpoint " + checkpointFile, ex);
+        }
+    }
+}
@@ -8,6 +8,7 @@ package com.microsoft.azure.hdinsight.serverexplore;
 import com.microsoft.azure.hdinsight.common.ClusterManagerEx;
 import com.microsoft.azure.hdinsight.common.CommonConst;
 import com.microsoft.azure.hdinsight.common.IconPathBuilder;
+import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.serverexplore.hdinsightnode.ClusterNode;
 import com.microsoft.azure.hdinsight.serverexplore.hdinsightnode.HDInsightRootModule;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
@@ -21,6 +22,8 @@ import com.microsoft.tooling.msservices.serviceexplorer.AzureIconSymbol;
 import com.microsoft.tooling.msservices.serviceexplorer.Node;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionEvent;
 
+import java.util.function.Predicate;
+
 public class HDInsightRootModuleImpl extends HDInsightRootModule {
     private static final String HDINSIGHT_NODE_EXPAND = "HDInsightExplorer.HDInsightNodeExpand";
 
@@ -32,6 +35,8 @@ public class HDInsightRootModuleImpl extends HDInsightRootModule {
             .build();
     private static final String BASE_MODULE_NAME = "HDInsight";
 
+    private boolean isClusterNodesRefreshedFromAzure = false;
+
     public HDInsightRootModuleImpl(@NotNull Node parent) {
         super(HDInsight_SERVICE_MODULE_ID, BASE_MODULE_NAME, parent, ICON_PATH);
     }
@@ -49,6 +54,12 @@ public class HDInsightRootModuleImpl extends HDInsightRootModule {
     @Override
     protected void refreshItems() throws AzureCmdException {
         synchronized (this) {
+            if (isClusterNodesRefreshedFromAzure) {
+                // The cluster nodes are added already while refreshing from Azure
+                isClusterNodesRefreshedFromAzure = false;
+                return;
+            }
+
             ClusterManagerEx.getInstance().getCachedClusters().stream()
                     .filter(ClusterManagerEx.getInstance().getHDInsightClusterFilterPredicate())
                     .forEach(cluster -> addChildNode(new ClusterNode(this, cluster)));
@@ -58,7 +69,18 @@ public class HDInsightRootModuleImpl extends HDInsightRootModule {
     @Override
     protected void refreshFromAzure() throws Exception {
         synchronized (this) {
-            ClusterManagerEx.getInstance().getClusterDetails();
+            // Add the cluster nodes as soon as they are loaded, rather than waiting for all subscriptions
+            final Predicate<IClusterDetail> clusterFilter =
+                    ClusterManagerEx.getInstance().getHDInsightClusterFilterPredicate();
+
+            for (final IClusterDetail cluster : ClusterManagerEx.getInstance().listClusterDetails()
+                                                                .filter(clusterFilter::test)
+                                                                .toBlocking()
+                                                                .toIterable()) {
+                addChildNode(new ClusterNode(this, cluster));
+            }
+
+            isClusterNodesRefreshedFromAzure = true;
         }
     }
 
@@ -9,11 +9,14 @@ import com.microsoft.azure.hdinsight.common.AbfsUri;
 import com.microsoft.azure.hdinsight.common.UriUtil;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azure.hdinsight.sdk.storage.adlsgen2.ADLSGen2ChunkedUploader;
 import com.microsoft.azure.hdinsight.sdk.storage.adlsgen2.ADLSGen2FSOperation;
+import com.microsoft.azure.hdinsight.sdk.storage.adlsgen2.ADLSGen2UploadCheckpoint;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.http.HttpStatus;
 import rx.Observable;
 import rx.Observer;
@@ -21,6 +24,10 @@ import rx.exceptions.Exceptions;
 
 import java.io.File;
 import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
 
 public class ADLSGen2Deploy implements Deployable, ILogger {
     @NotNull
@@ -34,27 +41,82 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
         this.http = http;
     }
 
-    private URI getUploadDir() {
+    private URI getUploadDir(@NotNull String sha256Hex) {
         return URI.create(destinationRootPath)
-                  .resolve(JobUtils.getFormatPathByDate() + "/");
+                  .resolve(JobUtils.getFormatPathByDigest(sha256Hex) + "/");
     }
 
     @Override
     public Observable<String> deploy(File src, Observer<SparkLogLine> logSubject) {
+        // The artifact is uploaded into the folder named by its digest, and skipped if it's uploaded already.
         // four steps to upload via adls gen2 rest api
         // 1.put request to create new dir
         // 2.put request to create new file(artifact) which is empty
-        // 3.patch request to append data to file
+        // 3.patch requests to append data chunks to file in parallel
         // 4.patch request to flush data to file
+        final ADLSGen2FSOperation op = new ADLSGen2FSOperation(this.http);
 
-        final URI destURI = getUploadDir();
+        return Observable.fromCallable(() -> ArtifactDigestIndex.getInstance().getSha256Hex(src))
+                .flatMap(digest -> {
+                    final URI destURI = getUploadDir(digest);
 
-        //remove request / end otherwise invalid url response
-        final String destStr = destURI.toString();
-        final String dirPath = destStr.endsWith("/") ? destStr.substring(0, destStr.length() - 1) : destStr;
-        final String filePath = String.format("%s/%s", dirPath, src.getName());
+                    //remove request / end otherwise invalid url response
+                    final String destStr = destURI.toString();
+                    final String dirPath = destStr.endsWith("/") ? destStr.substring(0, destStr.length() - 1) : destStr;
+                    final String filePath = String.format("%s/%s", dirPath, src.getName());
 
-        final ADLSGen2FSOperation op = new ADLSGen2FSOperation(this.http);
+                    // Only the artifact recorded as completely uploaded from here is trusted, and it's probed to be
+                    // still there with the full length
+                    final ArtifactDigestIndex index = ArtifactDigestIndex.getInstance();
+                    final Observable<Long> uploadedLength = index.isUploaded(filePath, digest)
+                            ? op.getFileLength(filePath)
+                                .onErrorResumeNext(err -> {
+                                    log().warn(String.format("Failed to probe the uploaded artifact %s.", filePath), err);
+                                    return Observable.empty();
+                                })
+                            : Observable.empty();
+
+                    return uploadedLength
+                            .filter(length -> length == src.length())
+                            .map(length -> {
+                                logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                                        "The artifact %s has been uploaded to %s, skip uploading.", src, filePath)));
+
+                                return AbfsUri.parse(filePath).getUri().toString();
+                            })
+                            .switchIfEmpty(Observable.defer(() -> resumeOrUpload(op, src, dirPath, filePath, logSubject)
+                                    .doOnNext(ignore -> index.markUploaded(filePath, digest))));
+                });
+    }
+
+    private Observable<String> resumeOrUpload(@NotNull ADLSGen2FSOperation op,
+                                              @NotNull File src,
+                                              @NotNull String dirPath,
+                                              @NotNull String filePath,
+                                              @NotNull Observer<SparkLogLine> logSubject) {
+        final ADLSGen2UploadCheckpoint checkpoint = ADLSGen2UploadCheckpoint.load(src, destinationRootPath);
+
+        if (checkpoint == null || !checkpoint.getDestination().equals(filePath)) {
+            return createAndUpload(op, src, dirPath, filePath, logSubject);
+        }
+
+        // Resume the interrupted upload of the same artifact, the created file only lacks the rest chunks
+        log().info(String.format("Resume uploading %s to %s.", src, filePath));
+
+        return upload(op, filePath, src, checkpoint, logSubject)
+                .onErrorResumeNext(err -> {
+                    log().warn(String.format("Failed to resume uploading to %s, upload again.", filePath), err);
+                    checkpoint.delete();
+
+                    return createAndUpload(op, src, dirPath, filePath, logSubject);
+                });
+    }
+
+    private Observable<String> createAndUpload(@NotNull ADLSGen2FSOperation op,
+                                               @NotNull File src,
+                                               @NotNull String dirPath,
+                                               @NotNull String filePath,
+                                               @NotNull Observer<SparkLogLine> logSubject) {
         return op.createDir(dirPath, "0755")
                  .onErrorReturn(err -> {
                      if (err.getMessage() != null && (err.getMessage().contains(String.valueOf(HttpStatus.SC_FORBIDDEN))
@@ -75,9 +137,49 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
                  })
                  .doOnNext(ignore -> log().info(String.format("Create filesystem %s successfully.", dirPath)))
                  .flatMap(ignore -> op.createFile(filePath, "0755"))
-                 .flatMap(ignore -> op.uploadData(filePath, src))
-                 .doOnNext(ignore -> log().info(String.format("Append data to file %s successfully.", filePath)))
-                 .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
+                 .flatMap(ignore -> upload(op,
+                                           filePath,
+                                           src,
+                                           ADLSGen2UploadCheckpoint.create(
+                                                   src, destinationRootPath, filePath,
+                                                   ADLSGen2ChunkedUploader.DEFAULT_CHUNK_SIZE),
+                                           logSubject));
+    }
+
+    private Observable<String> upload(@NotNull ADLSGen2FSOperation op,
+                                      @NotNull String filePath,
+                                      @NotNull File src,
+                                      @Nullable ADLSGen2UploadCheckpoint checkpoint,
+                                      @NotNull Observer<SparkLogLine> logSubject) {
+        final long total = src.length();
+
+        return Observable.defer(() -> {
+            final long startTime = System.nanoTime();
+            final long startBytes = checkpoint != null ? checkpoint.getAppendedLength() : 0;
+
+            return new ADLSGen2ChunkedUploader(op)
+                    .upload(filePath, src, checkpoint)
+                    .throttleLast(2, TimeUnit.SECONDS)
+                    .doOnNext(uploaded -> logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                            "Uploaded %.1f MB of %.1f MB (%.1f MB/s)",
+                            toMB(uploaded),
+                            toMB(total),
+                            toMB(uploaded - startBytes) * TimeUnit.SECONDS.toNanos(1)
+                                    / Math.max(1, System.nanoTime() - startTime)))))
+                    .lastOrDefault(total);
+        })
+                .doOnNext(ignore -> {
+                    if (checkpoint != null) {
+                        checkpoint.delete();
+                    }
+
+                    log().info(String.format("Append data to file %s successfully.", filePath));
+                })
+                .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
+    }
+
+    private static double toMB(long bytes) {
+        return bytes / 1024.0 / 1024.0;
     }
 
     public static String getForbiddenErrorHints(String fileSystemRootPath) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The local index of the artifact SHA-256 digests, which name the content addressed upload paths of the artifacts.
+ *
+ * A digest is only computed again when the artifact length or last modified time changes, so that the unchanged
+ * dependency jars are not read again for each submission. The index is saved to the temp folder to survive restarts.
+ *
+ * The index also records the destinations which the artifacts are completely uploaded to with their digests, since
+ * the remote file length alone can't tell an interrupted or a foreign upload from the same content.
+ */
+public class ArtifactDigestIndex implements ILogger {
+    private static final int MAX_ENTRIES = 256;
+    private static final String INDEX_FILE_NAME = "spark-artifact-digests.properties";
+    private static final String UPLOADED_PREFIX = "uploaded:";
+
+    private static final ArtifactDigestIndex INSTANCE = new ArtifactDigestIndex(
+            new File(System.getProperty("java.io.tmpdir"), INDEX_FILE_NAME));
+
+    @NotNull
+    private final File indexFile;
+
+    // Artifact absolute path -> "length,lastModified,sha256", the least recently used entry is dropped when full
+    @NotNull
+    private final Map<String, String> entries = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // Uploaded destination -> sha256, the least recently used entry is dropped when full
+    @NotNull
+    private final Map<String, String> uploads = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    ArtifactDigestIndex(@NotNull File indexFile) {
+        this.indexFile = indexFile;
+        load();
+    }
+
+    @NotNull
+    public static ArtifactDigestIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the SHA-256 digest of the artifact in hex, the artifact is streamed rather than loaded into memory
+     */
+    @NotNull
+    public String getSha256Hex(@NotNull File artifact) throws IOException {
+        final String path = artifact.getAbsolutePath();
+        final String stamp = artifact.length() + "," + artifact.lastModified();
+        final String indexed = getEntry(path);
+
+        if (indexed != null && StringUtils.substringBeforeLast(indexed, ",").equals(stamp)) {
+            return StringUtils.substringAfterLast(indexed, ",");
+        }
+
+        final String digest;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(artifact))) {
+            digest = DigestUtils.sha256Hex(in);
+        }
+
+        putEntry(path, stamp + "," + digest);
+
+        return digest;
+    }
+
+    /**
+     * Check if the artifact with the digest has been completely uploaded to the destination from here
+     */
+    public synchronized boolean isUploaded(@NotNull String destination, @NotNull String sha256Hex) {
+        return sha256Hex.equals(uploads.get(destination));
+    }
+
+    /**
+     * Record the artifact with the digest is completely uploaded to the destination
+     */
+    public synchronized void markUploaded(@NotNull String destination, @NotNull String sha256Hex) {
+        uploads.put(destination, sha256Hex);
+        save();
+    }
+
+    @Nullable
+    private synchronized String getEntry(@NotNull String path) {
+        return entries.get(path);
+    }
+
+    private synchronized void putEntry(@NotNull String path, @NotNull String entry) {
+        entries.put(path, entry);
+        save();
+    }
+
+    private synchronized void load() {
+        if (!indexFile.isFile()) {
+            return;
+        }
+
+        final Properties props = new Properties();
+
+        try (InputStream in = new FileInputStream(indexFile)) {
+            props.load(in);
+            props.stringPropertyNames().forEach(key -> {
+                if (key.startsWith(UPLOADED_PREFIX)) {
+                    uploads.put(key.substring(UPLOADED_PREFIX.length()), props.getProperty(key));
+                } else {
+                    entries.put(key, props.getProperty(key));
+                }
+            });
+        } catch (IOException ex) {
+            log().warn("Failed to load the artifact digest index " + indexFile, ex);
+        }
+    }
+
+    private synchronized void save() {
+        final Properties props = new Properties();
+        props.putAll(entries);
+        uploads.forEach((destination, digest) -> props.setProperty(UPLOADED_PREFIX + destination, digest));
+
+        try {
+            final File tempFile = new File(indexFile.getPath() + ".tmp");
+
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                props.store(out, null);
+            }
+
+            Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // The digests are computed again next time
+            log().warn("Failed to save the artifact digest index " + indexFile, ex);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.HttpResponse;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
+import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
+import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppResponse;
+import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.YarnApplicationResponse;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.UnknownServiceException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per cluster Spark batch job state watcher, which serves all the watched jobs of a cluster with one Livy
+ * batches listing request and one Yarn applications listing request per tick, instead of a polling loop per job.
+ *
+ * The watching interval of a job is lengthened with its watching time, from {@link #BASE_INTERVAL_MS} till
+ * {@link #MAX_INTERVAL_MS}, since the long-running jobs don't need to be checked as frequently.
+ *
+ * The Yarn applications listing only covers the unfinished applications, the finished ones are got one by one,
+ * since a watch could be created long after its application finished.
+ */
+public class JobStateWatcher implements ILogger {
+    public static final long BASE_INTERVAL_MS = 1000;
+    public static final long MAX_INTERVAL_MS = 30000;
+
+    // The watching interval is 1/INTERVAL_GROWTH_DIVISOR of the watching time
+    private static final int INTERVAL_GROWTH_DIVISOR = 30;
+    private static final int LIVY_BATCHES_PAGE_SIZE = 100;
+    private static final int FAILURES_MAX = 3;
+
+    // The Yarn application states before finished
+    private static final String YARN_UNFINISHED_STATES = "NEW,NEW_SAVING,SUBMITTED,ACCEPTED,RUNNING";
+
+    // Livy batches URI (in lower case) -> watcher
+    private static final ConcurrentMap<String, JobStateWatcher> watchers = new ConcurrentHashMap<>();
+
+    /**
+     * Get the watcher of the cluster
+     *
+     * @param livyBatchesUri the Livy batches connection URI, such as http://livy:8998/batches
+     * @param yarnAppsUri the Yarn applications connection URI, such as http://hn0:8088/ws/v1/cluster/apps/,
+     *                    null for no Yarn application to watch
+     * @param submission the submission for the REST requests with the cluster's credential, which replaces the
+     *                   one of the former registrations, since the cluster credential could be changed
+     * @return the watcher
+     */
+    @NotNull
+    public static JobStateWatcher getInstance(@NotNull URI livyBatchesUri,
+                                              @Nullable URI yarnAppsUri,
+                                              @NotNull SparkBatchSubmission submission) {
+        JobStateWatcher watcher = watchers.computeIfAbsent(livyBatchesUri.toString().toLowerCase(Locale.ROOT),
+                                                           key -> new JobStateWatcher(livyBatchesUri, submission));
+
+        watcher.submission = submission;
+
+        if (yarnAppsUri != null) {
+            watcher.yarnAppsUri = yarnAppsUri;
+        }
+
+        return watcher;
+    }
+
+    @NotNull
+    private final URI livyBatchesUri;
+
+    @Nullable
+    private volatile URI yarnAppsUri;
+
+    @NotNull
+    private volatile SparkBatchSubmission submission;
+
+    // The watches, accessing with the watcher lock
+    private final Map<Integer, Watch<SparkSubmitResponse>> batchWatches = new HashMap<>();
+    private final Map<String, Watch<App>> yarnAppWatches = new HashMap<>();
+
+    @Nullable
+    private Subscription ticking;
+
+    private int livyFailures = 0;
+    private int yarnFailures = 0;
+
+    JobStateWatcher(@NotNull URI livyBatchesUri, @NotNull SparkBatchSubmission submission) {
+        this.livyBatchesUri = livyBatchesUri;
+        this.submission = submission;
+    }
+
+    /**
+     * Watch the Livy batch job status
+     *
+     * @param batchId the Livy batch ID
+     * @return the batch status Observable, emitting per watching tick, completed if the batch is gone
+     */
+    @NotNull
+    public Observable<SparkSubmitResponse> watchBatch(int batchId) {
+        return watch(batchWatches, batchId);
+    }
+
+    /**
+     * Watch the Yarn application
+     *
+     * @param applicationId the Yarn application ID
+     * @return the Yarn application Observable, emitting per watching tick
+     */
+    @NotNull
+    public Observable<App> watchYarnApp(@NotNull String applicationId) {
+        return watch(yarnAppWatches, applicationId);
+    }
+
+    @NotNull
+    private <K, V> Observable<V> watch(@NotNull Map<K, Watch<V>> watches, @NotNull K key) {
+        return Observable.defer(() -> {
+            final Watch<V> watch;
+
+            synchronized (this) {
+                watch = watches.computeIfAbsent(key, k -> new Watch<>());
+                watch.subscribers++;
+
+                if (ticking == null) {
+                    ticking = Observable.interval(BASE_INTERVAL_MS, TimeUnit.MILLISECONDS, Schedulers.io())
+                                        .subscribe(any -> tick(), err -> log().warn("Job state watcher stopped", err));
+                }
+            }
+
+            return watch.subject.doOnUnsubscribe(() -> release(watches, key, watch));
+        });
+    }
+
+    private synchronized <K, V> void release(@NotNull Map<K, Watch<V>> watches, @NotNull K key, @NotNull Watch<V> watch) {
+        if (--watch.subscribers <= 0) {
+            watches.remove(key, watch);
+        }
+
+        if (batchWatches.isEmpty() && yarnAppWatches.isEmpty() && ticking != null) {
+            ticking.unsubscribe();
+            ticking = null;
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        Map<Integer, Watch<SparkSubmitResponse>> dueBatches = new HashMap<>();
+        Map<String, Watch<App>> dueYarnApps = new HashMap<>();
+
+        synchronized (this) {
+            batchWatches.forEach((id, watch) -> {
+                if (watch.isDue(now)) {
+                    dueBatches.put(id, watch);
+                }
+            });
+
+            yarnAppWatches.forEach((id, watch) -> {
+                if (watch.isDue(now)) {
+                    dueYarnApps.put(id, watch);
+                }
+            });
+        }
+
+        if (!dueBatches.isEmpty()) {
+            pollLivyBatches(dueBatches);
+        }
+
+        if (!dueYarnApps.isEmpty()) {
+            pollYarnApps(dueYarnApps);
+        }
+    }
+
+    private void pollLivyBatches(@NotNull Map<Integer, Watch<SparkSubmitResponse>> dueBatches) {
+        Map<Integer, SparkSubmitResponse> found = new HashMap<>();
+
+        try {
+            int from = 0;
+            int total;
+
+            // Page through the batches till all due batches found
+            do {
+                SparkBatchesResponse batches = getJson(
+                        String.format("%s?from=%d&size=%d", livyBatchesUri, from, LIVY_BATCHES_PAGE_SIZE),
+                        SparkBatchesResponse.class);
+                List<SparkSubmitResponse> sessions = batches.getSessions() == null
+                        ? new ArrayList<>()
+                        : batches.getSessions();
+
+                sessions.stream()
+                        .filter(session -> dueBatches.containsKey(session.getId()))
+                        .forEach(session -> found.put(session.getId(), session));
+
+                from += sessions.size();
+                total = batches.getTotal();
+
+                if (sessions.isEmpty()) {
+                    break;
+                }
+            } while (found.size() < dueBatches.size() && from < total);
+
+            livyFailures = 0;
+        } catch (IOException ex) {
+            log().debug("Failed to list Livy batches of " + livyBatchesUri + ": " + ex);
+
+            if (++livyFailures >= FAILURES_MAX) {
+                livyFailures = 0;
+                dueBatches.forEach((id, watch) -> fail(batchWatches, id, watch, ex));
+            }
+
+            return;
+        }
+
+        dueBatches.forEach((id, watch) -> {
+            SparkSubmitResponse status = found.get(id);
+
+            if (status == null) {
+                // Not in the list, such as purged by Livy, check it alone
+                status = getBatchStatusQuietly(id);
+            }
+
+            if (status == null) {
+                complete(batchWatches, id, watch);
+            } else {
+                watch.subject.onNext(status);
+            }
+        });
+    }
+
+    @Nullable
+    private SparkSubmitResponse getBatchStatusQuietly(int batchId) {
+        try {
+            HttpResponse httpResponse = submission.getBatchSparkJobStatus(livyBatchesUri.toString(), batchId);
+
+            if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
+                return ObjectConvertUtils.convertJsonToObject(httpResponse.getMessage(), SparkSubmitResponse.class)
+                                         .orElse(null);
+            }
+        } catch (IOException ex) {
+            log().debug("Failed to get Livy batch " + batchId + " status: " + ex);
+        }
+
+        return null;
+    }
+
+    private void pollYarnApps(@NotNull Map<String, Watch<App>> dueYarnApps) {
+        URI appsUri = yarnAppsUri;
+
+        if (appsUri == null) {
+            return;
+        }
+
+        String appsUrl = appsUri.toString().replaceAll("/+$", "");
+        Map<String, App> found = new HashMap<>();
+
+        try {
+            getJson(String.format("%s?applicationTypes=SPARK&states=%s", appsUrl, YARN_UNFINISHED_STATES),
+                    YarnApplicationResponse.class)
+                    .getAllApplication()
+                    .orElseGet(ArrayList::new)
+                    .stream()
+                    .filter(app -> dueYarnApps.containsKey(app.getId()))
+                    .forEach(app -> found.put(app.getId(), app));
+
+            yarnFailures = 0;
+        } catch (IOException ex) {
+            log().debug("Failed to list Yarn applications of " + appsUri + ": " + ex);
+
+            if (++yarnFailures >= FAILURES_MAX) {
+                yarnFailures = 0;
+                dueYarnApps.forEach((id, watch) -> fail(yarnAppWatches, id, watch, ex));
+            }
+
+            return;
+        }
+
+        dueYarnApps.forEach((id, watch) -> {
+            App app = found.get(id);
+
+            if (app == null) {
+                // Not in the list, such as finished, check it alone
+                app = getYarnAppQuietly(appsUrl, id);
+            }
+
+            if (app != null) {
+                watch.subject.onNext(app);
+            }
+        });
+    }
+
+    @Nullable
+    private App getYarnAppQuietly(@NotNull String appsUrl, @NotNull String applicationId) {
+        try {
+            return getJson(String.format("%s/%s", appsUrl, applicationId), AppResponse.class).getApp();
+        } catch (IOException ex) {
+            log().debug("Failed to get Yarn application " + applicationId + ": " + ex);
+        }
+
+        return null;
+    }
+
+    @NotNull
+    private <T> T getJson(@NotNull String url, @NotNull Class<T> clazz) throws IOException {
+        HttpResponse httpResponse = submission.getHttpResponseViaGet(url);
+
+        if (httpResponse.getCode() < 200 || httpResponse.getCode() >= 300) {
+            throw new UnknownServiceException("Failed to get " + url + ": " + httpResponse.getCode());
+        }
+
+        return ObjectConvertUtils.convertJsonToObject(httpResponse.getMessage(), clazz)
+                                 .orElseThrow(() -> new UnknownServiceException(
+                                         "Bad response from " + url + ": " + httpResponse.getMessage()));
+    }
+
+    private <K, V> void complete(@NotNull Map<K, Watch<V>> watches, @NotNull K key, @NotNull Watch<V> watch) {
+        synchronized (this) {
+            watches.remove(key, watch);
+        }
+
+        watch.subject.onCompleted();
+    }
+
+    private <K, V> void fail(@NotNull Map<K, Watch<V>> watches,
+                             @NotNull K key,
+                             @NotNull Watch<V> watch,
+                             @NotNull Throwable err) {
+        synchronized (this) {
+            watches.remove(key, watch);
+        }
+
+        watch.subject.onError(err);
+    }
+
+    private static class Watch<V> {
+        private final PublishSubject<V> subject = PublishSubject.create();
+        private final long createdNanos = System.nanoTime();
+        private long nextDueNanos = createdNanos;
+        private int subscribers = 0;
+
+        /**
+         * Check if the watch is due at the time, and schedule the next one if it is
+         */
+        boolean isDue(long now) {
+            if (now < nextDueNanos) {
+                return false;
+            }
+
+            long intervalMs = Math.max(BASE_INTERVAL_MS, Math.min(MAX_INTERVAL_MS,
+                    TimeUnit.NANOSECONDS.toMillis(now - createdNanos) / INTERVAL_GROWTH_DIVISOR));
+            nextDueNanos = now + TimeUnit.MILLISECONDS.toNanos(intervalMs);
+
+            return true;
+        }
+    }
+}
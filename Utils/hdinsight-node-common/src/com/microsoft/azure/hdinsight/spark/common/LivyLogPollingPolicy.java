@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+/**
+ * The adaptive polling policy of Livy batch job log.
+ *
+ * The poll is re-armed at once when a full page of lines is got, since there are more lines in backlog, and
+ * the page size grows to catch up the backlog with less requests. When no line is got, the interval backs off
+ * exponentially from the minimum interval till the maximum one, and is reset by the next line got.
+ */
+public class LivyLogPollingPolicy {
+    public static final int MIN_PAGE_SIZE = 128;
+    public static final int MAX_PAGE_SIZE = 2048;
+    public static final long MIN_INTERVAL_MS = 500;
+
+    private final long maxIntervalMs;
+    private long idleIntervalMs = MIN_INTERVAL_MS;
+    private int pageSize = MIN_PAGE_SIZE;
+    private boolean isIdle = false;
+
+    /**
+     * Constructor
+     *
+     * @param maxIntervalMs the maximum interval when no lines got
+     */
+    public LivyLogPollingPolicy(long maxIntervalMs) {
+        this.maxIntervalMs = Math.max(MIN_INTERVAL_MS, maxIntervalMs);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return true if no lines got in the last poll
+     */
+    public boolean isIdle() {
+        return isIdle;
+    }
+
+    /**
+     * Get the delay before the next poll by the lines got in this poll
+     *
+     * @param linesGot the lines got in this poll
+     * @return the delay in milliseconds before the next poll
+     */
+    public long next(int linesGot) {
+        isIdle = linesGot == 0;
+
+        if (isIdle) {
+            long delay = idleIntervalMs;
+            idleIntervalMs = Math.min(idleIntervalMs * 2, maxIntervalMs);
+            pageSize = MIN_PAGE_SIZE;
+
+            return delay;
+        }
+
+        idleIntervalMs = MIN_INTERVAL_MS;
+
+        if (linesGot >= pageSize) {
+            // More lines in backlog, fetch them at once with a larger page
+            pageSize = Math.min(pageSize * 2, MAX_PAGE_SIZE);
+
+            return 0;
+        }
+
+        pageSize = MIN_PAGE_SIZE;
+
+        return MIN_INTERVAL_MS;
+    }
+}
@@ -28,7 +28,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import rx.Observable;
 import rx.Observer;
-import rx.Subscriber;
 import rx.subjects.PublishSubject;
 
 import java.io.File;
@@ -62,6 +61,16 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
     private int nextLivyLogOffset = 0;
     private final Object livyLogOffsetLock = new Object();
 
+    /**
+     * The Livy batch status shared by the log, state and application ID consumers in a short period,
+     * to save the duplicated requests. Accessing with {@link #sharedBatchStatusLock}
+     */
+    private static final long BATCH_STATUS_SHARING_MS = 1000;
+    @Nullable
+    private SparkSubmitResponse sharedBatchStatus;
+    private long sharedBatchStatusNanos;
+    private final Object sharedBatchStatusLock = new Object();
+
     @Nullable
     private String getCurrentLogUrl() {
         return currentLogUrl;
@@ -502,15 +511,9 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
 
         do {
             try {
-                final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
-                        this.getConnectUri().toString(), batchId);
-
-                if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
-                    final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
-                            httpResponse.getMessage(), SparkSubmitResponse.class)
-                                                                          .orElseThrow(() -> new UnknownServiceException(
-                                    "Bad spark job response: " + httpResponse.getMessage()));
+                final SparkSubmitResponse jobResp = getSharedBatchStatus();
 
+                if (jobResp != null) {
                     return jobResp.getState();
                 }
             } catch (final IOException e) {
@@ -617,6 +620,36 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
         throw new UnknownServiceException("Failed to get job Yarn application: Unknown service error after " + --retries + " retries");
     }
 
+    /**
+     * Get the Livy batch status, which is shared with other consumers requesting in a short period
+     *
+     * @return the batch status, null for the unsuccessful response
+     * @throws IOException exceptions in transaction
+     */
+    @Nullable
+    SparkSubmitResponse getSharedBatchStatus() throws IOException {
+        synchronized (sharedBatchStatusLock) {
+            if (sharedBatchStatus != null &&
+                    System.nanoTime() - sharedBatchStatusNanos < TimeUnit.MILLISECONDS.toNanos(BATCH_STATUS_SHARING_MS)) {
+                return sharedBatchStatus;
+            }
+
+            final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
+                    this.getConnectUri().toString(), getBatchId());
+
+            if (httpResponse.getCode() < 200 || httpResponse.getCode() >= 300) {
+                return null;
+            }
+
+            sharedBatchStatus = ObjectConvertUtils.convertJsonToObject(httpResponse.getMessage(), SparkSubmitResponse.class)
+                                                  .orElseThrow(() -> new UnknownServiceException(
+                                                          "Bad spark job response: " + httpResponse.getMessage()));
+            sharedBatchStatusNanos = System.nanoTime();
+
+            return sharedBatchStatus;
+        }
+    }
+
     /**
      * New RxAPI: Get current job application Id
      *
@@ -630,18 +663,10 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
 
         return Observable.create(ob -> {
             try {
-                final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
-                        getConnectUri().toString(), getBatchId());
+                final SparkSubmitResponse jobResp = getSharedBatchStatus();
 
-                if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
-                    final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
-                            httpResponse.getMessage(), SparkSubmitResponse.class)
-                                                                          .orElseThrow(() -> new UnknownServiceException(
-                                    "Bad spark job response: " + httpResponse.getMessage()));
-
-                    if (jobResp.getAppId() != null) {
-                        ob.onNext(jobResp.getAppId());
-                    }
+                if (jobResp != null && jobResp.getAppId() != null) {
+                    ob.onNext(jobResp.getAppId());
                 }
 
                 ob.onCompleted();
@@ -804,16 +829,42 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
 
         return Observable.create(ob -> {
             try {
-                final int maxLinesPerGet = 128;
-                int linesGot;
+                final LivyLogPollingPolicy pollingPolicy = new LivyLogPollingPolicy(
+                        TimeUnit.SECONDS.toMillis(this.getDelaySeconds()));
                 boolean isFetching = true;
+                int statusFailures = 0;
 
                 while (isFetching) {
+                    // Only check the batch status after an idle poll, one status request serves both state and
+                    // application ID, and it's checked before the log request to not miss the last lines
+                    boolean isStarting = true;
+
+                    if (pollingPolicy.isIdle()) {
+                        SparkSubmitResponse status = null;
+
+                        try {
+                            status = getSharedBatchStatus();
+                        } catch (final IOException ex) {
+                            log().debug("Got exception " + ex.toString() + " in getting batch status, keep polling");
+                        }
+
+                        if (status == null) {
+                            // The batch could be deleted or the service is unavailable, stop polling after retries
+                            if (++statusFailures >= this.getRetriesMax()) {
+                                throw new UnknownServiceException(
+                                        "Failed to get Livy batch " + batchId + " status after " + statusFailures
+                                                + " retries, stop fetching the logs");
+                            }
+                        } else {
+                            statusFailures = 0;
+                            isStarting = "starting".equals(status.getState()) && status.getAppId() == null;
+                        }
+                    }
+
                     final int start = nextLivyLogOffset;
-                    final boolean isAppIdAllocated = !this.getSparkJobApplicationIdObservable().isEmpty().toBlocking()
-                            .lastOrDefault(true);
                     final String logUrl = String.format("%s/%d/log?from=%d&size=%d",
-                                                        this.getConnectUri().toString(), batchId, start, maxLinesPerGet);
+                                                        this.getConnectUri().toString(), batchId, start,
+                                                        pollingPolicy.getPageSize());
 
                     final HttpResponse httpResponse = this.getSubmission().getHttpResponseViaGet(logUrl);
 
@@ -822,6 +873,8 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                                                                       .orElseThrow(() -> new UnknownServiceException(
                                     "Bad spark log response: " + httpResponse.getMessage()));
 
+                    final int linesGot;
+
                     synchronized (livyLogOffsetLock) {
                         if (start != nextLivyLogOffset) {
                             // The offset is moved by another fetching thread, re-do it with new offset
@@ -837,11 +890,12 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                         nextLivyLogOffset += linesGot;
                     }
 
-                    // Retry interval
-                    if (linesGot == 0) {
-                        isFetching = "starting".equals(this.getState()) && !isAppIdAllocated;
+                    isFetching = linesGot > 0 || isStarting;
 
-                        sleep(TimeUnit.SECONDS.toMillis(this.getDelaySeconds()));
+                    final long delayMs = pollingPolicy.next(linesGot);
+
+                    if (isFetching && delayMs > 0) {
+                        sleep(delayMs);
                     }
                 }
             } catch (final IOException ex) {
@@ -895,46 +949,36 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                     "please configure Spark cluster which the Spark job will be submitted."));
         }
 
-        return Observable.create((Subscriber<? super SimpleImmutableEntry<String, String>> ob) -> {
-            try {
-                boolean isJobActive;
-                SparkBatchJobState state = SparkBatchJobState.NOT_STARTED;
-                String diagnostics = "";
-
-                do {
-                    final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
-                            this.getConnectUri().toString(), batchId);
-
-                    if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
-                        final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
-                                httpResponse.getMessage(), SparkSubmitResponse.class)
-                                                                              .orElseThrow(() -> new UnknownServiceException(
-                                        "Bad spark job response: " + httpResponse.getMessage()));
-
-                        state = SparkBatchJobState.valueOf(jobResp.getState().toUpperCase());
-                        diagnostics = String.join("\n", jobResp.getLog());
-
-                        isJobActive = !isDone(state.toString());
-                    } else {
-                        isJobActive = false;
-                    }
-
-
-                    // Retry interval
-                    sleep(1000);
-                } while (isJobActive);
+        // The job states of a cluster are watched in batch, rather than polling per job
+        return getJobStateWatcher()
+                .watchBatch(batchId)
+                .takeUntil(jobResp -> isDone(SparkBatchJobState.valueOf(jobResp.getState().toUpperCase()).toString()))
+                .lastOrDefault(null)
+                .map(jobResp -> jobResp == null
+                        ? new SimpleImmutableEntry<>(SparkBatchJobState.NOT_STARTED.toString(), "")
+                        : new SimpleImmutableEntry<>(
+                                SparkBatchJobState.valueOf(jobResp.getState().toUpperCase()).toString(),
+                                String.join("\n", jobResp.getLog())));
+    }
 
-                ob.onNext(new SimpleImmutableEntry<>(state.toString(), diagnostics));
-                ob.onCompleted();
-            } catch (final IOException ex) {
-                ob.onError(ex);
-            } catch (final InterruptedException ignored) {
-                ob.onCompleted();
-            }
-        });
+    /**
+     * Get the job state watcher of the cluster the job is submitted to
+     */
+    @NotNull
+    protected JobStateWatcher getJobStateWatcher() {
+        return JobStateWatcher.getInstance(getConnectUri(), getYarnNMConnectUri(), getSubmission());
     }
 
     protected Observable<String> getJobLogAggregationDoneObservable() {
+        if (getConnectUri() != null && getYarnNMConnectUri() != null) {
+            return getSparkJobApplicationIdObservable()
+                    .flatMap(applicationId -> getJobStateWatcher()
+                            .watchYarnApp(applicationId)
+                            .takeUntil(this::isYarnAppLogAggregationDone)
+                            .filter(this::isYarnAppLogAggregationDone))
+                    .map(yarnApp -> yarnApp.getLogAggregationStatus().toUpperCase());
+        }
+
         return getSparkJobApplicationIdObservable()
                 .flatMap(applicationId ->
                         Observable.fromCallable(() ->
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * The Livy response of listing batches, GET /batches?from=&size=
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SparkBatchesResponse {
+    private int from;
+    private int total;
+    private List<SparkSubmitResponse> sessions;
+
+    public int getFrom() {
+        return from;
+    }
+
+    public void setFrom(int from) {
+        this.from = from;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public List<SparkSubmitResponse> getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(List<SparkSubmitResponse> sessions) {
+        this.sessions = sessions;
+    }
+}
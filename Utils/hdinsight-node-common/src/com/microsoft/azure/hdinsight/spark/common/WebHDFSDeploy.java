@@ -5,18 +5,23 @@
 
 package com.microsoft.azure.hdinsight.spark.common;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.storage.webhdfs.WebHdfsParamsBuilder;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.entity.BufferedHttpEntity;
@@ -34,6 +39,9 @@ import java.net.URISyntaxException;
 import java.net.UnknownServiceException;
 import java.util.List;
 
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
+
 public class WebHDFSDeploy implements Deployable, ILogger {
     @NotNull
     IClusterDetail cluster;
@@ -47,6 +55,9 @@ public class WebHDFSDeploy implements Deployable, ILogger {
     @NotNull
     private final List<NameValuePair> uploadReqParams;
 
+    @NotNull
+    private final List<NameValuePair> fileStatusReqParams;
+
     @NotNull
     public String destinationRootPath;
 
@@ -62,23 +73,90 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                 .setPermission("777")
                 .build();
 
+        this.fileStatusReqParams = new WebHdfsParamsBuilder("GETFILESTATUS")
+                .build();
+
         this.http = http;
         http.setDefaultRequestConfig(RequestConfig.custom().setExpectContinueEnabled(true).build());
     }
 
-    private URI getUploadDir() {
+    private URI getUploadDir(@NotNull String sha256Hex) {
         return URI.create(destinationRootPath)
-                .resolve(JobUtils.getFormatPathByDate());
+                .resolve(JobUtils.getFormatPathByDigest(sha256Hex) + "/");
     }
 
     @Override
     public Observable<String> deploy(File src,
                                      Observer<SparkLogLine> logSubject) {
+        // The artifact is uploaded into the folder named by its digest, and skipped if it's uploaded already
+        final ArtifactDigestIndex index = ArtifactDigestIndex.getInstance();
+
+        return Observable.fromCallable(() -> index.getSha256Hex(src))
+                .flatMap(digest -> {
+                    final URI dest = getUploadDir(digest);
+                    final URI artifact = dest.resolve(src.getName());
+
+                    // Only the artifact recorded as completely uploaded from here is trusted, and it's probed to be
+                    // still there with the full length
+                    final Observable<Long> uploadedLength = index.isUploaded(artifact.toString(), digest)
+                            ? getFileLength(artifact)
+                                .onErrorResumeNext(err -> {
+                                    log().warn(String.format("Failed to probe the uploaded artifact %s.", artifact), err);
+                                    return Observable.empty();
+                                })
+                            : Observable.empty();
+
+                    return uploadedLength
+                            .filter(length -> length == src.length())
+                            .doOnNext(length -> logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                                    "The artifact %s has been uploaded to %s, skip uploading.", src, artifact))))
+                            .switchIfEmpty(Observable.defer(() -> upload(src, dest)
+                                    .doOnNext(ignore -> index.markUploaded(artifact.toString(), digest))))
+                            .map(ignored -> {
+                                try {
+                                    return getArtifactUploadedPath(artifact.toString());
+                                } catch (final URISyntaxException ex) {
+                                    throw new RuntimeException(new IllegalArgumentException("Can not get valid artifact upload path" + ex.toString()));
+                                }
+                            });
+                });
+    }
+
+    /**
+     * Get the length of the file by its status
+     *
+     * @return the Observable of the file length, empty if the file doesn't exist
+     */
+    private Observable<Long> getFileLength(@NotNull URI file) {
+        return http.request(new HttpGet(file.toString()), null, this.fileStatusReqParams, null)
+                .flatMap(resp -> {
+                    try {
+                        final int statusCode = resp.getStatusLine().getStatusCode();
+                        if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                            return Observable.empty();
+                        }
+
+                        if (statusCode != HttpStatus.SC_OK) {
+                            return Observable.error(new UnknownServiceException(String.format(
+                                    "Get file status of %s with unexpected code %s", file, statusCode)));
+                        }
+
+                        return Observable.just(ObjectConvertUtils.convertEntityToObject(resp.getEntity(), JsonNode.class)
+                                                                 .map(status -> status.path("FileStatus").path("length").asLong(-1))
+                                                                 .orElse(-1L));
+                    } catch (IOException ex) {
+                        return Observable.error(ex);
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                });
+    }
+
+    private Observable<Long> upload(@NotNull File src, @NotNull URI dest) {
         //three steps to upload via webhdfs
         // 1.put request to create new dir
         // 2.put request to get 307 redirect uri from response
         // 3.put redirect request with file content as setEntity
-        final URI dest = getUploadDir();
         final HttpPut req = new HttpPut(dest.toString());
         return http.request(req, null, this.createDirReqParams, null)
                 .doOnNext(
@@ -110,13 +188,7 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                         throw new RuntimeException(new IllegalArgumentException("Can not get local artifact when uploading" + ex.toString()));
                     }
                 })
-                .map(ignored -> {
-                    try {
-                        return getArtifactUploadedPath(dest.resolve(src.getName()).toString());
-                    } catch (final URISyntaxException ex) {
-                        throw new RuntimeException(new IllegalArgumentException("Can not get valid artifact upload path" + ex.toString()));
-                    }
-                });
+                .map(ignored -> src.length());
     }
 
     @Nullable
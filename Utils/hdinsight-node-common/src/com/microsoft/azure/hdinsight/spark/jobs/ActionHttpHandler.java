@@ -24,7 +24,15 @@ public class ActionHttpHandler implements HttpHandler {
 
         final String path = requestDetail.getRequestPath();
         final String clusterConnectString = requestDetail.getCluster().getConnectionUrl();
-        if (path.contains("yarnui")) {
+        if (path.contains("invalidate")) {
+            if (requestDetail.isSpecificApp()) {
+                JobViewCacheManager.invalidate(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
+            } else {
+                JobViewCacheManager.invalidate(requestDetail.getCluster());
+            }
+
+            JobUtils.setResponse(httpExchange, "cache invalidated successfully");
+        } else if (path.contains("yarnui")) {
             JobUtils.openYarnUIHistory(clusterConnectString, requestDetail.getAppId());
         } else if (path.contains("sparkui")) {
             try {
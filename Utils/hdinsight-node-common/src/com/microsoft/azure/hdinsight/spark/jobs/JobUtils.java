@@ -5,11 +5,7 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
-import com.gargoylesoftware.htmlunit.BrowserVersion;
 import com.gargoylesoftware.htmlunit.Cache;
-import com.gargoylesoftware.htmlunit.FailingHttpStatusCodeException;
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.*;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -28,7 +24,7 @@ import com.microsoft.azure.hdinsight.sdk.common.AuthenticationException;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.SparkSession;
-import com.microsoft.azure.hdinsight.sdk.io.spark.ClusterFileBase64BufferedOutputStream;
+import com.microsoft.azure.hdinsight.sdk.io.spark.ClusterFilePipelinedOutputStream;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azure.hdinsight.sdk.storage.HDStorageAccount;
@@ -50,7 +46,6 @@ import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManage
 import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.sun.net.httpserver.HttpExchange;
-import org.apache.commons.codec.binary.Base64OutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.*;
@@ -75,27 +70,21 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Observer;
 import rx.Single;
-import rx.Subscription;
-import rx.schedulers.Schedulers;
 
 import java.awt.*;
 import java.io.*;
 import java.lang.reflect.Type;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.UnknownServiceException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.List;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
 import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
-import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static rx.exceptions.Exceptions.propagate;
 
 public class JobUtils {
@@ -113,9 +102,10 @@ public class JobUtils {
 
     public static void setResponse(@NotNull HttpExchange httpExchange, @NotNull String message, int code) {
         try {
-            httpExchange.sendResponseHeaders(code, message.length());
+            final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(code, bytes.length);
             final OutputStream stream = httpExchange.getResponseBody();
-            stream.write(message.getBytes());
+            stream.write(bytes);
             stream.flush();
             httpExchange.close();
         } catch (final IOException e) {
@@ -242,85 +232,7 @@ public class JobUtils {
                                                       @NotNull String type,
                                                       long start,
                                                       int size) {
-        final WebClient HTTP_WEB_CLIENT = new WebClient(BrowserVersion.CHROME);
-        HTTP_WEB_CLIENT.getOptions().setUseInsecureSSL(HttpObservable.isSSLCertificateValidationDisabled());
-        HTTP_WEB_CLIENT.setCache(globalCache);
-
-        if (authCode != null) {
-            HTTP_WEB_CLIENT.addRequestHeader(AUTHORIZATION, authCode);
-        }
-
-        return getInformationFromYarnLogDom(HTTP_WEB_CLIENT, baseUrl, type, start, size);
-    }
-
-    private static String getInformationFromYarnLogDom(@NotNull WebClient client,
-                                                      @NotNull String baseUrl,
-                                                      @NotNull String type,
-                                                      long start,
-                                                      int size) {
-        URI url = null;
-
-        try {
-            url = new URI(baseUrl + "/").resolve(
-                    String.format("%s?start=%d", type, start) +
-                            (size <= 0 ? "" : String.format("&&end=%d", start + size)));
-            final HtmlPage htmlPage = client.getPage(url.toString());
-
-            final Iterator<DomElement> iterator = htmlPage.getElementById("navcell").getNextElementSibling().getChildElements().iterator();
-
-            final HashMap<String, String> logTypeMap = new HashMap<>();
-            final AtomicReference<String> logType = new AtomicReference<>();
-            String logs = "";
-
-            while (iterator.hasNext()) {
-                final DomElement node = iterator.next();
-
-                if (node instanceof HtmlParagraph) {
-                    // In history server, need to read log type paragraph in page
-                    final Pattern logTypePattern = Pattern.compile("Log Type:\\s+(\\S+)");
-
-                    Optional.ofNullable(node.getFirstChild())
-                            .map(DomNode::getTextContent)
-                            .map(String::trim)
-                            .map(logTypePattern::matcher)
-                            .filter(Matcher::matches)
-                            .map(matcher -> matcher.group(1))
-                            .ifPresent(logType::set);
-                } else if (node instanceof HtmlPreformattedText) {
-                    // In running, no log type paragraph in page
-                    logs = Optional.ofNullable(node.getFirstChild())
-                                .map(DomNode::getTextContent)
-                                .orElse("");
-
-                    if (logType.get() != null) {
-                        // Only get the first <pre>...</pre>
-                        logTypeMap.put(logType.get(), logs);
-
-                        logType.set(null);
-                    }
-                }
-            }
-
-            return logTypeMap.getOrDefault(type, logs);
-        } catch (final FailingHttpStatusCodeException httpError) {
-            // If the URL is wrong, will get 200 response with content:
-            //      Unable to locate 'xxx' log for container
-            //  OR
-            //      Logs not available for <user>. Aggregation may not be complete, Check back later or try the nodemanager at...
-            //  OR
-            //      Cannot get container logs without ...
-            //
-            // if fetching Yarn log hits the gap between the job running and stop, will get the status 403
-            // the log is moving to job history server, just wait and retry.
-            if (httpError.getStatusCode() != HttpStatus.SC_FORBIDDEN) {
-                LOGGER.warn("The GET request to " + url + " responded error: " + httpError.getMessage());
-            }
-        } catch (final URISyntaxException e) {
-            LOGGER.error("baseUrl has syntax error: " + baseUrl);
-        } catch (final Exception e) {
-            LOGGER.warn("get Spark job log Error", e);
-        }
-        return "";
+        return new YarnContainerLogTailer(authCode, baseUrl, type).getLog(start, size);
     }
 
     /**
@@ -338,71 +250,7 @@ public class JobUtils {
                                                              @NotNull final String containerLogUrl,
                                                              @NotNull final String type,
                                                              final int blockSize) {
-        final int retryIntervalMs = 1000;
-
-        if (blockSize <= 0)
-            return Observable.empty();
-
-        return Observable.create((Observable.OnSubscribe<String>) ob -> {
-            long nextStart = 0;
-            String remainedLine = "";
-            String logs;
-            Thread currentThread = Thread.currentThread();
-
-            // Refer to the Observable.window() operation:
-            //    http://reactivex.io/documentation/operators/window.html
-            // The event from `stop` observable will stop the log fetch
-            Optional<Subscription> stopSubscriptionOptional = Optional.ofNullable(stop).map(stopOb ->
-                    stopOb.subscribe(any -> currentThread.interrupt()));
-
-            try {
-                while (!ob.isUnsubscribed()) {
-                    logs = JobUtils.getInformationFromYarnLogDom(
-                            authCode, containerLogUrl, type, nextStart, blockSize);
-                    int lastLineBreak = logs.lastIndexOf('\n');
-
-                    if (lastLineBreak < 0) {
-                        // No linebreak found
-                        if (logs.isEmpty()) {
-                            // Remained line is a full line since the backend producing logs line by line
-                            ob.onNext(remainedLine);
-                            remainedLine = "";
-                        } else {
-                            remainedLine += logs;
-                            nextStart += logs.length();
-                        }
-                    } else {
-                        long handledLength = new BufferedReader(new StringReader(
-                                                remainedLine + logs.substring(0, lastLineBreak)))
-                                .lines()
-                                .map(line -> {
-                                    ob.onNext(line);
-
-                                    // Count the line length with linebreak
-                                    // We need to handle this since the web client may convert the LF to CRLF
-                                    return (line.length() + 1);
-                                })
-                                .reduce(Integer::sum)
-                                .orElse(0);
-
-                        nextStart += handledLength - remainedLine.length();
-                        remainedLine = "";
-                    }
-
-                    Thread.sleep(retryIntervalMs);
-                }
-            } catch (InterruptedException ignore) {
-            } finally {
-                // Get the rest logs from history server
-                // Don't worry about the log is moved to history server, the YarnUI can do URL redirect by itself
-                logs = JobUtils.getInformationFromYarnLogDom(authCode, containerLogUrl, type, nextStart, 0);
-
-                new BufferedReader(new StringReader(remainedLine + logs)).lines().forEach(ob::onNext);
-            }
-
-            ob.onCompleted();
-            stopSubscriptionOptional.ifPresent(Subscription::unsubscribe);
-        }).subscribeOn(Schedulers.io());
+        return new YarnContainerLogTailer(authCode, containerLogUrl, type).tail(stop, blockSize);
     }
 
     public static HttpEntity getEntity(@NotNull final IClusterDetail clusterDetail, @NotNull final String url) throws IOException, HDIException {
@@ -512,7 +360,7 @@ public class JobUtils {
                             path,
                             bufferedInputStream,
                             uploadInProcessCallback,
-                            1024 * 1024,
+                            StorageClientSDKManager.DEFAULT_TRANSFER_BLOCK_SIZE,
                             file.length());
 
                     ctrlInfo(legacyLogSubject, newLogSubject,
@@ -614,6 +462,15 @@ public class JobUtils {
         return String.format("%04d/%02d/%02d/%s", year, month, day, uniqueFolderId);
     }
 
+    /**
+     * Get the content addressed folder of the artifact, the byte-identical artifacts share the same folder
+     *
+     * @param sha256Hex the SHA-256 digest of the artifact in hex
+     */
+    public static String getFormatPathByDigest(@NotNull String sha256Hex) {
+        return String.format("artifacts/%s", sha256Hex);
+    }
+
 
     public static String uploadFileToEmulator(@NotNull IClusterDetail selectedClusterDetail,
                                               @NotNull String buildJarPath,
@@ -657,9 +514,8 @@ public class JobUtils {
                                                         err -> ctrlError(legacyLogSubject, newLogSubject, err),
                                                         () -> {});
 
-                                 ClusterFileBase64BufferedOutputStream clusterFileBase64Out =
-                                         new ClusterFileBase64BufferedOutputStream(sparkSession, destUri);
-                                 Base64OutputStream base64Enc = new Base64OutputStream(clusterFileBase64Out, true);
+                                 ClusterFilePipelinedOutputStream clusterFileOut =
+                                         new ClusterFilePipelinedOutputStream(sparkSession, destUri);
                                  InputStream inFile;
 
                                  try {
@@ -667,10 +523,10 @@ public class JobUtils {
 
                                      ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploading %s...",
                                                                                              srcJarFile));
-                                     IOUtils.copy(inFile, base64Enc);
+                                     IOUtils.copy(inFile, clusterFileOut);
 
                                      inFile.close();
-                                     base64Enc.close();
+                                     clusterFileOut.close();
                                  } catch (FileNotFoundException fnfEx) {
                                      throw propagate(new HDIException(String.format("Source file %s not found.",
                                                                                     srcJarFile), fnfEx));
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * The Job View cache with the different policies for finished and running applications.
+ *
+ * The data of finished applications is immutable, cached long and only dropped when it's not accessed
+ * for a while. The data of running applications is refreshed in background after a short period, the
+ * stale value is still served till the reloading finished, and expired if it's not accessed anymore.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class JobViewCache<K, V> {
+    public static final int MAXIMUM_SIZE = 100;
+    public static final long FINISHED_EXPIRE_AFTER_ACCESS_MINUTES = 120;
+    public static final long RUNNING_REFRESH_AFTER_WRITE_SECONDS = 10;
+    public static final long RUNNING_EXPIRE_AFTER_WRITE_SECONDS = 120;
+
+    private static final int REFRESH_THREADS = 4;
+
+    // Shared by all Job View caches for the background refreshing
+    private static final Executor refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("job-view-cache-refresh-%d").build());
+
+    /**
+     * The persistent store of finished applications' data, consulted before loading from cluster
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public interface Store<K, V> {
+        @Nullable
+        V read(@NotNull K key);
+
+        void write(@NotNull K key, @NotNull V value);
+
+        boolean contains(@NotNull K key);
+    }
+
+    @NotNull
+    private final String name;
+
+    @NotNull
+    private final LoadingCache<K, V> finishedCache;
+
+    @NotNull
+    private final LoadingCache<K, V> runningCache;
+
+    @NotNull
+    private final Predicate<K> isKeyFinished;
+
+    @NotNull
+    private final Predicate<V> isValueFinished;
+
+    @Nullable
+    private final Store<K, V> store;
+
+    /**
+     * Constructor
+     *
+     * @param name the cache name shown in statistics
+     * @param loader the value loader
+     * @param isKeyFinished to check if the key's application is finished before loading
+     * @param isValueFinished to check if the value loaded is from a finished application
+     */
+    public JobViewCache(@NotNull String name,
+                        @NotNull CacheLoader<K, V> loader,
+                        @NotNull Predicate<K> isKeyFinished,
+                        @NotNull Predicate<V> isValueFinished) {
+        this(name, loader, isKeyFinished, isValueFinished, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name the cache name shown in statistics
+     * @param loader the value loader
+     * @param isKeyFinished to check if the key's application is finished before loading
+     * @param isValueFinished to check if the value loaded is from a finished application
+     * @param store the persistent store for finished applications, null for memory only
+     */
+    public JobViewCache(@NotNull String name,
+                        @NotNull CacheLoader<K, V> loader,
+                        @NotNull Predicate<K> isKeyFinished,
+                        @NotNull Predicate<V> isValueFinished,
+                        @Nullable Store<K, V> store) {
+        this.name = name;
+        this.isKeyFinished = isKeyFinished;
+        this.isValueFinished = isValueFinished;
+        this.store = store;
+
+        this.finishedCache = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterAccess(FINISHED_EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+                .recordStats()
+                .build(store == null ? loader : new CacheLoader<K, V>() {
+                    @Override
+                    public V load(@NotNull K key) throws Exception {
+                        V stored = store.read(key);
+
+                        if (stored != null) {
+                            return stored;
+                        }
+
+                        V value = loader.load(key);
+                        store.write(key, value);
+
+                        return value;
+                    }
+                });
+
+        this.runningCache = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .refreshAfterWrite(RUNNING_REFRESH_AFTER_WRITE_SECONDS, TimeUnit.SECONDS)
+                .expireAfterWrite(RUNNING_EXPIRE_AFTER_WRITE_SECONDS, TimeUnit.SECONDS)
+                .recordStats()
+                .build(CacheLoader.asyncReloading(loader, refreshExecutor));
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public V get(@NotNull K key) throws ExecutionException {
+        V finished = finishedCache.getIfPresent(key);
+
+        if (finished != null) {
+            return finished;
+        }
+
+        if (isKeyFinished.test(key)) {
+            runningCache.invalidate(key);
+
+            return finishedCache.get(key);
+        }
+
+        V value = runningCache.get(key);
+
+        if (isValueFinished.test(value)) {
+            putFinished(key, value);
+            runningCache.invalidate(key);
+        }
+
+        return value;
+    }
+
+    /**
+     * Check if the key's data is cached as the finished application's, in memory or in the persistent store
+     *
+     * @param key the key to check
+     * @return true for the cached finished application's data
+     */
+    public boolean isFinished(@NotNull K key) {
+        return finishedCache.getIfPresent(key) != null || (store != null && store.contains(key));
+    }
+
+    public V getIfPresent(@NotNull K key) {
+        V finished = finishedCache.getIfPresent(key);
+
+        return finished != null ? finished : runningCache.getIfPresent(key);
+    }
+
+    public void put(@NotNull K key, @NotNull V value) {
+        if (isKeyFinished.test(key) || isValueFinished.test(value)) {
+            putFinished(key, value);
+        } else {
+            runningCache.put(key, value);
+        }
+    }
+
+    public void invalidate(@NotNull K key) {
+        finishedCache.invalidate(key);
+        runningCache.invalidate(key);
+    }
+
+    public void invalidateIf(@NotNull Predicate<K> predicate) {
+        finishedCache.asMap().keySet().removeIf(predicate);
+        runningCache.asMap().keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        finishedCache.invalidateAll();
+        runningCache.invalidateAll();
+    }
+
+    private void putFinished(@NotNull K key, @NotNull V value) {
+        finishedCache.put(key, value);
+
+        if (store != null) {
+            store.write(key, value);
+        }
+    }
+
+    @NotNull
+    public Stats getStats() {
+        return new Stats(name,
+                         finishedCache.size(),
+                         runningCache.size(),
+                         finishedCache.stats().plus(runningCache.stats()));
+    }
+
+    /**
+     * The statistics of a Job View cache, for both finished and running applications
+     */
+    public static class Stats {
+        private final String name;
+        private final long finishedSize;
+        private final long runningSize;
+        private final CacheStats stats;
+
+        Stats(@NotNull String name, long finishedSize, long runningSize, @NotNull CacheStats stats) {
+            this.name = name;
+            this.finishedSize = finishedSize;
+            this.runningSize = runningSize;
+            this.stats = stats;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFinishedSize() {
+            return finishedSize;
+        }
+
+        public long getRunningSize() {
+            return runningSize;
+        }
+
+        public long getHitCount() {
+            return stats.hitCount();
+        }
+
+        public long getMissCount() {
+            return stats.missCount();
+        }
+
+        public double getHitRate() {
+            return stats.hitRate();
+        }
+
+        public long getLoadSuccessCount() {
+            return stats.loadSuccessCount();
+        }
+
+        public long getLoadExceptionCount() {
+            return stats.loadExceptionCount();
+        }
+
+        public double getAverageLoadPenaltyMs() {
+            return stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public long getEvictionCount() {
+            return stats.evictionCount();
+        }
+    }
+}
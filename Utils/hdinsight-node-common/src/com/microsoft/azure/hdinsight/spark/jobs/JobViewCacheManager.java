@@ -5,113 +5,164 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.microsoft.azure.hdinsight.common.JobViewManager;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.Application;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.executor.Executor;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.task.TasksSummaryProgress;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 public class JobViewCacheManager {
-    private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Job>>() {
+    /**
+     * Check if the application is finished by the Yarn application cached in memory or on disk, without any
+     * remote request. The application not known yet is treated as running, its data is reloaded in short period.
+     */
+    private static boolean isApplicationFinished(@NotNull ApplicationKey key) {
+        return yarnApplicationLocalCache.isFinished(key);
+    }
+
+    /**
+     * Check if the application is finished and its Yarn log aggregation is done, by the Yarn application cached
+     * in memory or on disk. The logs fetched before that could be truncated, so they're only kept in memory.
+     */
+    private static boolean isApplicationLogAggregationDone(@NotNull ApplicationKey key) {
+        if (!isApplicationFinished(key)) {
+            return false;
+        }
+
+        try {
+            return yarnApplicationLocalCache.get(key).isLogAggregationDone();
+        } catch (ExecutionException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the application is finished and its last Spark attempt is completed, by the Yarn application cached
+     * in memory or on disk and the Spark applications list. Spark history server could still be replaying the event
+     * logs of a finished Yarn application, the data got before that is incomplete, so it's only kept in memory.
+     */
+    private static boolean isSparkApplicationCompleted(@NotNull ApplicationKey key) {
+        if (!isApplicationFinished(key)) {
+            return false;
+        }
+
+        try {
+            Application application = getSingleSparkApplication(key);
+
+            return application != null && application.isLastAttemptCompleted();
+        } catch (ExecutionException ignored) {
+            return false;
+        }
+    }
+
+    private static final JobViewCache<ApplicationKey, List<Job>> sparkJobLocalCache = new JobViewCache<>(
+            "sparkJobLocalCache",
+            new CacheLoader<ApplicationKey, List<Job>>() {
                 @Override
                 public List<Job> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getLastAttemptJobsFromApp(key);
                 }
-            });
+            },
+            JobViewCacheManager::isSparkApplicationCompleted,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("jobs", ObjectConvertUtils.getJsonListReader(Job.class)));
 
-    private static final LoadingCache<ApplicationKey, List<Stage>> sparkStageLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Stage>>() {
+    private static final JobViewCache<ApplicationKey, List<Stage>> sparkStageLocalCache = new JobViewCache<>(
+            "sparkStageLocalCache",
+            new CacheLoader<ApplicationKey, List<Stage>>() {
                 @Override
                 public List<Stage> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllStageFromApp(key);
                 }
-            });
+            },
+            JobViewCacheManager::isSparkApplicationCompleted,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("stages", ObjectConvertUtils.getJsonListReader(Stage.class)));
 
-    private static final LoadingCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Executor>>() {
+    private static final JobViewCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = new JobViewCache<>(
+            "sparkExecutorLocalCache",
+            new CacheLoader<ApplicationKey, List<Executor>>() {
                 @Override
                 public List<Executor> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllExecutorFromApp(key);
                 }
-            });
+            },
+            JobViewCacheManager::isSparkApplicationCompleted,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("executors", ObjectConvertUtils.getJsonListReader(Executor.class)));
 
-    private static final LoadingCache<String, List<Application>> sparkApplicationsLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<String, List<Application>>() {
+    private static final JobViewCache<String, List<Application>> sparkApplicationsLocalCache = new JobViewCache<>(
+            "sparkApplicationsLocalCache",
+            new CacheLoader<String, List<Application>>() {
                 @Override
                 public List<Application> load(String key) throws Exception {
                     return SparkRestUtil.getSparkApplications(JobViewManager.getCluster(key));
                 }
-            });
+            },
+            key -> false,
+            value -> false);
 
-    private static final LoadingCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Task>>() {
+    private static final JobViewCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = new JobViewCache<>(
+            "sparkTasksSummaryLocalCache",
+            new CacheLoader<ApplicationKey, List<Task>>() {
                 @Override
                 public List<Task> load(ApplicationKey key) throws Exception {
-                    List<Task> allTasks = new ArrayList<>();
-                    List<Stage> stages = sparkStageLocalCache.get(key);
-                    for (Stage stage: stages) {
-                        int stageId = stage.getStageId();
-                        int attemptedId = stage.getAttemptId();
-                        List<Task> tasks = SparkRestUtil.getSparkTasks(key, stageId, attemptedId);
-                        allTasks.addAll(tasks);
-                    }
-                    return allTasks;
+                    return SparkTasksSummaryLoader.getInstance().loadAll(key, sparkStageLocalCache.get(key));
                 }
-            });
+            },
+            JobViewCacheManager::isSparkApplicationCompleted,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("tasks", ObjectConvertUtils.getJsonListReader(Task.class)));
 
-    private static final LoadingCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, ApplicationMasterLogs>() {
+    private static final JobViewCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = new JobViewCache<>(
+            "yarnAppLogLocalCache",
+            new CacheLoader<ApplicationKey, ApplicationMasterLogs>() {
                 @Override
                 public ApplicationMasterLogs load(ApplicationKey key) throws Exception {
                     return JobUtils.getYarnLogs(key);
                 }
-            });
+            },
+            JobViewCacheManager::isApplicationLogAggregationDone,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("yarnAppLogs", ObjectConvertUtils.getJsonObjectReader(ApplicationMasterLogs.class)));
 
-    private static final LoadingCache<ApplicationKey, App> yarnApplicationLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, App>() {
+    private static final JobViewCache<ApplicationKey, App> yarnApplicationLocalCache = new JobViewCache<>(
+            "yarnApplicationLocalCache",
+            new CacheLoader<ApplicationKey, App>() {
                 @Override
                 public App load(ApplicationKey key) throws Exception {
                     return YarnRestUtil.getApp(key);
                 }
-            });
+            },
+            JobViewCacheManager::isApplicationFinished,
+            // Keep refreshing the finished application till its log aggregation status is final
+            App::isFinalized,
+            JobViewDiskCache.getInstance().getStore("yarnApp", ObjectConvertUtils.getJsonObjectReader(App.class)));
 
-    private static final LoadingCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<JobStartEventLog>>() {
+    private static final JobViewCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = new JobViewCache<>(
+            "sparkJobStartEventLogCache",
+            new CacheLoader<ApplicationKey, List<JobStartEventLog>>() {
                 @Override
                 public List<JobStartEventLog> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getSparkEventLogs(key);
                 }
-            });
+            },
+            JobViewCacheManager::isSparkApplicationCompleted,
+            value -> false,
+            JobViewDiskCache.getInstance().getStore("jobStartEventLogs", ObjectConvertUtils.getJsonListReader(JobStartEventLog.class)));
 
     public static List<JobStartEventLog> getJobStartEventLogs(@NotNull ApplicationKey key) throws ExecutionException {
         return sparkJobStartEventLogCache.get(key);
@@ -151,7 +202,82 @@ public class JobViewCacheManager {
         return sparkTasksSummaryLocalCache.get(key);
     }
 
+    /**
+     * Get the tasks loaded so far without waiting for all stages, for the progressive rendering
+     *
+     * @param key the application key
+     * @param loadingId the loading ID of the last snapshot got, 0 for the first request
+     * @param offset the count of tasks got from the loading
+     * @return the snapshot of tasks summary loading with the tasks after the offset
+     * @throws ExecutionException exceptions in getting the stages
+     */
+    public static TasksSummaryProgress getTasksProgress(@NotNull ApplicationKey key, long loadingId, int offset)
+            throws ExecutionException {
+        List<Stage> stages = getStages(key);
+        List<Task> loaded = sparkTasksSummaryLocalCache.getIfPresent(key);
+
+        if (loaded != null) {
+            // The cached tasks are from a completed loading, which is only requested from the beginning
+            return new TasksSummaryProgress(true, stages.size(), stages.size(), 0, 0, loaded);
+        }
+
+        SparkTasksSummaryLoader.Loading loading = SparkTasksSummaryLoader.getInstance().load(key, stages);
+        TasksSummaryProgress progress = loading.getProgress(loadingId, offset);
+
+        if (progress.isCompleted()) {
+            sparkTasksSummaryLocalCache.put(key, loading.getLoadedTasks());
+        }
+
+        return progress;
+    }
+
     public static List<Stage> getStages(@NotNull ApplicationKey key) throws ExecutionException {
         return sparkStageLocalCache.get(key);
     }
+
+    /**
+     * Drop all cached data of the application, the next request will load them from cluster
+     *
+     * @param key the application key
+     */
+    public static void invalidate(@NotNull ApplicationKey key) {
+        getApplicationCaches().forEach(cache -> cache.invalidate(key));
+        SparkTasksSummaryLoader.getInstance().invalidate(key);
+        JobViewDiskCache.getInstance().invalidate(key);
+    }
+
+    /**
+     * Drop all cached data of the cluster, including the application list
+     *
+     * @param clusterDetail the cluster
+     */
+    public static void invalidate(@NotNull IClusterDetail clusterDetail) {
+        sparkApplicationsLocalCache.invalidate(clusterDetail.getName());
+        getApplicationCaches().forEach(cache -> cache.invalidateIf(
+                key -> key.getClusterConnString().equalsIgnoreCase(clusterDetail.getConnectionUrl())));
+        JobViewDiskCache.getInstance().invalidate(clusterDetail);
+    }
+
+    public static List<JobViewCache.Stats> getCacheStats() {
+        return Arrays.asList(
+                sparkApplicationsLocalCache.getStats(),
+                sparkJobLocalCache.getStats(),
+                sparkStageLocalCache.getStats(),
+                sparkExecutorLocalCache.getStats(),
+                sparkTasksSummaryLocalCache.getStats(),
+                sparkJobStartEventLogCache.getStats(),
+                yarnApplicationLocalCache.getStats(),
+                yarnAppLogLocalCache.getStats());
+    }
+
+    private static List<JobViewCache<ApplicationKey, ?>> getApplicationCaches() {
+        return Arrays.asList(
+                sparkJobLocalCache,
+                sparkStageLocalCache,
+                sparkExecutorLocalCache,
+                sparkTasksSummaryLocalCache,
+                sparkJobStartEventLogCache,
+                yarnApplicationLocalCache,
+                yarnAppLogLocalCache);
+    }
 }
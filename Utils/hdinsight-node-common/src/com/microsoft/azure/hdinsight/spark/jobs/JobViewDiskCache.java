@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.microsoft.azure.hdinsight.common.HDInsightHelper;
+import com.microsoft.azure.hdinsight.common.HDInsightLoader;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.io.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The on-disk store of finished Spark applications' Job View data, under the plugin root path.
+ *
+ * The data is saved as the gzip compressed JSON in the layout of `{cluster}/{appId}/{category}.json.gz`.
+ * A finished application's last attempt never changes, so the cluster and application ID are enough to
+ * identify the data. The total size is counted on writing, the folder is only scanned for the first write and
+ * when the count is over the budget, to delete the least recently used files.
+ */
+public class JobViewDiskCache implements ILogger {
+    public static final long DEFAULT_SIZE_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    private static final String CACHE_FOLDER = "JobViewCache";
+    private static final String FILE_SUFFIX = ".json.gz";
+    private static final long UNKNOWN_SIZE = -1;
+
+    private static class LazyHolder {
+        static final JobViewDiskCache INSTANCE = new JobViewDiskCache(getDefaultRoot());
+    }
+
+    public static JobViewDiskCache getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    @Nullable
+    private final File root;
+
+    private volatile long sizeBudgetBytes = DEFAULT_SIZE_BUDGET_BYTES;
+
+    // The total size of stored files, accessing with the store lock
+    private long totalSizeBytes = UNKNOWN_SIZE;
+
+    /**
+     * Constructor
+     *
+     * @param root the root folder of stored files, null to disable the store
+     */
+    public JobViewDiskCache(@Nullable File root) {
+        this.root = root;
+    }
+
+    @Nullable
+    private static File getDefaultRoot() {
+        HDInsightHelper helper = HDInsightLoader.getHDInsightHelper();
+
+        return helper == null ? null : new File(helper.getPluginRootPath(), CACHE_FOLDER);
+    }
+
+    public boolean isEnabled() {
+        return root != null;
+    }
+
+    public long getSizeBudgetBytes() {
+        return sizeBudgetBytes;
+    }
+
+    public void setSizeBudgetBytes(long sizeBudgetBytes) {
+        this.sizeBudgetBytes = sizeBudgetBytes;
+    }
+
+    /**
+     * Get the store of a category
+     *
+     * @param category the data category, used as the file name
+     * @param reader the JSON reader of the data type
+     * @param <V> the data type
+     * @return the store
+     */
+    @NotNull
+    public <V> JobViewCache.Store<ApplicationKey, V> getStore(@NotNull String category, @NotNull ObjectReader reader) {
+        return new JobViewCache.Store<ApplicationKey, V>() {
+            @Nullable
+            @Override
+            public V read(@NotNull ApplicationKey key) {
+                return JobViewDiskCache.this.read(key, category, reader);
+            }
+
+            @Override
+            public void write(@NotNull ApplicationKey key, @NotNull V value) {
+                JobViewDiskCache.this.write(key, category, value);
+            }
+
+            @Override
+            public boolean contains(@NotNull ApplicationKey key) {
+                File file = getFile(key, category);
+
+                return file != null && file.isFile();
+            }
+        };
+    }
+
+    @Nullable
+    private <V> V read(@NotNull ApplicationKey key, @NotNull String category, @NotNull ObjectReader reader) {
+        File file = getFile(key, category);
+
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        try (InputStream inputStream = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            V value = reader.readValue(inputStream);
+
+            // Touch for the least recently used trimming
+            file.setLastModified(System.currentTimeMillis());
+
+            return value;
+        } catch (IOException | RuntimeException e) {
+            log().warn("Failed to read the Job View cache file " + file + ", delete it", e);
+            FileUtils.deleteQuietly(file);
+
+            return null;
+        }
+    }
+
+    private void write(@NotNull ApplicationKey key, @NotNull String category, @NotNull Object value) {
+        File file = getFile(key, category);
+
+        if (file == null) {
+            return;
+        }
+
+        File tempFile = null;
+        long replacedSize = file.length();
+
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            tempFile = File.createTempFile(category, ".tmp", file.getParentFile());
+
+            try (OutputStream outputStream = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                ObjectConvertUtils.convertObjectToJsonStream(outputStream, value);
+            }
+
+            // The readers only see the whole file
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log().warn("Failed to write the Job View cache file " + file, e);
+            FileUtils.deleteQuietly(tempFile);
+
+            return;
+        }
+
+        onWritten(file.length() - replacedSize);
+    }
+
+    private synchronized void onWritten(long sizeDelta) {
+        if (totalSizeBytes != UNKNOWN_SIZE) {
+            totalSizeBytes += sizeDelta;
+        }
+
+        if (totalSizeBytes == UNKNOWN_SIZE || totalSizeBytes > getSizeBudgetBytes()) {
+            totalSizeBytes = trim();
+        }
+    }
+
+    /**
+     * Delete all stored data of the application
+     *
+     * @param key the application key
+     */
+    public synchronized void invalidate(@NotNull ApplicationKey key) {
+        if (root != null) {
+            FileUtils.deleteQuietly(new File(getClusterFolder(key.getClusterConnString()), toFileName(key.getAppId())));
+            totalSizeBytes = UNKNOWN_SIZE;
+        }
+    }
+
+    /**
+     * Delete all stored data of the cluster
+     *
+     * @param clusterDetail the cluster
+     */
+    public synchronized void invalidate(@NotNull IClusterDetail clusterDetail) {
+        if (root != null) {
+            FileUtils.deleteQuietly(getClusterFolder(clusterDetail.getConnectionUrl()));
+            totalSizeBytes = UNKNOWN_SIZE;
+        }
+    }
+
+    /**
+     * Delete the least recently used files till the total size is within the budget
+     *
+     * @return the total size of the rest files, UNKNOWN_SIZE if failed to list the files
+     */
+    private synchronized long trim() {
+        if (root == null || !root.isDirectory()) {
+            return 0;
+        }
+
+        List<File> files;
+
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            files = paths.map(Path::toFile)
+                    .filter(file -> file.isFile() && file.getName().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparingLong(File::lastModified))
+                    .collect(Collectors.toList());
+        } catch (IOException | RuntimeException e) {
+            log().warn("Failed to list the Job View cache files in " + root, e);
+
+            return UNKNOWN_SIZE;
+        }
+
+        long totalSize = files.stream().mapToLong(File::length).sum();
+
+        for (File file : files) {
+            if (totalSize <= getSizeBudgetBytes()) {
+                break;
+            }
+
+            long size = file.length();
+
+            if (file.delete()) {
+                totalSize -= size;
+
+                // Remove the emptied application folder
+                File appFolder = file.getParentFile();
+                String[] rest = appFolder.list();
+
+                if (rest != null && rest.length == 0) {
+                    appFolder.delete();
+                }
+            }
+        }
+
+        return totalSize;
+    }
+
+    @Nullable
+    private File getFile(@NotNull ApplicationKey key, @NotNull String category) {
+        if (root == null) {
+            return null;
+        }
+
+        return new File(new File(getClusterFolder(key.getClusterConnString()), toFileName(key.getAppId())),
+                        toFileName(category) + FILE_SUFFIX);
+    }
+
+    @NotNull
+    private File getClusterFolder(@NotNull String clusterConnString) {
+        return new File(root, toFileName(clusterConnString.replaceFirst("^\\w+://", "")));
+    }
+
+    @NotNull
+    private static String toFileName(@NotNull String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+    }
+}
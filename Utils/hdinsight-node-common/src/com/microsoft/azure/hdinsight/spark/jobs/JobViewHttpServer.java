@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azuretools.azurecommons.helpers.StringHelper;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.sun.net.httpserver.HttpExchange;
@@ -14,6 +15,7 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +23,8 @@ import java.util.concurrent.TimeUnit;
 public class JobViewHttpServer {
     private static HttpServer server;
     private static final int NUMBER_OF_THREADS = 50;
+    // The dispatchers only enqueue the requests into pipelines, which aren't blocked by the remote calls
+    private static final int NUMBER_OF_DISPATCHERS = 4;
     private static ExecutorService executorService;
     private static boolean isEnabled = false;
     private static int port = -1;
@@ -66,11 +70,24 @@ public class JobViewHttpServer {
                     httpExchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
                     JobUtils.setResponse(httpExchange, "Connect Successfully");
             });
-            server.createContext("/applications", new SparkJobHttpHandler());
-            server.createContext("/apps", new YarnJobHttpHandler());
-            server.createContext("/actions", new ActionHttpHandler());
+            server.createContext("/cachestats", (httpExchange) -> {
+                    httpExchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+                    Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(
+                            JobViewCacheManager.getCacheStats());
+                    JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+            });
+            server.createContext("/latencies", (httpExchange) -> {
+                    httpExchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+                    Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(
+                            JobViewRequestPipeline.getLatencies());
+                    JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+            });
+            server.createContext("/applications", new JobViewRequestPipeline(new SparkJobHttpHandler(), true));
+            server.createContext("/apps", new JobViewRequestPipeline(new YarnJobHttpHandler(), true));
+            // The actions have side effects, such as opening browser, can't be coalesced
+            server.createContext("/actions", new JobViewRequestPipeline(new ActionHttpHandler(), false));
 
-            executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+            executorService = Executors.newFixedThreadPool(NUMBER_OF_DISPATCHERS);
             server.setExecutor(executorService);
             server.start();
             isEnabled = true;
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.jobs.framework.JobRequestDetails;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpPrincipal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The asynchronous request pipeline in front of Job View HTTP handlers.
+ *
+ * The server dispatcher threads only enqueue the requests, which are handled by the bounded executor of the
+ * requested cluster, so that a slow cluster can't hold up the requests of others. The identical requests
+ * in flight share one handling and its response. The large responses are gzip compressed if the client
+ * accepts, and the latencies are recorded per context path.
+ */
+public class JobViewRequestPipeline implements HttpHandler, ILogger {
+    public static final int DEFAULT_MAX_CONCURRENT_PER_CLUSTER = 8;
+    public static final int DEFAULT_MAX_QUEUED_PER_CLUSTER = 64;
+
+    // The responses smaller than it are sent as they are, the compression doesn't pay off
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    // Cluster name -> the bounded executor, shared by all pipelines to cap the requests per cluster
+    private static final ConcurrentMap<String, ThreadPoolExecutor> clusterExecutors = new ConcurrentHashMap<>();
+
+    // Context path -> latencies
+    private static final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final HttpHandler handler;
+
+    private final boolean isCoalescing;
+
+    // Request method and URI -> the handling in flight
+    private final ConcurrentMap<String, CompletableFuture<BufferedResponse>> inFlights = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param handler the handler to run in pipeline
+     * @param isCoalescing true to share the handling of identical requests, only for the handlers without
+     *                     side effects
+     */
+    public JobViewRequestPipeline(@NotNull HttpHandler handler, boolean isCoalescing) {
+        this.handler = handler;
+        this.isCoalescing = isCoalescing;
+    }
+
+    /**
+     * Get the latencies recorded per context path
+     */
+    @NotNull
+    public static Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(latencies));
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        long startNanos = System.nanoTime();
+        CompletableFuture<BufferedResponse> handling;
+
+        // Only the GET requests are identical with the same URI, the others may have different bodies
+        if (isCoalescing && "GET".equalsIgnoreCase(httpExchange.getRequestMethod())) {
+            String requestKey = httpExchange.getRequestMethod() + " " + httpExchange.getRequestURI();
+            CompletableFuture<BufferedResponse> created = new CompletableFuture<>();
+
+            handling = inFlights.putIfAbsent(requestKey, created);
+
+            if (handling == null) {
+                handling = created;
+                created.whenComplete((response, err) -> inFlights.remove(requestKey, created));
+                submit(httpExchange, created);
+            }
+        } else {
+            handling = new CompletableFuture<>();
+            submit(httpExchange, handling);
+        }
+
+        handling.whenComplete((response, err) -> {
+            try {
+                if (err != null) {
+                    log().warn("Failed to handle the request " + httpExchange.getRequestURI(), err);
+                    respond(httpExchange, BufferedResponse.of(HttpURLConnection.HTTP_INTERNAL_ERROR, String.valueOf(err.getMessage())));
+                } else {
+                    respond(httpExchange, response);
+                }
+            } finally {
+                latencies.computeIfAbsent(httpExchange.getHttpContext().getPath(), path -> new LatencyHistogram())
+                         .record(System.nanoTime() - startNanos);
+            }
+        });
+    }
+
+    private void submit(@NotNull HttpExchange httpExchange, @NotNull CompletableFuture<BufferedResponse> handling) {
+        String clusterName = JobRequestDetails.getClusterName(httpExchange.getRequestURI());
+
+        try {
+            getClusterExecutor(clusterName).execute(() -> {
+                BufferedHttpExchange buffered = new BufferedHttpExchange(httpExchange);
+
+                try {
+                    handler.handle(buffered);
+                    handling.complete(buffered.toResponse());
+                } catch (Throwable ex) {
+                    handling.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            handling.complete(BufferedResponse.of(
+                    HttpURLConnection.HTTP_UNAVAILABLE, "Too many requests to cluster " + clusterName + ", retry later"));
+        }
+    }
+
+    @NotNull
+    private static ThreadPoolExecutor getClusterExecutor(@NotNull String clusterName) {
+        return clusterExecutors.computeIfAbsent(clusterName.toLowerCase(Locale.ROOT), cluster -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    DEFAULT_MAX_CONCURRENT_PER_CLUSTER,
+                    DEFAULT_MAX_CONCURRENT_PER_CLUSTER,
+                    60L,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(DEFAULT_MAX_QUEUED_PER_CLUSTER));
+            // Release the idle threads of the clusters not viewed for a while
+            executor.allowCoreThreadTimeOut(true);
+
+            return executor;
+        });
+    }
+
+    private void respond(@NotNull HttpExchange httpExchange, @NotNull BufferedResponse response) {
+        try {
+            Headers headers = httpExchange.getResponseHeaders();
+            response.headers.forEach((name, values) -> values.forEach(value -> headers.add(name, value)));
+
+            byte[] body = response.body;
+            String acceptEncoding = httpExchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+            if (body.length >= GZIP_MIN_BYTES && acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+                body = response.getGzippedBody();
+                headers.set("Content-Encoding", "gzip");
+            }
+
+            httpExchange.sendResponseHeaders(response.code, body.length == 0 ? -1 : body.length);
+
+            if (body.length > 0) {
+                try (OutputStream stream = httpExchange.getResponseBody()) {
+                    stream.write(body);
+                }
+            }
+        } catch (IOException ex) {
+            log().warn("Failed to send the response of " + httpExchange.getRequestURI(), ex);
+        } finally {
+            httpExchange.close();
+        }
+    }
+
+    /**
+     * The response buffered, to send to all requests sharing the handling
+     */
+    private static class BufferedResponse {
+        private final int code;
+        @NotNull
+        private final Headers headers;
+        @NotNull
+        private final byte[] body;
+        @Nullable
+        private byte[] gzippedBody;
+
+        BufferedResponse(int code, @NotNull Headers headers, @NotNull byte[] body) {
+            this.code = code;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @NotNull
+        static BufferedResponse of(int code, @NotNull String message) {
+            Headers headers = new Headers();
+            headers.add("Access-Control-Allow-Origin", "*");
+
+            return new BufferedResponse(code, headers, message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @NotNull
+        synchronized byte[] getGzippedBody() throws IOException {
+            if (gzippedBody == null) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+
+                gzippedBody = compressed.toByteArray();
+            }
+
+            return gzippedBody;
+        }
+    }
+
+    /**
+     * The exchange to buffer the handler's response, the request parts are from the original exchange
+     */
+    private static class BufferedHttpExchange extends HttpExchange {
+        @NotNull
+        private final HttpExchange origin;
+        private final Headers responseHeaders = new Headers();
+        private final ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+        private int responseCode = -1;
+
+        BufferedHttpExchange(@NotNull HttpExchange origin) {
+            this.origin = origin;
+        }
+
+        @NotNull
+        BufferedResponse toResponse() {
+            if (responseCode < 0) {
+                // The handler doesn't respond the request path
+                return BufferedResponse.of(HttpURLConnection.HTTP_NOT_FOUND, "");
+            }
+
+            return new BufferedResponse(responseCode, responseHeaders, responseBody.toByteArray());
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return origin.getRequestHeaders();
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return origin.getRequestURI();
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return origin.getRequestMethod();
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return origin.getHttpContext();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return origin.getRequestBody();
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return responseBody;
+        }
+
+        @Override
+        public void sendResponseHeaders(int code, long length) {
+            responseCode = code;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return origin.getRemoteAddress();
+        }
+
+        @Override
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return origin.getLocalAddress();
+        }
+
+        @Override
+        public String getProtocol() {
+            return origin.getProtocol();
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return origin.getAttribute(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            origin.setAttribute(name, value);
+        }
+
+        @Override
+        public void setStreams(InputStream inputStream, OutputStream outputStream) {
+            throw new UnsupportedOperationException("The buffered exchange streams can't be replaced");
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return origin.getPrincipal();
+        }
+    }
+}
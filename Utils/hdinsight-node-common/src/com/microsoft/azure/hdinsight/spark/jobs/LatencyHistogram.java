@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock-free latency histogram with fixed millisecond buckets, the last bucket counts all latencies
+ * over the largest bound.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS_MS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong totalNanos = new AtomicLong(0);
+    private final AtomicLong maxNanos = new AtomicLong(0);
+
+    public void record(long elapsedNanos) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = Arrays.binarySearch(BUCKET_BOUNDS_MS, elapsedMs);
+
+        counts.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+        count.incrementAndGet();
+        totalNanos.addAndGet(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getAverageMs() {
+        long total = count.get();
+
+        return total == 0 ? 0 : (double) totalNanos.get() / total / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMs() {
+        return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the upper bounds in milliseconds of buckets, the last bucket has no upper bound
+     */
+    public long[] getBucketBoundsMs() {
+        return BUCKET_BOUNDS_MS.clone();
+    }
+
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[counts.length()];
+
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Get the estimated percentile latency, as the upper bound of the bucket the percentile falls in
+     *
+     * @param percentile the percentile in (0, 100]
+     * @return the latency in milliseconds, -1 for over the largest bound, 0 for no records
+     */
+    public long getPercentileMs(double percentile) {
+        long[] snapshot = getBucketCounts();
+        long total = Arrays.stream(snapshot).sum();
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long accumulated = 0;
+
+        if (total == 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            accumulated += snapshot[i];
+
+            if (accumulated >= threshold) {
+                return BUCKET_BOUNDS_MS[i];
+            }
+        }
+
+        return -1;
+    }
+
+    public long getP50Ms() {
+        return getPercentileMs(50);
+    }
+
+    public long getP90Ms() {
+        return getPercentileMs(90);
+    }
+
+    public long getP99Ms() {
+        return getPercentileMs(99);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.HDIException;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.StageEventLog;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.TaskEndEventLog;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The Spark event log reader, which reads the event log entry out of the zip stream from Spark history server
+ * line by line, and only binds the lines of interesting events.
+ *
+ * Each line of Spark event log is a JSON object with the leading `Event` field. The event type is sniffed
+ * with the streaming parser, so that the lines of other events are skipped without building any objects.
+ */
+public class SparkEventLogReader implements ILogger {
+    public static final String JOB_START_EVENT = "SparkListenerJobStart";
+    public static final String STAGE_SUBMITTED_EVENT = "SparkListenerStageSubmitted";
+    public static final String STAGE_COMPLETED_EVENT = "SparkListenerStageCompleted";
+    public static final String TASK_END_EVENT = "SparkListenerTaskEnd";
+
+    private static final String EVENT_FIELD = "Event";
+
+    /**
+     * The default event types to bind
+     */
+    public static final Map<String, Class<?>> DEFAULT_EVENT_TYPES;
+
+    static {
+        Map<String, Class<?>> eventTypes = new HashMap<>();
+        eventTypes.put(JOB_START_EVENT, JobStartEventLog.class);
+        eventTypes.put(STAGE_SUBMITTED_EVENT, StageEventLog.class);
+        eventTypes.put(STAGE_COMPLETED_EVENT, StageEventLog.class);
+        eventTypes.put(TASK_END_EVENT, TaskEndEventLog.class);
+
+        DEFAULT_EVENT_TYPES = Collections.unmodifiableMap(eventTypes);
+    }
+
+    @NotNull
+    private final Map<String, Class<?>> eventTypes;
+
+    /**
+     * Constructor
+     *
+     * @param eventTypes the event name to the type to bind, the events not in the map are skipped
+     */
+    public SparkEventLogReader(@NotNull Map<String, Class<?>> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * Read the events from the event logs zip stream
+     *
+     * @param zipStream the zip stream of event logs, closed after read or unsubscribed
+     * @param entryName the zip entry name of the event log, in the formation of `{appId}_{attemptId}`
+     * @return the events Observable, in the type mapped, or the error HDIException if the entry isn't found
+     */
+    @NotNull
+    public Observable<Object> read(@NotNull InputStream zipStream, @NotNull String entryName) {
+        return Observable.create(ob -> {
+            try (ZipInputStream zip = new ZipInputStream(zipStream)) {
+                ZipEntry entry;
+
+                while ((entry = zip.getNextEntry()) != null && !entry.getName().equals(entryName)) {
+                    zip.closeEntry();
+                }
+
+                if (entry == null) {
+                    throw new HDIException(String.format("No Spark event log entity found: %s", entryName));
+                }
+
+                // Don't close the reader, which closes the zip stream before the end of try
+                BufferedReader reader = new BufferedReader(new InputStreamReader(zip, StandardCharsets.UTF_8));
+                String line;
+
+                while (!ob.isUnsubscribed() && (line = reader.readLine()) != null) {
+                    Class<?> eventType = eventTypes.get(sniffEvent(line));
+
+                    if (eventType != null) {
+                        ob.onNext(ObjectConvertUtils.getJsonObjectReader(eventType).readValue(line));
+                    }
+                }
+
+                ob.onCompleted();
+            } catch (Exception ex) {
+                ob.onError(ex);
+            }
+        });
+    }
+
+    /**
+     * Read the events in a type
+     *
+     * @param zipStream the zip stream of event logs, closed after read or unsubscribed
+     * @param entryName the zip entry name of the event log
+     * @param eventName the event name
+     * @param clazz the event type
+     * @param <T> the event type
+     * @return the events Observable
+     */
+    @NotNull
+    public static <T> Observable<T> read(@NotNull InputStream zipStream,
+                                         @NotNull String entryName,
+                                         @NotNull String eventName,
+                                         @NotNull Class<T> clazz) {
+        return new SparkEventLogReader(Collections.singletonMap(eventName, clazz))
+                .read(zipStream, entryName)
+                .cast(clazz);
+    }
+
+    /**
+     * Get the `Event` field value of the top level object without binding the line
+     *
+     * @param line the event log line
+     * @return the event name, null for the bad line or no event field found
+     */
+    @Nullable
+    private String sniffEvent(@NotNull String line) {
+        try (JsonParser parser = ObjectConvertUtils.getJsonFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if (EVENT_FIELD.equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+
+                // Spark writes the event field first, the other fields are just skipped for other writers
+                parser.skipChildren();
+            }
+        } catch (IOException ex) {
+            log().debug("Skip the bad Spark event log line: " + ex.getMessage());
+        }
+
+        return null;
+    }
+}
@@ -14,11 +14,13 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.executor.Executor;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.task.TasksSummaryProgress;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.spark.jobs.framework.JobRequestDetails;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import java.io.IOException;
 import java.util.List;
@@ -57,6 +59,13 @@ public class SparkJobHttpHandler implements HttpHandler {
                 List<Executor> executors = JobViewCacheManager.getExecutors(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
                 Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(executors);
                 JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+            } else if (path.contains("tasks_summary_progress")) {
+                TasksSummaryProgress progress = JobViewCacheManager.getTasksProgress(
+                        new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()),
+                        NumberUtils.toLong(requestDetail.getQuery("loadingId"), 0),
+                        NumberUtils.toInt(requestDetail.getQuery("offset"), 0));
+                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(progress);
+                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
             } else if (path.contains("tasks_summary")) {
                 List<Task> tasks = JobViewCacheManager.getTasks(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
                 Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(tasks);
@@ -5,7 +5,6 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
-import com.microsoft.azure.hdinsight.common.HDInsightLoader;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.rest.AttemptWithAppId;
@@ -18,21 +17,17 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
-import org.json.JSONObject;
+import rx.Observable;
+import rx.exceptions.Exceptions;
 
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 public class SparkRestUtil {
     public static final String SPARK_REST_API_ENDPOINT = "%s/sparkhistory/api/v1/applications/%s";
@@ -83,39 +78,85 @@ public class SparkRestUtil {
         return tasks.orElse(RestUtil.getEmptyList(Task.class));
     }
 
-    public static List<JobStartEventLog> getSparkEventLogs(@NotNull ApplicationKey key) throws HDIException, IOException {
-        String url = String.format("%s/logs", key.getAppId());
-        String eventLogsPath = String.format("%s/SparkEventLogs/%s/eventLogs.zip", HDInsightLoader.getHDInsightHelper().getPluginRootPath(), key.getAppId());
-        File file = new File(eventLogsPath);
-        HttpEntity entity = getSparkRestEntity(key.getClusterDetails(), url);
-        InputStream inputStream = entity.getContent();
-        FileUtils.copyInputStreamToFile(inputStream, file);
-        IOUtils.closeQuietly(inputStream);
-
-        ZipFile zipFile = new ZipFile(file);
-        List<? extends ZipEntry> entities =  Collections.list(zipFile.entries());
-        // every application has an attempt in event log
-        // and the entity name should be in formation "{appId}_{attemptId}"
-        String entityName = String.format("%s_%s", key.getAppId(), entities.size());
-        ZipEntry lastEntity = zipFile.getEntry(entityName);
-        if (lastEntity == null) {
-            throw new HDIException(String.format("No Spark event log entity found for app: %s", key.getAppId()));
+    /**
+     * Get the tasks of a stage attempt, which are decoded one by one from the response stream
+     *
+     * @param key the application key
+     * @param stage the stage ID
+     * @param attemptId the stage attempt ID
+     * @return the tasks Observable
+     */
+    public static Observable<Task> getSparkTasksObservable(@NotNull ApplicationKey key, int stage, int attemptId) {
+        return Observable.using(
+                () -> {
+                    try {
+                        AttemptWithAppId attemptWithAppId = getLastAttemptFromLocalCache(key);
+                        String url = String.format("/%s/%s/stages/%s/%s/taskList", attemptWithAppId.getAppId(), attemptWithAppId.getAttemptId(), stage, attemptId);
+
+                        return ObjectConvertUtils.convertJsonStreamToIterator(
+                                getSparkRestEntity(key.getClusterDetails(), url).getContent(), Task.class);
+                    } catch (ExecutionException | HDIException | IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                },
+                tasks -> Observable.from(() -> tasks),
+                tasks -> IOUtils.closeQuietly(tasks));
+    }
+
+    public static List<JobStartEventLog> getSparkEventLogs(@NotNull ApplicationKey key) throws HDIException, IOException, ExecutionException {
+        try {
+            return getSparkEventLogsObservable(key, SparkEventLogReader.JOB_START_EVENT, JobStartEventLog.class)
+                    .toList()
+                    .toBlocking()
+                    .single();
+        } catch (RuntimeException e) {
+            // The blocking Observable wraps the checked errors, unwrap them to the declared ones
+            final Throwable cause = e.getCause();
+            if (cause instanceof HDIException) {
+                throw (HDIException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ExecutionException) {
+                throw (ExecutionException) cause;
+            }
+
+            throw e;
         }
-        InputStream zipFileInputStream = zipFile.getInputStream(lastEntity);
-        String entityContent = IOUtils.toString(zipFileInputStream, Charset.forName("utf-8"));
-
-        String[] lines = entityContent.split("\n");
-        List<JobStartEventLog> jobStartEvents = Arrays.stream(lines)
-                .filter(line -> {
-                    JSONObject jsonObject = new JSONObject(line);
-                    String eventName = jsonObject.getString("Event");
-                    return eventName.equalsIgnoreCase("SparkListenerJobStart");
-                    })
-                .map(oneLine -> ObjectConvertUtils.convertToObjectQuietly(oneLine, JobStartEventLog.class))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    }
 
-        return jobStartEvents;
+    /**
+     * Get the events of the application's last attempt, which are read from the event logs zip stream directly
+     *
+     * @param key the application key
+     * @param eventName the event name, such as SparkListenerJobStart
+     * @param clazz the event type to bind
+     * @param <T> the event type
+     * @return the events Observable
+     */
+    public static <T> Observable<T> getSparkEventLogsObservable(@NotNull ApplicationKey key,
+                                                                @NotNull String eventName,
+                                                                @NotNull Class<T> clazz) {
+        return Observable.using(
+                () -> {
+                    try {
+                        return getSparkRestEntity(key.getClusterDetails(), String.format("%s/logs", key.getAppId()))
+                                .getContent();
+                    } catch (HDIException | IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                },
+                zipStream -> {
+                    // every application has an attempt in event log
+                    // and the entity name should be in formation "{appId}_{attemptId}"
+                    try {
+                        String entryName = String.format("%s_%s", key.getAppId(), getLastAttemptFromLocalCache(key).getAttemptId());
+
+                        return SparkEventLogReader.read(zipStream, entryName, eventName, clazz);
+                    } catch (ExecutionException | HDIException e) {
+                        return Observable.error(e);
+                    }
+                },
+                zipStream -> IOUtils.closeQuietly(zipStream));
     }
 
     private static AttemptWithAppId getLastAttemptFromLocalCache(@NotNull ApplicationKey key) throws ExecutionException, HDIException {
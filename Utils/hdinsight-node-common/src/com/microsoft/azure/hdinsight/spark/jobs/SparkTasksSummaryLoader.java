@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.task.TasksSummaryProgress;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+import rx.subjects.AsyncSubject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Spark tasks summary loader, which fans the per stage task requests out to Spark history server
+ * with a concurrency limit per cluster, so that a big application won't flood the cluster gateway.
+ *
+ * The tasks of finished stages are cached per stage attempt, re-opening the same application only fetches
+ * the stages still running. The tasks of running stages are kept for a short while, and the request in flight
+ * of a stage attempt is shared, so the polling of the progressive rendering won't restart the fan-out.
+ * The loading of an application is shared by its requests, and kept for a while after it's done, so that
+ * the polling could get the completed result.
+ */
+public class SparkTasksSummaryLoader implements ILogger {
+    public static final int DEFAULT_MAX_CONCURRENT_STAGES_PER_CLUSTER = 8;
+
+    // Cached stage tasks count limitation
+    private static final long MAX_CACHED_TASKS = 500_000;
+
+    // How long the tasks of running stages and the done loading are reused before being loaded again
+    private static final long RUNNING_RESULT_TTL_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final List<String> FINISHED_STAGE_STATUSES = Arrays.asList("COMPLETE", "FAILED", "SKIPPED");
+
+    private static class LazyHolder {
+        static final SparkTasksSummaryLoader INSTANCE = new SparkTasksSummaryLoader();
+    }
+
+    public static SparkTasksSummaryLoader getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private volatile int maxConcurrentStagesPerCluster = DEFAULT_MAX_CONCURRENT_STAGES_PER_CLUSTER;
+
+    // Cluster connection string (in lower case) -> the bounded scheduler for the stage task requests
+    private final ConcurrentMap<String, Scheduler> clusterSchedulers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ApplicationKey, Loading> loadings = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastLoadingId = new AtomicLong(0);
+
+    private final Cache<StageAttemptKey, List<Task>> finishedStageTasksCache = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_TASKS)
+            .weigher((StageAttemptKey key, List<Task> tasks) -> tasks.size() + 1)
+            .build();
+
+    private final Cache<StageAttemptKey, List<Task>> runningStageTasksCache = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_TASKS)
+            .weigher((StageAttemptKey key, List<Task> tasks) -> tasks.size() + 1)
+            .expireAfterWrite(RUNNING_RESULT_TTL_MS, TimeUnit.MILLISECONDS)
+            .build();
+
+    // The stage task requests in flight, shared by the loadings of the same stage attempt
+    private final ConcurrentMap<StageAttemptKey, Observable<List<Task>>> stageLoadingsInFlight =
+            new ConcurrentHashMap<>();
+
+    SparkTasksSummaryLoader() {
+    }
+
+    public int getMaxConcurrentStagesPerCluster() {
+        return maxConcurrentStagesPerCluster;
+    }
+
+    /**
+     * Set the max concurrent stage task requests for each cluster, only takes effect on the clusters
+     * haven't been requested yet
+     *
+     * @param maxConcurrentStagesPerCluster the concurrency limitation, should be positive
+     */
+    public void setMaxConcurrentStagesPerCluster(int maxConcurrentStagesPerCluster) {
+        if (maxConcurrentStagesPerCluster <= 0) {
+            throw new IllegalArgumentException("The max concurrent stages per cluster should be positive");
+        }
+
+        this.maxConcurrentStagesPerCluster = maxConcurrentStagesPerCluster;
+    }
+
+    /**
+     * Get the loading of the application's tasks, start a new one if there is no loading in progress
+     *
+     * @param key the application key
+     * @param stages the stages of the application
+     * @return the loading in progress
+     */
+    @NotNull
+    public Loading load(@NotNull ApplicationKey key, @NotNull List<Stage> stages) {
+        // Drop the done loadings of the other applications not polled any more
+        loadings.entrySet().removeIf(entry -> !entry.getKey().equals(key) && entry.getValue().isExpired());
+
+        Loading loading = loadings.compute(key, (k, existing) ->
+                existing == null || existing.isExpired() ? new Loading(stages.size()) : existing);
+
+        // Start out of the map computing, since the loading from cache could be finished synchronously
+        loading.start(key, stages);
+
+        return loading;
+    }
+
+    /**
+     * Load all tasks of the application, blocking till all stages are loaded
+     *
+     * @param key the application key
+     * @param stages the stages of the application
+     * @return all the tasks in the order of stages loaded
+     */
+    @NotNull
+    public List<Task> loadAll(@NotNull ApplicationKey key, @NotNull List<Stage> stages) {
+        return load(key, stages).getAllTasks();
+    }
+
+    /**
+     * Drop the cached stage tasks of the application
+     *
+     * @param key the application key
+     */
+    public void invalidate(@NotNull ApplicationKey key) {
+        finishedStageTasksCache.asMap().keySet().removeIf(stageKey -> stageKey.applicationKey.equals(key));
+        runningStageTasksCache.asMap().keySet().removeIf(stageKey -> stageKey.applicationKey.equals(key));
+        loadings.remove(key);
+    }
+
+    @NotNull
+    private Observable<List<Task>> loadStageTasks(@NotNull ApplicationKey key, @NotNull Stage stage) {
+        StageAttemptKey stageKey = new StageAttemptKey(key, stage.getStageId(), stage.getAttemptId());
+        List<Task> cached = finishedStageTasksCache.getIfPresent(stageKey);
+
+        if (cached == null) {
+            cached = runningStageTasksCache.getIfPresent(stageKey);
+        }
+
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+
+        return stageLoadingsInFlight.computeIfAbsent(stageKey, k ->
+                SparkRestUtil.getSparkTasksObservable(key, stage.getStageId(), stage.getAttemptId())
+                        .toList()
+                        .map(Collections::unmodifiableList)
+                        .doOnNext(tasks -> {
+                            if (isFinished(stage)) {
+                                finishedStageTasksCache.put(stageKey, tasks);
+                            } else {
+                                runningStageTasksCache.put(stageKey, tasks);
+                            }
+                        })
+                        .doOnTerminate(() -> stageLoadingsInFlight.remove(stageKey))
+                        .subscribeOn(getClusterScheduler(key))
+                        // Share the request with the loadings subscribing while it's in flight
+                        .cache());
+    }
+
+    @NotNull
+    private Scheduler getClusterScheduler(@NotNull ApplicationKey key) {
+        return clusterSchedulers.computeIfAbsent(key.getClusterConnString().toLowerCase(Locale.ROOT), cluster -> {
+            int threads = getMaxConcurrentStagesPerCluster();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+            // Release the idle threads of the clusters not viewed for a while
+            executor.allowCoreThreadTimeOut(true);
+
+            return Schedulers.from(executor);
+        });
+    }
+
+    private static boolean isFinished(@NotNull Stage stage) {
+        return stage.getStatus() != null && FINISHED_STAGE_STATUSES.contains(stage.getStatus().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * The loading in progress of an application's tasks
+     */
+    public class Loading {
+        private final long id = lastLoadingId.incrementAndGet();
+        private final int totalStages;
+        private final AtomicInteger loadedStages = new AtomicInteger(0);
+        private final List<Task> tasks = new ArrayList<>();
+        private final AsyncSubject<List<Task>> done = AsyncSubject.create();
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private volatile long doneTimeMillis = 0;
+
+        Loading(int totalStages) {
+            this.totalStages = totalStages;
+        }
+
+        private void start(@NotNull ApplicationKey key, @NotNull List<Stage> stages) {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
+            Observable.from(stages)
+                    .flatMap(stage -> loadStageTasks(key, stage))
+                    .doOnNext(stageTasks -> {
+                        synchronized (tasks) {
+                            tasks.addAll(stageTasks);
+                        }
+
+                        loadedStages.incrementAndGet();
+                    })
+                    .ignoreElements()
+                    .doOnTerminate(() -> doneTimeMillis = System.currentTimeMillis())
+                    .subscribe(
+                            ignored -> { },
+                            err -> {
+                                log().warn("Failed to load tasks of application " + key.getAppId(), err);
+                                done.onError(err);
+                            },
+                            () -> {
+                                done.onNext(getLoadedTasks());
+                                done.onCompleted();
+                            });
+        }
+
+        public boolean isCompleted() {
+            return done.hasCompleted();
+        }
+
+        /**
+         * The done loading is kept for a while for the polling to get the result, the failed one is retried
+         */
+        private boolean isExpired() {
+            return done.hasThrowable()
+                    || (doneTimeMillis > 0 && System.currentTimeMillis() - doneTimeMillis > RUNNING_RESULT_TTL_MS);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        @NotNull
+        public List<Task> getLoadedTasks() {
+            return getLoadedTasks(0);
+        }
+
+        @NotNull
+        private List<Task> getLoadedTasks(int offset) {
+            synchronized (tasks) {
+                return new ArrayList<>(tasks.subList(Math.min(offset, tasks.size()), tasks.size()));
+            }
+        }
+
+        /**
+         * Get the snapshot of the loading with the tasks after the offset
+         *
+         * @param knownLoadingId the loading ID the offset is got from, the tasks of another loading are
+         *                       got from the beginning
+         * @param offset the count of tasks the requester already has
+         * @return the snapshot
+         */
+        @NotNull
+        public TasksSummaryProgress getProgress(long knownLoadingId, int offset) {
+            // Take the completed flag first, the tasks are final once completed
+            boolean completed = isCompleted();
+            int from = knownLoadingId == id ? Math.max(offset, 0) : 0;
+
+            return new TasksSummaryProgress(completed, loadedStages.get(), totalStages, id, from, getLoadedTasks(from));
+        }
+
+        @NotNull
+        public List<Task> getAllTasks() {
+            return done.toBlocking().single();
+        }
+    }
+
+    private static class StageAttemptKey {
+        private final ApplicationKey applicationKey;
+        private final int stageId;
+        private final int attemptId;
+
+        StageAttemptKey(@NotNull ApplicationKey applicationKey, int stageId, int attemptId) {
+            this.applicationKey = applicationKey;
+            this.stageId = stageId;
+            this.attemptId = attemptId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(applicationKey, stageId, attemptId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (!(obj instanceof StageAttemptKey)) {
+                return false;
+            }
+
+            StageAttemptKey that = (StageAttemptKey) obj;
+            return stageId == that.stageId && attemptId == that.attemptId && applicationKey.equals(that.applicationKey);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A forward-only scanner to pick the log content out of Yarn UI container log pages without building a DOM.
+ *
+ * The page layout is the same as the one the HtmlUnit based parser walked through: the content cell next to
+ * the `navcell` one holds an optional `<p>Log Type: xxx</p>` paragraph followed by a `<pre>...</pre>` block
+ * for each log type. The running container page has no log type paragraph, the history server page does.
+ */
+public class YarnContainerLogPageScanner {
+    private static final Pattern LOG_TYPE_PATTERN = Pattern.compile("Log Type:\\s+(\\S+)");
+    private static final int MAX_TAG_LENGTH = 4096;
+
+    @NotNull
+    private final Reader reader;
+
+    private int pushedBack = -1;
+
+    public YarnContainerLogPageScanner(@NotNull final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Scan the page for the specified log type.
+     *
+     * @param type the log type, such as stderr, stdout
+     * @return the log of the type if it's found, or the last `<pre>` content for the running container page,
+     *         null if the page is not a container log page
+     * @throws IOException exceptions in reading the page
+     */
+    @Nullable
+    public String scan(@NotNull final String type) throws IOException {
+        boolean isInContent = false;
+        String logType = null;
+        String logs = "";
+        int ch;
+
+        while ((ch = read()) != -1) {
+            if (ch != '<') {
+                continue;
+            }
+
+            final String tag = readTag();
+
+            if (!isInContent) {
+                isInContent = tag.contains("\"navcell\"") || tag.contains("'navcell'");
+                continue;
+            }
+
+            final String tagName = getTagName(tag);
+
+            if (tagName.equals("p")) {
+                // In history server, need to read log type paragraph in page
+                final Matcher matcher = LOG_TYPE_PATTERN.matcher(readText().trim());
+
+                if (matcher.matches()) {
+                    logType = matcher.group(1);
+                }
+            } else if (tagName.equals("pre")) {
+                // In running, no log type paragraph in page
+                logs = readText();
+
+                if (logType != null) {
+                    if (logType.equals(type)) {
+                        // Only get the first <pre>...</pre>
+                        return logs;
+                    }
+
+                    logType = null;
+                }
+            }
+        }
+
+        return isInContent ? logs : null;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            final int ch = pushedBack;
+            pushedBack = -1;
+
+            return ch;
+        }
+
+        return reader.read();
+    }
+
+    /**
+     * Read the tag body after `<` till the `>`, the over-long tag is truncated
+     */
+    @NotNull
+    private String readTag() throws IOException {
+        final StringBuilder tag = new StringBuilder();
+        int ch;
+
+        while ((ch = read()) != -1 && ch != '>') {
+            if (tag.length() < MAX_TAG_LENGTH) {
+                tag.append((char) ch);
+            }
+        }
+
+        return tag.toString();
+    }
+
+    /**
+     * Read the text node till the next tag, with HTML character references decoded
+     */
+    @NotNull
+    private String readText() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        int ch;
+
+        while ((ch = read()) != -1) {
+            if (ch == '<') {
+                pushedBack = ch;
+                break;
+            }
+
+            if (ch == '&') {
+                decodeCharacterReference(text);
+            } else {
+                text.append((char) ch);
+            }
+        }
+
+        return text.toString();
+    }
+
+    private void decodeCharacterReference(@NotNull final StringBuilder text) throws IOException {
+        final StringBuilder ref = new StringBuilder();
+        int ch = -1;
+
+        while (ref.length() < 10 && (ch = read()) != -1 && ch != ';') {
+            if (ch == '<' || ch == '&' || Character.isWhitespace(ch)) {
+                pushedBack = ch;
+                break;
+            }
+
+            ref.append((char) ch);
+        }
+
+        final String decoded = ch == ';' ? decodeEntity(ref.toString()) : null;
+
+        if (decoded != null) {
+            text.append(decoded);
+        } else {
+            // Not a character reference, keep it as it is
+            text.append('&').append(ref);
+
+            if (ch == ';') {
+                text.append(';');
+            }
+        }
+    }
+
+    @Nullable
+    private static String decodeEntity(@NotNull final String ref) {
+        switch (ref) {
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "amp":
+                return "&";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return "\u00A0";
+            default:
+        }
+
+        if (ref.length() < 2 || ref.charAt(0) != '#') {
+            return null;
+        }
+
+        try {
+            final int codePoint = ref.charAt(1) == 'x' || ref.charAt(1) == 'X'
+                    ? Integer.parseInt(ref.substring(2), 16)
+                    : Integer.parseInt(ref.substring(1));
+
+            return new String(Character.toChars(codePoint));
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    @NotNull
+    private static String getTagName(@NotNull final String tag) {
+        int end = 0;
+
+        while (end < tag.length() && !Character.isWhitespace(tag.charAt(end)) && tag.charAt(end) != '/') {
+            end++;
+        }
+
+        return tag.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.HttpConnectionPoolRegistry;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * The Yarn container log tailer, which fetches the new log range only by the `start` and `end` parameters of
+ * Yarn UI container log page, and picks the log out with {@link YarnContainerLogPageScanner} from the response
+ * stream. The HTTP connections are borrowed from {@link HttpConnectionPoolRegistry}, shared by all tailers.
+ */
+public class YarnContainerLogTailer implements ILogger {
+    private static final int RETRY_INTERVAL_MS = 1000;
+
+    // The connections are borrowed from the shared pool, kept alive and reused per cluster
+    private static final CloseableHttpClient httpClient = HttpConnectionPoolRegistry.getInstance().createHttpClient(
+            new BasicCookieStore(), RequestConfig.custom().setCookieSpec(CookieSpecs.DEFAULT).build());
+
+    @Nullable
+    private final String authCode;
+
+    @NotNull
+    private final String containerLogUrl;
+
+    @NotNull
+    private final String type;
+
+    /**
+     * Constructor
+     *
+     * @param authCode the authCode in request's Authorization header
+     * @param containerLogUrl the container log url
+     * @param type the log type
+     */
+    public YarnContainerLogTailer(@Nullable final String authCode,
+                                  @NotNull final String containerLogUrl,
+                                  @NotNull final String type) {
+        this.authCode = authCode;
+        this.containerLogUrl = containerLogUrl;
+        this.type = type;
+    }
+
+    @NotNull
+    public String getContainerLogUrl() {
+        return containerLogUrl;
+    }
+
+    @NotNull
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the log in range [start, start + size)
+     *
+     * @param start the start offset of log
+     * @param size the size to get, the value 0 or negative for as many as possible
+     * @return the log got, empty string for no logs or any errors
+     */
+    @NotNull
+    public String getLog(final long start, final int size) {
+        final URI url;
+
+        try {
+            url = new URI(getContainerLogUrl() + "/").resolve(
+                    String.format("%s?start=%d", getType(), start) +
+                            (size <= 0 ? "" : String.format("&&end=%d", start + size)));
+        } catch (final URISyntaxException e) {
+            log().error("baseUrl has syntax error: " + getContainerLogUrl());
+
+            return "";
+        }
+
+        final HttpGet get = new HttpGet(url);
+
+        if (authCode != null) {
+            get.setHeader(AUTHORIZATION, authCode);
+        }
+
+        try (final CloseableHttpResponse response = httpClient.execute(get)) {
+            final int statusCode = response.getStatusLine().getStatusCode();
+
+            if (statusCode != HttpStatus.SC_OK) {
+                // If the URL is wrong, will get 200 response with content:
+                //      Unable to locate 'xxx' log for container
+                //  OR
+                //      Logs not available for <user>. Aggregation may not be complete, Check back later or try the nodemanager at...
+                //  OR
+                //      Cannot get container logs without ...
+                //
+                // if fetching Yarn log hits the gap between the job running and stop, will get the status 403
+                // the log is moving to job history server, just wait and retry.
+                if (statusCode != HttpStatus.SC_FORBIDDEN) {
+                    log().warn("The GET request to " + url + " responded error: " + response.getStatusLine());
+                }
+
+                return "";
+            }
+
+            final HttpEntity entity = response.getEntity();
+
+            if (entity == null) {
+                return "";
+            }
+
+            final Charset charset = Optional.ofNullable(ContentType.getOrDefault(entity).getCharset())
+                    .orElse(StandardCharsets.UTF_8);
+
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getContent(), charset))) {
+                return Optional.ofNullable(new YarnContainerLogPageScanner(reader).scan(getType())).orElse("");
+            }
+        } catch (final Exception e) {
+            log().warn("get Spark job log Error", e);
+        }
+
+        return "";
+    }
+
+    /**
+     * To create an Observable for the Yarn container log lines
+     *
+     * @param stop the stop observable to cancel the log fetch, refer to Observable.window() operation
+     * @param blockSize the block size for one fetch
+     * @return the log line Observable, an empty line is emitted if there is no new log in a fetch
+     */
+    @NotNull
+    public Observable<String> tail(@Nullable final Observable<Object> stop, final int blockSize) {
+        if (blockSize <= 0) {
+            return Observable.empty();
+        }
+
+        return Observable.create((Observable.OnSubscribe<String>) ob -> {
+            long nextStart = 0;
+            String remainedLine = "";
+            String logs;
+            final Thread currentThread = Thread.currentThread();
+
+            // Refer to the Observable.window() operation:
+            //    http://reactivex.io/documentation/operators/window.html
+            // The event from `stop` observable will stop the log fetch
+            final Optional<Subscription> stopSubscriptionOptional = Optional.ofNullable(stop).map(stopOb ->
+                    stopOb.subscribe(any -> currentThread.interrupt()));
+
+            try {
+                while (!ob.isUnsubscribed()) {
+                    logs = getLog(nextStart, blockSize);
+                    final int lastLineBreak = logs.lastIndexOf('\n');
+
+                    if (lastLineBreak < 0) {
+                        // No linebreak found
+                        if (logs.isEmpty()) {
+                            // Remained line is a full line since the backend producing logs line by line
+                            ob.onNext(remainedLine);
+                            remainedLine = "";
+                        } else {
+                            remainedLine += logs;
+                            nextStart += getByteLength(logs);
+                        }
+                    } else {
+                        final String handled = logs.substring(0, lastLineBreak);
+
+                        for (final String line : (remainedLine + handled).split("\n", -1)) {
+                            ob.onNext(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+                        }
+
+                        // The offset is counted in bytes, the unhandled tail will be fetched again with the next block
+                        nextStart += getByteLength(handled) + 1;
+                        remainedLine = "";
+                    }
+
+                    Thread.sleep(RETRY_INTERVAL_MS);
+                }
+            } catch (final InterruptedException ignore) {
+            } finally {
+                // Get the rest logs from history server
+                // Don't worry about the log is moved to history server, the YarnUI can do URL redirect by itself
+                logs = getLog(nextStart, 0);
+
+                new BufferedReader(new StringReader(remainedLine + logs)).lines().forEach(ob::onNext);
+            }
+
+            ob.onCompleted();
+            stopSubscriptionOptional.ifPresent(Subscription::unsubscribe);
+        }).subscribeOn(Schedulers.io());
+    }
+
+    private static long getByteLength(@NotNull final String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
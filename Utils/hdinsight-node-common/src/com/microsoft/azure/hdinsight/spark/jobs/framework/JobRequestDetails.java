@@ -8,6 +8,7 @@ package com.microsoft.azure.hdinsight.spark.jobs.framework;
 import com.microsoft.azure.hdinsight.common.JobViewManager;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import com.microsoft.azuretools.azurecommons.helpers.StringHelper;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.sun.net.httpserver.HttpExchange;
@@ -51,6 +52,17 @@ public class JobRequestDetails {
             return myRequestPath;
     }
 
+    /**
+     * Get the value of a request query
+     *
+     * @param key the query key
+     * @return the query value, null for no such query
+     */
+    @Nullable
+    public String getQuery(@NotNull String key) {
+        return myQueriesMap.get(key);
+    }
+
     public static JobRequestDetails getJobRequestDetail(@NotNull HttpExchange httpExchange) {
         final URI myUri = httpExchange.getRequestURI();
         final String path = myUri.getPath();
@@ -74,6 +86,21 @@ public class JobRequestDetails {
         return myHttpRequestType;
     }
 
+    /**
+     * Get the cluster name from the request URI without resolving the cluster
+     *
+     * @param uri the request URI
+     * @return the cluster name, empty string for no cluster name query
+     */
+    @NotNull
+    public static String getClusterName(@NotNull URI uri) {
+        if (uri.getRawQuery() == null) {
+            return "";
+        }
+
+        return splitQueryString(uri).getOrDefault(CLUSTER_NAME_TAG, "");
+    }
+
     private static Map<String, String> splitQueryString(URI uri) {
         Map<String, String> query_pairs = new LinkedHashMap<String, String>();
         String query = uri.getRawQuery();